@@ -0,0 +1,136 @@
+package raisetech.StudentManagement.controller.converter;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import raisetech.StudentManagement.data.EnrollmentStatus;
+import raisetech.StudentManagement.data.EnrollmentStatusCode;
+import raisetech.StudentManagement.data.Student;
+import raisetech.StudentManagement.data.StudentCourse;
+import raisetech.StudentManagement.domain.StudentDetail;
+import raisetech.StudentManagement.form.StudentForm;
+
+/**
+ * StudentConverterのベンチマーク
+ *
+ * <p>toDetailsは学生数とコース数を変えて、学生リストへのコース結合（検索結果の組み立て）を計測します。</p>
+ * <p>toForm・toStudent・toCourseは1件あたりの変換を計測します。</p>
+ * <p>gcプロファイラの gc.alloc.rate.norm で1操作あたりの割り当てバイト数を比較できます。</p>
+ */
+public class StudentConverterBenchmark {
+
+  private static final StudentConverter converter = new StudentConverter();
+
+  /**
+   * toDetails用の学生・コースリスト
+   */
+  @State(Scope.Benchmark)
+  public static class ListState {
+
+    @Param({"1000", "100000", "1000000"})
+    int students;
+
+    @Param({"0", "1", "3"})
+    int coursesPerStudent;
+
+    List<Student> studentList;
+    List<StudentCourse> courseList;
+
+    @Setup
+    public void setUp() {
+      studentList = new ArrayList<>(students);
+      courseList = new ArrayList<>(students * coursesPerStudent);
+      int courseId = 1;
+      for (int id = 1; id <= students; id++) {
+        studentList.add(createStudent(id));
+        for (int c = 0; c < coursesPerStudent; c++) {
+          courseList.add(createCourse(courseId++, id));
+        }
+      }
+      // DBからの取得順に依存しないよう、コースは学生ID順ではない並びにする
+      Collections.shuffle(courseList, new Random(42));
+    }
+  }
+
+  /**
+   * 1件変換用の学生・コース・フォーム
+   */
+  @State(Scope.Benchmark)
+  public static class ItemState {
+
+    Student student;
+    StudentCourse course;
+    StudentForm form;
+
+    @Setup
+    public void setUp() {
+      student = createStudent(1);
+      course = createCourse(1, 1);
+      form = converter.toForm(student, course);
+    }
+  }
+
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.SECONDS)
+  public List<StudentDetail> toDetails(ListState state) {
+    return converter.toDetails(state.studentList, state.courseList);
+  }
+
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public StudentForm toForm(ItemState state) {
+    return converter.toForm(state.student, state.course);
+  }
+
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public Student toStudent(ItemState state) {
+    return converter.toStudent(state.form);
+  }
+
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public StudentCourse toCourse(ItemState state) {
+    return converter.toCourse(state.form);
+  }
+
+  private static Student createStudent(int id) {
+    Student student = new Student();
+    student.setId(id);
+    student.setName("テスト学生" + id);
+    student.setKanaName("テストガクセイ");
+    student.setNickname("student" + id);
+    student.setEmail("student" + id + "@example.com");
+    student.setArea("東京都");
+    student.setAge(20 + id % 40);
+    student.setSex(id % 2 == 0 ? "男性" : "女性");
+    student.setRemark("");
+    student.setDeleted(false);
+    return student;
+  }
+
+  private static StudentCourse createCourse(int id, int studentId) {
+    StudentCourse course = new StudentCourse();
+    course.setId(id);
+    course.setStudentId(studentId);
+    course.setCourseName(id % 2 == 0 ? "Java入門" : "Spring実践");
+    course.setCourseStartAt(LocalDate.of(2025, 4, 1));
+    course.setCourseEndAt(LocalDate.of(2025, 9, 30));
+
+    EnrollmentStatus status = new EnrollmentStatus();
+    status.setId(id);
+    status.setCourseId(id);
+    status.setStatus(EnrollmentStatusCode.IN_PROGRESS);
+    course.setEnrollmentStatus(status);
+    return course;
+  }
+}
@@ -2,8 +2,14 @@ package raisetech.StudentManagement;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
-@SpringBootApplication
+// R2DBCは参照API（raisetech.StudentManagement.reactive）が別に起動するコンテキストでのみ使うため、本体では自動設定しない
+@SpringBootApplication(exclude = {R2dbcAutoConfiguration.class,
+    R2dbcTransactionManagerAutoConfiguration.class})
+@EnableScheduling
 public class Application {
 
   public static void main(String[] args) {
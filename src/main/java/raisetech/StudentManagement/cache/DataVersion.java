@@ -0,0 +1,54 @@
+package raisetech.StudentManagement.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import raisetech.StudentManagement.event.EnrollmentStatusFlushedEvent;
+import raisetech.StudentManagement.event.StudentChangedEvent;
+
+/**
+ * 学生データのバージョン（条件付きGETのETag用）
+ *
+ * <p>学生の登録・更新・削除がコミットされるたび、および書き込みを遅らせていた申込状況を
+ * DBに反映するたびに1ずつ増えます。</p>
+ * <p>初期値は起動時刻（ミリ秒）のため、再起動しても以前のバージョンと重なりません。</p>
+ * <p>コミット後に増やすため、あるバージョンでETagを返した時点のデータは必ずそのバージョン以降の内容です。</p>
+ * <p>バージョンはインスタンスごとに保持するため、単一インスタンスでの運用を前提としています。</p>
+ */
+@Component
+public class DataVersion {
+
+  private final AtomicLong version = new AtomicLong(System.currentTimeMillis());
+
+  /**
+   * 現在のバージョン
+   */
+  public long current() {
+    return version.get();
+  }
+
+  /**
+   * 現在のバージョンをETag形式（ダブルクォート付き）で取得
+   */
+  public String etag() {
+    return "\"" + version.get() + "\"";
+  }
+
+  /**
+   * コミット後にバージョンを進める
+   */
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onStudentChanged(StudentChangedEvent event) {
+    version.incrementAndGet();
+  }
+
+  /**
+   * 書き込みを遅らせていた申込状況の反映後にバージョンを進める
+   */
+  @EventListener
+  public void onEnrollmentStatusFlushed(EnrollmentStatusFlushedEvent event) {
+    version.incrementAndGet();
+  }
+}
@@ -0,0 +1,131 @@
+package raisetech.StudentManagement.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import raisetech.StudentManagement.datasource.ReadYourWritesContext;
+import raisetech.StudentManagement.domain.StudentDetail;
+import raisetech.StudentManagement.event.EnrollmentStatusFlushedEvent;
+import raisetech.StudentManagement.event.StudentChangedEvent;
+
+/**
+ * 学生詳細取得（StudentService#getStudentForm）用のキャッシュ
+ *
+ * <p>件数上限とTTLで古いエントリを追い出す、アプリ内のリードスルーキャッシュです。</p>
+ * <p>キャッシュするのはDBから取得した学生とコースで、フォームへの変換は取得のたびに行います。</p>
+ * <p>学生の変更イベントを受けると、該当IDのエントリを変更直後とトランザクション完了後の2回破棄します。
+ * コミット前に別スレッドが読み込んだ古いデータが残らないようにするためです。</p>
+ * <p>ヒット・ミス・追い出し件数はActuatorのメトリクス（cache.gets, cache.evictions）で公開されます。</p>
+ */
+@Component
+public class StudentFormCache {
+
+  static final String CACHE_NAME = "studentForm";
+
+  private final Cache<Integer, StudentDetail> cache;
+
+  /**
+   * 学生IDごとに破棄のたびに増える世代番号（読み込み中に破棄されたエントリを登録しないために使用）
+   *
+   * <p>他の学生の破棄で登録を見送らないよう、IDごとに数えます。
+   * 古い世代番号を持つ読み込みと区別できなくなるため、エントリは削除しません（学生数までしか増えません）。</p>
+   */
+  private final Map<Integer, Long> invalidationCounts = new ConcurrentHashMap<>();
+
+  public StudentFormCache(
+      @Value("${student.cache.form.maximum-size:1000}") long maximumSize,
+      @Value("${student.cache.form.ttl:5m}") Duration ttl,
+      MeterRegistry meterRegistry) {
+    this.cache = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfterWrite(ttl)
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+  }
+
+  /**
+   * キャッシュから学生詳細を取得
+   *
+   * @param id 学生ID
+   * @return キャッシュ済みの学生詳細、存在しない場合はnull
+   */
+  public StudentDetail get(int id) {
+    return cache.getIfPresent(id);
+  }
+
+  /**
+   * DBから読み込む前の世代番号を取得
+   *
+   * @param id 学生ID
+   * @return 指定IDの現在の世代番号（putに渡す）
+   */
+  public long currentStamp(int id) {
+    return invalidationCounts.getOrDefault(id, 0L);
+  }
+
+  /**
+   * 学生詳細をキャッシュに登録
+   *
+   * <p>読み込み開始（stamp取得）以降に同じIDの破棄が行われていた場合は登録しません。
+   * 他の利用者の更新がレプリカへ反映される前に読み取ったかもしれない場合も登録しません。</p>
+   *
+   * @param id     学生ID
+   * @param detail DBから読み込んだ学生詳細
+   * @param stamp  読み込み開始前に取得した世代番号
+   */
+  public void put(int id, StudentDetail detail, long stamp) {
+    if (currentStamp(id) != stamp || ReadYourWritesContext.isStaleReplicaReadPossible()) {
+      return;
+    }
+    cache.put(id, detail);
+
+    // 登録と同時に破棄された場合に古いデータを残さない
+    if (currentStamp(id) != stamp) {
+      cache.invalidate(id);
+    }
+  }
+
+  /**
+   * 指定IDのエントリを破棄
+   *
+   * @param id 学生ID
+   */
+  public void invalidate(int id) {
+    invalidationCounts.merge(id, 1L, Long::sum);
+    cache.invalidate(id);
+  }
+
+  /**
+   * 学生変更時（トランザクション内）にエントリを破棄
+   */
+  @EventListener
+  public void onStudentChanged(StudentChangedEvent event) {
+    invalidate(event.getStudentId());
+  }
+
+  /**
+   * トランザクション完了後（コミット・ロールバックとも）にエントリを再度破棄
+   */
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+  public void afterStudentChanged(StudentChangedEvent event) {
+    invalidate(event.getStudentId());
+  }
+
+  /**
+   * 書き込みを遅らせていた申込状況の反映後に、該当学生のエントリを破棄
+   */
+  @EventListener
+  public void onEnrollmentStatusFlushed(EnrollmentStatusFlushedEvent event) {
+    event.getStudentIds().forEach(this::invalidate);
+  }
+}
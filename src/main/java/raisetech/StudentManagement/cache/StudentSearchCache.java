@@ -0,0 +1,171 @@
+package raisetech.StudentManagement.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import raisetech.StudentManagement.datasource.ReadYourWritesContext;
+import raisetech.StudentManagement.domain.StudentDetail;
+import raisetech.StudentManagement.event.EnrollmentStatusFlushedEvent;
+import raisetech.StudentManagement.event.StudentChangedEvent;
+
+/**
+ * 学生検索（StudentService#searchStudents）の結果キャッシュ
+ *
+ * <p>正規化した検索条件をキーに、検索結果の学生詳細リストを保持します。</p>
+ * <p>メモリ使用量を抑えるため、件数ではなく保持している学生・コースの合計行数で上限を設けます。</p>
+ * <p>どの学生の変更でも検索結果の顔ぶれが変わり得るため、変更イベントを受けると全エントリを
+ * 変更直後とトランザクション完了後の2回破棄します。</p>
+ * <p>ヒット・ミス件数はcache.gets、ヒット率はstudent.cache.search.hit.ratioで公開されます。</p>
+ */
+@Component
+public class StudentSearchCache {
+
+  static final String CACHE_NAME = "studentSearch";
+
+  private final Cache<SearchKey, List<StudentDetail>> cache;
+
+  /** 破棄のたびに増える世代番号（読み込み中に破棄された結果を登録しないために使用） */
+  private final AtomicLong invalidationCount = new AtomicLong();
+
+  /**
+   * 検索条件のキー
+   *
+   * <p>前後の空白を除き、空文字はnull（条件なし）として扱います。</p>
+   */
+  public record SearchKey(String name, String area, String courseName, String enrollmentStatus) {
+
+    public static SearchKey of(String name, String area, String courseName,
+        String enrollmentStatus) {
+      return new SearchKey(normalize(name), normalize(area), normalize(courseName),
+          normalize(enrollmentStatus));
+    }
+
+    private static String normalize(String value) {
+      if (value == null) {
+        return null;
+      }
+      String trimmed = value.strip();
+      return trimmed.isEmpty() ? null : trimmed;
+    }
+  }
+
+  public StudentSearchCache(
+      @Value("${student.cache.search.maximum-weight:100000}") long maximumWeight,
+      @Value("${student.cache.search.ttl:5m}") Duration ttl,
+      MeterRegistry meterRegistry) {
+    this.cache = Caffeine.newBuilder()
+        .maximumWeight(maximumWeight)
+        .weigher((SearchKey key, List<StudentDetail> details) -> weigh(details))
+        .expireAfterWrite(ttl)
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    Gauge.builder("student.cache.search.hit.ratio", cache, c -> c.stats().hitRate())
+        .description("検索結果キャッシュのヒット率")
+        .register(meterRegistry);
+  }
+
+  /**
+   * 学生1人につき1、コース1件につき1として重みを計算
+   */
+  private static int weigh(List<StudentDetail> details) {
+    int weight = 1;
+    for (StudentDetail detail : details) {
+      weight += 1 + detail.getStudentCourse().size();
+    }
+    return weight;
+  }
+
+  /**
+   * キャッシュから検索結果を取得
+   *
+   * @param key 正規化した検索条件
+   * @return キャッシュ済みの検索結果、存在しない場合はnull
+   */
+  public List<StudentDetail> get(SearchKey key) {
+    return cache.getIfPresent(key);
+  }
+
+  /**
+   * DBから検索する前の世代番号を取得
+   *
+   * @return 現在の世代番号（putに渡す）
+   */
+  public long currentStamp() {
+    return invalidationCount.get();
+  }
+
+  /**
+   * 検索結果をキャッシュに登録
+   *
+   * <p>検索開始（stamp取得）以降に破棄が行われていた場合は登録しません。
+   * 他の利用者の更新がレプリカへ反映される前に検索したかもしれない場合も登録しません。</p>
+   *
+   * @param key     正規化した検索条件
+   * @param details DBから検索した結果
+   * @param stamp   検索開始前に取得した世代番号
+   * @return 登録した（呼び出し元に返す）検索結果
+   */
+  public List<StudentDetail> put(SearchKey key, List<StudentDetail> details, long stamp) {
+    List<StudentDetail> result = List.copyOf(details);
+    if (invalidationCount.get() != stamp || ReadYourWritesContext.isStaleReplicaReadPossible()) {
+      return result;
+    }
+    cache.put(key, result);
+
+    // 登録と同時に破棄された場合に古いデータを残さない
+    if (invalidationCount.get() != stamp) {
+      cache.invalidateAll();
+    }
+    return result;
+  }
+
+  /**
+   * 全エントリを破棄
+   */
+  public void invalidateAll() {
+    invalidationCount.incrementAndGet();
+    cache.invalidateAll();
+  }
+
+  /**
+   * 保留中の追い出しなどの保守処理を即時に実行
+   */
+  void cleanUp() {
+    cache.cleanUp();
+  }
+
+  /**
+   * 学生変更時（トランザクション内）に全エントリを破棄
+   */
+  @EventListener
+  public void onStudentChanged(StudentChangedEvent event) {
+    invalidateAll();
+  }
+
+  /**
+   * トランザクション完了後（コミット・ロールバックとも）に全エントリを再度破棄
+   */
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+  public void afterStudentChanged(StudentChangedEvent event) {
+    invalidateAll();
+  }
+
+  /**
+   * 書き込みを遅らせていた申込状況の反映後に全エントリを破棄
+   */
+  @EventListener
+  public void onEnrollmentStatusFlushed(EnrollmentStatusFlushedEvent event) {
+    invalidateAll();
+  }
+}
@@ -0,0 +1,52 @@
+package raisetech.StudentManagement.config;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * 非同期処理（StreamingResponseBodyなど）のタイムアウトをハンドラーごとに指定する設定
+ *
+ * <p>全体のタイムアウトは既定値のままとし、長時間の出力が必要なハンドラーだけが
+ * {@link #setTimeout}でリクエストにタイムアウトを設定します。
+ * 設定した値は非同期処理の開始前に、そのリクエストにだけ適用されます。</p>
+ */
+@Configuration
+public class AsyncTimeoutConfig implements WebMvcConfigurer {
+
+  static final String TIMEOUT_ATTRIBUTE = AsyncTimeoutConfig.class.getName() + ".TIMEOUT";
+
+  /**
+   * このリクエストで開始する非同期処理のタイムアウトを設定（ハンドラーから呼び出す）
+   */
+  public static void setTimeout(WebRequest request, Duration timeout) {
+    request.setAttribute(TIMEOUT_ATTRIBUTE, timeout, RequestAttributes.SCOPE_REQUEST);
+  }
+
+  @Override
+  public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+    configurer.registerCallableInterceptors(new HandlerTimeoutInterceptor());
+  }
+
+  /**
+   * ハンドラーが設定したタイムアウトを非同期処理の開始前に適用するインターセプター
+   */
+  static class HandlerTimeoutInterceptor implements CallableProcessingInterceptor {
+
+    @Override
+    public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+      if (request instanceof AsyncWebRequest asyncRequest
+          && request.getAttribute(TIMEOUT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST)
+          instanceof Duration timeout) {
+        asyncRequest.setTimeout(timeout.toMillis());
+      }
+    }
+  }
+}
@@ -31,4 +31,36 @@ public final class DatabaseConstants {
    * 論理削除フラグ: 有効
    */
   public static final int DELETED_FLAG_FALSE = 0;
-}
\ No newline at end of file
+
+  /**
+   * IN句に指定するIDの最大件数（これを超える場合は分割して問い合わせる）
+   */
+  public static final int IN_CLAUSE_CHUNK_SIZE = 1000;
+
+  /**
+   * 一括登録で1トランザクションにまとめる学生の件数
+   */
+  public static final int BATCH_INSERT_CHUNK_SIZE = 500;
+
+  /**
+   * 一括登録APIで1リクエストに指定できる学生の最大件数
+   */
+  public static final int BATCH_REGISTER_MAX_SIZE = 10000;
+
+  /**
+   * CSVインポートで解析と登録の間に置くチャンクの最大数（これを超えると解析側が待たされる）
+   */
+  public static final int IMPORT_QUEUE_CAPACITY = 4;
+
+  /**
+   * CSVインポートの結果に含める取込エラー行の最大件数（件数自体は全件数える）
+   */
+  public static final int IMPORT_MAX_REPORTED_REJECTS = 1000;
+
+  /**
+   * テーブル名（部分更新の結果で更新したテーブルを示すために使用）
+   */
+  public static final String TABLE_STUDENTS = "students";
+  public static final String TABLE_STUDENTS_COURSES = "students_courses";
+  public static final String TABLE_ENROLLMENT_STATUS = "enrollment_status";
+}
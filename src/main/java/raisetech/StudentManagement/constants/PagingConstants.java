@@ -0,0 +1,29 @@
+package raisetech.StudentManagement.constants;
+
+/**
+ * ページング用の定数クラス
+ *
+ * <p>一覧取得時の1ページあたりの件数を定義します。</p>
+ */
+public final class PagingConstants {
+
+  // インスタンス化防止
+  private PagingConstants() {
+    throw new AssertionError("定数クラスはインスタンス化できません");
+  }
+
+  /**
+   * 1ページあたりのデフォルト件数
+   */
+  public static final int DEFAULT_PAGE_SIZE = 50;
+
+  /**
+   * 1ページあたりの最大件数
+   */
+  public static final int MAX_PAGE_SIZE = 500;
+
+  /**
+   * 全件表示画面で1回に読み込んで出力する件数
+   */
+  public static final int VIEW_STREAM_CHUNK_SIZE = 500;
+}
@@ -0,0 +1,47 @@
+package raisetech.StudentManagement.controller;
+
+import io.micrometer.core.annotation.Timed;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import raisetech.StudentManagement.domain.EnrollmentStatistics;
+import raisetech.StudentManagement.stats.EnrollmentStatsCounter;
+
+/**
+ * 受講状況の統計REST APIコントローラー
+ *
+ * <p>管理画面のダッシュボード向けに、申込状況・コース名・地域ごとの件数を提供します。</p>
+ */
+@RestController
+@RequestMapping("/api")
+@Timed(value = "student.controller", histogram = true)
+@Tag(name = "統計", description = "受講状況の統計API")
+public class StatsController {
+
+  private final EnrollmentStatsCounter statsCounter;
+
+  public StatsController(EnrollmentStatsCounter statsCounter) {
+    this.statsCounter = statsCounter;
+  }
+
+  /**
+   * 受講状況の統計取得API
+   *
+   * <p>登録・更新・削除のたびに差分で更新している件数を返すため、DBへの問い合わせは行いません。</p>
+   *
+   * @return 申込状況・コース名・地域ごとの件数
+   */
+  @Operation(summary = "受講状況の統計取得", description = "申込状況・コース名・地域ごとの件数を取得します")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "成功")
+  })
+  @GetMapping("/stats")
+  public ResponseEntity<EnrollmentStatistics> getStatistics() {
+    return ResponseEntity.ok(statsCounter.getStatistics());
+  }
+}
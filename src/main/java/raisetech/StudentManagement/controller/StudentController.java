@@ -1,31 +1,58 @@
 package raisetech.StudentManagement.controller;
 
+import static raisetech.StudentManagement.logging.LogSampler.HOT_READ;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-import raisetech.StudentManagement.controller.converter.StudentConverter;
-import raisetech.StudentManagement.data.Student;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import raisetech.StudentManagement.cache.DataVersion;
+import raisetech.StudentManagement.config.AsyncTimeoutConfig;
 import raisetech.StudentManagement.data.StudentCourse;
+import raisetech.StudentManagement.datasource.ReadYourWritesContext;
+import raisetech.StudentManagement.domain.BatchItemResult;
+import raisetech.StudentManagement.domain.BatchItemResult.Status;
+import raisetech.StudentManagement.domain.ImportReport;
 import raisetech.StudentManagement.domain.StudentDetail;
+import raisetech.StudentManagement.domain.StudentPage;
+import raisetech.StudentManagement.domain.StudentPatchResult;
 import raisetech.StudentManagement.form.StudentForm;
+import raisetech.StudentManagement.form.StudentPatchForm;
+import raisetech.StudentManagement.logging.LogSampler;
+import raisetech.StudentManagement.response.BatchRegisterResponse;
 import raisetech.StudentManagement.response.StudentApiResponse;
+import raisetech.StudentManagement.service.StudentBatchService;
+import raisetech.StudentManagement.service.StudentImportService;
 import raisetech.StudentManagement.service.StudentService;
 import raisetech.StudentManagement.response.StudentListResponse;
 
@@ -40,63 +67,161 @@ import raisetech.StudentManagement.response.StudentListResponse;
 @RestController
 @RequestMapping("/api")
 @Validated
+@Timed(value = "student.controller", histogram = true)
 @Tag(name = "学生管理", description = "学生情報とコース情報の管理API")
 public class StudentController {
 
   private static final Logger logger = LoggerFactory.getLogger(StudentController.class);
 
   private final StudentService service;
-  private final StudentConverter converter;
+  private final StudentBatchService batchService;
+  private final StudentImportService importService;
+  private final LogSampler logSampler;
+  private final DataVersion dataVersion;
+  private final ObjectMapper objectMapper;
+  private final Duration exportTimeout;
 
-  public StudentController(StudentService service, StudentConverter converter) {
+  public StudentController(StudentService service, StudentBatchService batchService,
+      StudentImportService importService, LogSampler logSampler, DataVersion dataVersion,
+      ObjectMapper objectMapper,
+      @Value("${student.export.timeout:30m}") Duration exportTimeout) {
     this.service = service;
-    this.converter = converter;
+    this.batchService = batchService;
+    this.importService = importService;
+    this.logSampler = logSampler;
+    this.dataVersion = dataVersion;
+    this.objectMapper = objectMapper;
+    this.exportTimeout = exportTimeout;
   }
 
   /**
    * 学生一覧取得API
    *
-   * <p>有効な学生の一覧とそれぞれのコース情報を取得します。</p>
+   * <p>有効な学生の一覧とそれぞれのコース情報をキーセット方式でページ取得します。</p>
    * <p>論理削除された学生は含まれません。</p>
+   * <p>レスポンスのnextCursorをafterに指定すると次のページを取得できます。</p>
+   * <p>データのバージョンをETagとして返し、If-None-Matchが一致する場合はDBに問い合わせず304を返します。</p>
    *
-   * @return 学生詳細のリスト
+   * @param after   前ページ最後の学生ID（省略時は先頭ページ）
+   * @param size    1ページの件数（省略時はデフォルト件数）
+   * @param request 条件付きGETの判定用
+   * @return 学生詳細のページ（変更がない場合は304）
    */
-  @Operation(summary = "学生一覧取得", description = "有効な学生の一覧とそれぞれのコース情報を取得します")
+  @Operation(summary = "学生一覧取得", description = "有効な学生の一覧とそれぞれのコース情報をページ単位で取得します")
   @ApiResponses(value = {
       @ApiResponse(responseCode = "200", description = "成功"),
+      @ApiResponse(responseCode = "304", description = "前回取得時から変更なし"),
+      @ApiResponse(responseCode = "400", description = "ページ指定エラー"),
       @ApiResponse(responseCode = "500", description = "サーバーエラー")
   })
   @GetMapping("/students")
-  public ResponseEntity<StudentListResponse> getStudents() {
-    logger.info("学生一覧画面アクセス");
+  public ResponseEntity<StudentListResponse> getStudents(
+      @RequestParam(required = false) Integer after,
+      @RequestParam(required = false) Integer size, WebRequest request) {
+    // データを読む前のバージョンをETagにする（読み込み中にコミットされても古いETagで新しいデータを返すだけになる）
+    String etag = dataVersion.etag();
+    if (request.checkNotModified(etag)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+    }
 
-    List<Student> students = service.getStudents();
-    List<StudentCourse> courses = service.getCourses();
-    List<StudentDetail> studentDetails = converter.toDetails(students, courses);
+    boolean sampled = logSampler.sample("StudentController.getStudents");
+    if (sampled) {
+      logger.info(HOT_READ, "REST API: 学生一覧取得: after={}, size={}", after, size);
+    }
+
+    StudentPage page = service.getStudentPage(after, size);
 
     StudentListResponse response = new StudentListResponse(
         "success",
-        studentDetails.size(),
-        studentDetails
+        page.getTotalCount(),
+        page.getStudents(),
+        page.getNextCursor()
     );
 
-    logger.info("REST API: 学生一覧表示完了: {}件", studentDetails.size());
-    return ResponseEntity.ok(response);
+    if (sampled) {
+      logger.info(HOT_READ, "REST API: 学生一覧表示完了: {}件", page.getStudents().size());
+    }
+    return okWithVersion(etag).body(response);
+  }
+
+  /**
+   * 学生エクスポートAPI（NDJSON）
+   *
+   * <p>有効な学生全員をコース・申込状況付きで1行1件のJSONとしてストリーミング出力します。</p>
+   * <p>DBからCursorで逐次読み出しながら書き込むため、件数に関わらずメモリ使用量は一定です。</p>
+   * <p>件数が多いと出力に時間がかかるため、このAPIだけ非同期処理のタイムアウトを
+   * student.export.timeoutに延長します。</p>
+   *
+   * @param request タイムアウトの設定用
+   * @return 学生詳細のNDJSONストリーム
+   */
+  @Operation(summary = "学生エクスポート", description = "有効な学生全員をNDJSON形式でストリーミング出力します")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "成功"),
+      @ApiResponse(responseCode = "500", description = "サーバーエラー")
+  })
+  @GetMapping(value = "/students/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> exportStudents(WebRequest request) {
+    logger.info("REST API: 学生エクスポート開始");
+    AsyncTimeoutConfig.setTimeout(request, exportTimeout);
+
+    StreamingResponseBody body = outputStream -> {
+      int count = service.exportStudents(detail -> writeLine(outputStream, detail));
+      logger.info("REST API: 学生エクスポート完了: {}件", count);
+    };
+
+    return ResponseEntity.ok()
+        .contentType(MediaType.APPLICATION_NDJSON)
+        .body(body);
+  }
+
+  /**
+   * 学生詳細を1行のJSONとして書き込み
+   */
+  private void writeLine(OutputStream outputStream, StudentDetail detail) {
+    try {
+      outputStream.write(objectMapper.writeValueAsBytes(detail));
+      outputStream.write('\n');
+    } catch (IOException e) {
+      throw new UncheckedIOException("エクスポートの書き込みに失敗しました", e);
+    }
+  }
+
+  /**
+   * データのバージョンをETagにした200のレスポンス
+   *
+   * <p>他の利用者の更新がレプリカへ反映される前に読み取ったかもしれない場合はETagを付けません
+   * （更新後のバージョンで304を返し、古いデータを使い続けさせないため）。</p>
+   */
+  private ResponseEntity.BodyBuilder okWithVersion(String etag) {
+    ResponseEntity.BodyBuilder builder = ResponseEntity.ok().cacheControl(CacheControl.noCache());
+    return ReadYourWritesContext.isStaleReplicaReadPossible() ? builder : builder.eTag(etag);
   }
 
   /**
    * コース一覧表示
+   *
+   * <p>データのバージョンをETagとして返し、If-None-Matchが一致する場合はDBに問い合わせず304を返します。</p>
    */
   @Operation(summary = "コース一覧取得", description = "全コース情報を取得します")
   @ApiResponses(value = {
       @ApiResponse(responseCode = "200", description = "成功"),
+      @ApiResponse(responseCode = "304", description = "前回取得時から変更なし"),
       @ApiResponse(responseCode = "500", description = "サーバーエラー")
   })
   @GetMapping("/courses")
-  public ResponseEntity<List<StudentCourse>> getCourses() {
-    logger.info("REST API: コース一覧取得");
+  public ResponseEntity<List<StudentCourse>> getCourses(WebRequest request) {
+    String etag = dataVersion.etag();
+    if (request.checkNotModified(etag)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+    }
+
+    boolean sampled = logSampler.sample("StudentController.getCourses");
+    if (sampled) {
+      logger.info(HOT_READ, "REST API: コース一覧取得");
+    }
     List<StudentCourse> courses = service.getCourses();
-    return ResponseEntity.ok(courses);
+    return okWithVersion(etag).body(courses);
   }
 
   /**
@@ -110,7 +235,10 @@ public class StudentController {
   })
   @GetMapping("/students/{id}")
   public ResponseEntity<StudentForm> getStudent(@PathVariable int id) {
-    logger.info("REST API: 学生詳細取得: ID={}", id);
+    boolean sampled = logSampler.sample("StudentController.getStudent");
+    if (sampled) {
+      logger.info(HOT_READ, "REST API: 学生詳細取得: ID={}", id);
+    }
     StudentForm form = service.getStudentForm(id);
     return ResponseEntity.ok(form);
   }
@@ -133,6 +261,73 @@ public class StudentController {
     return ResponseEntity.status(HttpStatus.CREATED).body(response);
   }
 
+  /**
+   * 学生一括登録API
+   *
+   * <p>最初に全件の入力チェックを行い、1件でもエラーがあれば何も登録せず400を返します。</p>
+   * <p>全件が正しい場合はチャンクごとのトランザクションでまとめて登録し、1件ごとの結果を返します。</p>
+   * <p>一部のチャンクがDBエラーで失敗した場合は207を返します（失敗したチャンクの行はFAILED）。</p>
+   *
+   * @param forms 登録する学生のリスト
+   * @return 1件ごとの登録結果
+   */
+  @Operation(summary = "学生一括登録", description = "複数の学生とコース情報をまとめて登録します")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "201", description = "全件登録成功"),
+      @ApiResponse(responseCode = "207", description = "一部登録失敗"),
+      @ApiResponse(responseCode = "400", description = "入力内容エラー（何も登録されません）")
+  })
+  @PostMapping("/students/batch")
+  public ResponseEntity<BatchRegisterResponse> createStudents(
+      @RequestBody List<StudentForm> forms) {
+    logger.info("REST API: 学生一括登録開始: {}件", forms != null ? forms.size() : 0);
+    List<BatchItemResult> results = batchService.registerStudents(forms);
+
+    if (results.stream().anyMatch(r -> r.getStatus() == Status.INVALID)) {
+      return ResponseEntity.badRequest().body(new BatchRegisterResponse("error", results));
+    }
+
+    BatchRegisterResponse response = new BatchRegisterResponse(
+        results.stream().allMatch(r -> r.getStatus() == Status.REGISTERED) ? "success" : "partial",
+        results);
+    logger.info("REST API: 学生一括登録完了: {}/{}件", response.getRegistered(),
+        response.getRequested());
+    HttpStatus status = "success".equals(response.getStatus())
+        ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+    return ResponseEntity.status(status).body(response);
+  }
+
+  /**
+   * 学生CSVインポートAPI
+   *
+   * <p>リクエスト本文のCSVを1行ずつ読み込みながらチャンクごとにコミットします。</p>
+   * <p>1行目はヘッダー（name, kanaName, nickname, email, area, age, sex, remark,
+   * courseName, courseStartAt, courseEndAt, enrollmentStatus）です。</p>
+   * <p>入力チェックでエラーになった行は登録せず、行番号とエラー内容を結果に含めます。</p>
+   * <p>DBエラーなどで中断した場合は207を返します。結果のcheckpointをskipに指定すると続きから再開できます。</p>
+   *
+   * @param skip 先頭から読み飛ばすデータ行数（省略時は0）
+   * @param csv  CSV（UTF-8）
+   * @return インポート結果（スループット、取込エラー行、checkpoint）
+   */
+  @Operation(summary = "学生CSVインポート", description = "CSVから学生とコース情報をまとめて登録します")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "最後の行まで処理完了"),
+      @ApiResponse(responseCode = "207", description = "途中で中断（checkpointから再開可能）"),
+      @ApiResponse(responseCode = "400", description = "ヘッダーまたはskipの指定エラー"),
+      @ApiResponse(responseCode = "503", description = "同時に実行できるインポートの上限に達している")
+  })
+  @PostMapping(value = "/students/import", consumes = "text/csv")
+  public ResponseEntity<ImportReport> importStudents(
+      @RequestParam(defaultValue = "0") long skip, InputStream csv) {
+    logger.info("REST API: 学生CSVインポート開始: skip={}", skip);
+    ImportReport report = importService.importStudents(csv, skip);
+    logger.info("REST API: 学生CSVインポート終了: 登録={}件, エラー={}行, checkpoint={}",
+        report.getImported(), report.getRejected(), report.getCheckpoint());
+    HttpStatus status = report.isCompleted() ? HttpStatus.OK : HttpStatus.MULTI_STATUS;
+    return ResponseEntity.status(status).body(report);
+  }
+
   /**
    * 学生情報更新
    */
@@ -154,6 +349,27 @@ public class StudentController {
     return ResponseEntity.ok(response);
   }
 
+  /**
+   * 学生情報部分更新
+   *
+   * <p>指定した項目のうち現在の値と異なるものだけを更新します。</p>
+   * <p>全項目が現在の値と同じ場合は何も更新せず、updatedTablesが空の結果を返します。</p>
+   */
+  @Operation(summary = "学生情報部分更新", description = "指定した項目のうち変更があるものだけを更新します")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "更新成功（変更なしの場合も含む）"),
+      @ApiResponse(responseCode = "400", description = "入力内容エラー"),
+      @ApiResponse(responseCode = "404", description = "更新対象が見つかりません")
+  })
+  @PatchMapping("/students/{id}")
+  public ResponseEntity<StudentPatchResult> patchStudent(@PathVariable int id,
+      @Valid @RequestBody StudentPatchForm form) {
+    logger.info("REST API: 学生部分更新開始: ID={}", id);
+    StudentPatchResult result = service.patchStudent(id, form);
+    logger.info("REST API: 学生部分更新成功: ID={}, テーブル={}", id, result.getUpdatedTables());
+    return ResponseEntity.ok(result);
+  }
+
   /**
    * 学生削除API(論理削除)
    *
@@ -1,6 +1,14 @@
 package raisetech.StudentManagement.controller;
 
+import static raisetech.StudentManagement.constants.PagingConstants.DEFAULT_PAGE_SIZE;
+import static raisetech.StudentManagement.constants.PagingConstants.MAX_PAGE_SIZE;
+import static raisetech.StudentManagement.constants.PagingConstants.VIEW_STREAM_CHUNK_SIZE;
 import static raisetech.StudentManagement.constants.ViewNames.*;
+import static raisetech.StudentManagement.logging.LogSampler.HOT_READ;
+import io.micrometer.core.annotation.Timed;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -15,49 +23,89 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
-import raisetech.StudentManagement.controller.converter.StudentConverter;
-import raisetech.StudentManagement.data.Student;
 import raisetech.StudentManagement.data.StudentCourse;
 import raisetech.StudentManagement.domain.StudentDetail;
+import raisetech.StudentManagement.domain.StudentPage;
 import raisetech.StudentManagement.form.StudentForm;
+import raisetech.StudentManagement.logging.LogSampler;
 import raisetech.StudentManagement.service.StudentService;
 
 /**
  * HTMLを返すController（Thymeleaf用）
  */
 @Controller
+@Timed(value = "student.controller", histogram = true)
 public class StudentViewController {
 
   private static final Logger logger = LoggerFactory.getLogger(StudentViewController.class);
 
   private final StudentService service;
-  private final StudentConverter converter;
+  private final LogSampler logSampler;
 
-  public StudentViewController(StudentService service, StudentConverter converter) {
+  public StudentViewController(StudentService service, LogSampler logSampler) {
     this.service = service;
-    this.converter = converter;
+    this.logSampler = logSampler;
   }
 
   /**
-   * 学生一覧表示
+   * 学生一覧表示（キーセット方式のページ表示）
+   *
+   * @param after 前ページ最後の学生ID（省略時は先頭ページ）
+   * @param size  1ページの件数（省略時・1未満はデフォルト件数、最大件数を超える場合は最大件数）
    */
   @GetMapping("/studentList")
-  public String showStudentList(Model model) {
-    logger.info("学生一覧画面表示");
-
-    List<Student> students = service.getStudents();
-    List<StudentCourse> courses = service.getCourses();
-    List<StudentDetail> studentDetails = converter.toDetails(students, courses);
+  public String showStudentList(@RequestParam(required = false) Integer after,
+      @RequestParam(required = false) Integer size, Model model) {
+    boolean sampled = logSampler.sample("StudentViewController.showStudentList");
+    if (sampled) {
+      logger.info(HOT_READ, "学生一覧画面表示: after={}, size={}", after, size);
+    }
 
-    model.addAttribute("studentList", studentDetails);
+    // 画面ではエラーのJSONを返さないよう、範囲外の件数は補正して表示する
+    int pageSize = size == null || size < 1 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+    StudentPage page = service.getStudentPage(after, pageSize);
+    addPageAttributes(model, page, pageSize);
     return STUDENT_LIST;  }
 
+  /**
+   * 学生一覧の全件表示（逐次出力）
+   *
+   * <p>学生をVIEW_STREAM_CHUNK_SIZE件ずつ読み込みながら行を出力し、
+   * 次のチャンクを読み込む前にそれまでの出力をクライアントへ送ります。</p>
+   * <p>全件を読み込んでから描画しないため、件数が多くても最初の応答までの時間とメモリ使用量が増えません。</p>
+   */
+  @GetMapping("/studentList/all")
+  public String showAllStudents(Model model, HttpServletResponse response) {
+    boolean sampled = logSampler.sample("StudentViewController.showAllStudents");
+    if (sampled) {
+      logger.info(HOT_READ, "学生一覧画面表示(全件)");
+    }
+
+    model.addAttribute("studentList",
+        service.iterateStudentDetails(VIEW_STREAM_CHUNK_SIZE, () -> flush(response)));
+    return STUDENT_LIST;
+  }
+
+  /**
+   * それまでに描画した内容をクライアントへ送信
+   */
+  private void flush(HttpServletResponse response) {
+    try {
+      response.flushBuffer();
+    } catch (IOException e) {
+      throw new UncheckedIOException("学生一覧の出力に失敗しました", e);
+    }
+  }
+
   /**
    * コース一覧表示
    */
   @GetMapping("/courseList")
   public String showCourseList(Model model) {
-    logger.info("コース一覧画面表示");
+    boolean sampled = logSampler.sample("StudentViewController.showCourseList");
+    if (sampled) {
+      logger.info(HOT_READ, "コース一覧画面表示");
+    }
 
     List<StudentCourse> courses = service.getCourses();
     model.addAttribute("courseList", courses);
@@ -172,8 +220,11 @@ public class StudentViewController {
       @RequestParam(required = false) String enrollmentStatus,
       Model model) {
 
-    logger.info("学生検索リクエスト: name={}, area={}, courseName={}, status={}",
-        name, area, courseName, enrollmentStatus);
+    boolean sampled = logSampler.sample("StudentViewController.searchStudents");
+    if (sampled) {
+      logger.info(HOT_READ, "学生検索リクエスト: name={}, area={}, courseName={}, status={}",
+          name, area, courseName, enrollmentStatus);
+    }
 
     try {
       // 全て空の場合は全件表示
@@ -183,12 +234,16 @@ public class StudentViewController {
           (courseName == null || courseName.isEmpty()) &&
           (enrollmentStatus == null || enrollmentStatus.isEmpty())) {
 
-        logger.info("検索条件なし - 全件表示");
-        List<Student> students = service.getStudents();
-        List<StudentCourse> courses = service.getCourses();
-        studentDetails = converter.toDetails(students, courses);
+        if (sampled) {
+          logger.info(HOT_READ, "検索条件なし - 先頭ページ表示");
+        }
+        StudentPage page = service.getStudentPage(null, null);
+        addPageAttributes(model, page, null);
+        studentDetails = page.getStudents();
       } else {
-        logger.info("検索条件あり - 絞り込み検索");
+        if (sampled) {
+          logger.info(HOT_READ, "検索条件あり - 絞り込み検索");
+        }
         studentDetails = service.searchStudents(name, area, courseName, enrollmentStatus);
       }
 
@@ -198,7 +253,9 @@ public class StudentViewController {
       model.addAttribute("searchCourseName", courseName);
       model.addAttribute("searchEnrollmentStatus", enrollmentStatus);
 
-      logger.info("検索結果: {}件", studentDetails.size());
+      if (sampled) {
+        logger.info(HOT_READ, "検索結果: {}件", studentDetails.size());
+      }
 
       return STUDENT_LIST;
 
@@ -208,4 +265,14 @@ public class StudentViewController {
       return STUDENT_LIST;
     }
   }
-}
\ No newline at end of file
+
+  /**
+   * ページ表示用の属性をモデルに設定
+   */
+  private void addPageAttributes(Model model, StudentPage page, Integer size) {
+    model.addAttribute("studentList", page.getStudents());
+    model.addAttribute("totalCount", page.getTotalCount());
+    model.addAttribute("nextCursor", page.getNextCursor());
+    model.addAttribute("pageSize", size != null ? size : DEFAULT_PAGE_SIZE);
+  }
+}
@@ -7,6 +7,7 @@ import java.util.Map;
 import java.util.stream.Collectors;
 import org.springframework.stereotype.Component;
 import raisetech.StudentManagement.data.EnrollmentStatus;
+import raisetech.StudentManagement.data.EnrollmentStatusCode;
 import raisetech.StudentManagement.data.Student;
 import raisetech.StudentManagement.data.StudentCourse;
 import raisetech.StudentManagement.domain.StudentDetail;
@@ -75,7 +76,7 @@ public class StudentConverter {
       form.setCourseEndAt(course.getCourseEndAt());
 
       if (course.getEnrollmentStatus() != null) {
-        form.setEnrollmentStatus(course.getEnrollmentStatus().getStatus());
+        form.setEnrollmentStatus(course.getEnrollmentStatus().getStatus().getLabel());
       }
     }
 
@@ -130,7 +131,7 @@ public class StudentConverter {
 
     if (form.getEnrollmentStatus() != null) {
       EnrollmentStatus status = new EnrollmentStatus();
-      status.setStatus(form.getEnrollmentStatus());
+      status.setStatus(EnrollmentStatusCode.fromLabel(form.getEnrollmentStatus()));
       course.setEnrollmentStatus(status);
     }
 
@@ -8,6 +8,7 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import raisetech.StudentManagement.exception.ImportCapacityExceededException;
 import raisetech.StudentManagement.exception.ResourceNotFoundException;
 
 /**
@@ -38,6 +39,25 @@ public class GlobalExceptionHandler {
     return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
   }
 
+  /**
+   * ImportCapacityExceededException専用ハンドラー
+   * 同時に実行できるインポートの上限に達している場合の処理
+   */
+  @ExceptionHandler(ImportCapacityExceededException.class)
+  public ResponseEntity<GlobalErrorResponse> handleImportCapacityExceededException(
+      ImportCapacityExceededException e) {
+    logger.warn("【グローバル】インポートの同時実行数が上限: {}", e.getMessage());
+
+    GlobalErrorResponse response = new GlobalErrorResponse(
+        "error",
+        "混み合っているためインポートを受け付けられません",
+        e.getMessage(),
+        "ImportCapacityExceededException"
+    );
+
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+  }
+
   /**
    * MethodArgumentNotValidException専用ハンドラー
    * @Valid によるバリデーション失敗時の処理
@@ -8,5 +8,5 @@ import lombok.Setter;
 public class EnrollmentStatus {
   private Integer id;
   private int courseId;
-  private String status;
+  private EnrollmentStatusCode status;
 }
\ No newline at end of file
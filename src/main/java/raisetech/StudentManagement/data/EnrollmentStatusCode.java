@@ -0,0 +1,90 @@
+package raisetech.StudentManagement.data;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+import java.util.Optional;
+
+/**
+ * 申込状況のコード
+ *
+ * <p>DBにはTINYINTのコード（enrollment_status.status_code）で保存し、検索・集計もコードで行います。</p>
+ * <p>表示名（仮申込など）は画面とJSONの入出力でのみ使います。</p>
+ */
+public enum EnrollmentStatusCode {
+
+  PROVISIONAL(1, "仮申込"),
+  APPLIED(2, "本申込"),
+  IN_PROGRESS(3, "受講中"),
+  COMPLETED(4, "受講終了");
+
+  /** 申込状況の指定がない場合の既定値 */
+  public static final EnrollmentStatusCode DEFAULT = PROVISIONAL;
+
+  /** 表示名の入力チェック用の正規表現（@Patternで使うため定数で定義） */
+  public static final String LABEL_PATTERN = "仮申込|本申込|受講中|受講終了";
+
+  private static final EnrollmentStatusCode[] BY_CODE = new EnrollmentStatusCode[5];
+
+  static {
+    for (EnrollmentStatusCode status : values()) {
+      BY_CODE[status.code] = status;
+    }
+  }
+
+  private final byte code;
+  private final String label;
+
+  EnrollmentStatusCode(int code, String label) {
+    this.code = (byte) code;
+    this.label = label;
+  }
+
+  /**
+   * DBに保存するコード
+   */
+  public byte getCode() {
+    return code;
+  }
+
+  /**
+   * 表示名（JSONではこの値で入出力する）
+   */
+  @JsonValue
+  public String getLabel() {
+    return label;
+  }
+
+  /**
+   * コードから取得
+   *
+   * @throws IllegalArgumentException 未定義のコードの場合
+   */
+  public static EnrollmentStatusCode fromCode(int code) {
+    EnrollmentStatusCode status = code > 0 && code < BY_CODE.length ? BY_CODE[code] : null;
+    if (status == null) {
+      throw new IllegalArgumentException("未定義の申込状況コードです: " + code);
+    }
+    return status;
+  }
+
+  /**
+   * 表示名から取得
+   *
+   * @throws IllegalArgumentException 未定義の表示名の場合
+   */
+  public static EnrollmentStatusCode fromLabel(String label) {
+    return findByLabel(label)
+        .orElseThrow(() -> new IllegalArgumentException("申込状況が正しくありません: " + label));
+  }
+
+  /**
+   * 表示名から取得（未定義の場合は空）
+   */
+  public static Optional<EnrollmentStatusCode> findByLabel(String label) {
+    for (EnrollmentStatusCode status : values()) {
+      if (status.label.equals(label)) {
+        return Optional.of(status);
+      }
+    }
+    return Optional.empty();
+  }
+}
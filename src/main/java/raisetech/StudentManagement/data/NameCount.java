@@ -0,0 +1,18 @@
+package raisetech.StudentManagement.data;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 集計結果（項目の値ごとの件数）
+ */
+@Getter
+@Setter
+public class NameCount {
+
+  private String name;
+  private long count;
+
+  public NameCount() {
+  }
+}
@@ -0,0 +1,18 @@
+package raisetech.StudentManagement.data;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 集計結果（申込状況ごとの件数）
+ */
+@Getter
+@Setter
+public class StatusCount {
+
+  private EnrollmentStatusCode status;
+  private long count;
+
+  public StatusCount() {
+  }
+}
@@ -0,0 +1,168 @@
+package raisetech.StudentManagement.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 読み取り専用トランザクションをレプリカへ、それ以外をプライマリへ振り分けるDataSource
+ *
+ * <p>@Transactional(readOnly = true) のトランザクション内で取得した接続のみレプリカを使います。
+ * トランザクション外の接続と更新トランザクションは常にプライマリです。</p>
+ * <p>トランザクション開始時点ではreadOnlyが判定できないため、
+ * LazyConnectionDataSourceProxyで包み、最初のSQL実行時に接続を取得させて使います。</p>
+ * <p>更新トランザクションのコミット後、readYourWritesWindowの間は読み取りもプライマリへ送ります
+ * （レプリカへの反映遅延で、更新直後の画面に古いデータが表示されないようにするため）。
+ * リクエスト内では{@link ReadYourWritesContext}により更新した利用者の読み取りだけを対象にし、
+ * リクエスト外（定期処理など）の場合のみプロセス全体の最後の更新時刻で判定します。</p>
+ * <p>リクエスト内でプロセス全体の最後の更新からreadYourWritesWindow以内にレプリカへ接続した場合は、
+ * 古いデータを読んだかもしれないことを{@link ReadYourWritesContext}に記録します
+ * （共有のキャッシュやETagに古いデータを結び付けないため）。</p>
+ * <p>レプリカの接続取得に失敗した場合はプライマリへ切り替え、replicaRetryIntervalの間はレプリカを使いません。</p>
+ */
+public class ReadWriteRoutingDataSource extends AbstractDataSource {
+
+  private static final Logger logger = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+
+  /**
+   * 接続先
+   */
+  public enum Target {
+    PRIMARY,
+    REPLICA
+  }
+
+  private final DataSource primary;
+  private final DataSource replica;
+  private final Duration readYourWritesWindow;
+  private final Duration replicaRetryInterval;
+  private final Clock clock;
+
+  /** 最後に更新トランザクションがコミットされた時刻（リクエスト外の判定に使う） */
+  private volatile Instant lastWriteAt = Instant.MIN;
+
+  /** この時刻まではレプリカを使わない（接続失敗時に設定） */
+  private volatile Instant replicaDownUntil = Instant.MIN;
+
+  public ReadWriteRoutingDataSource(DataSource primary, DataSource replica,
+      Duration readYourWritesWindow, Duration replicaRetryInterval, Clock clock) {
+    this.primary = primary;
+    this.replica = replica;
+    this.readYourWritesWindow = readYourWritesWindow;
+    this.replicaRetryInterval = replicaRetryInterval;
+    this.clock = clock;
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    if (determineTarget() == Target.REPLICA) {
+      try {
+        Connection connection = replica.getConnection();
+        recordReplicaRead();
+        return connection;
+      } catch (SQLException e) {
+        markReplicaDown(e);
+      }
+    }
+    return primary.getConnection();
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    if (determineTarget() == Target.REPLICA) {
+      try {
+        Connection connection = replica.getConnection(username, password);
+        recordReplicaRead();
+        return connection;
+      } catch (SQLException e) {
+        markReplicaDown(e);
+      }
+    }
+    return primary.getConnection(username, password);
+  }
+
+  /**
+   * 現在のトランザクションの接続先を判定
+   *
+   * <p>更新トランザクションの場合は、コミット時に更新時刻を記録するよう登録します。</p>
+   */
+  Target determineTarget() {
+    if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+      return Target.PRIMARY;
+    }
+    if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+      registerWriteTracking();
+      return Target.PRIMARY;
+    }
+    Instant now = clock.instant();
+    ReadYourWritesContext context = ReadYourWritesContext.current();
+    Instant writtenAt = context != null ? context.getLastWriteAt() : lastWriteAt;
+    if (isWithinWindow(writtenAt, now)) {
+      return Target.PRIMARY;
+    }
+    if (now.isBefore(replicaDownUntil)) {
+      return Target.PRIMARY;
+    }
+    return Target.REPLICA;
+  }
+
+  /**
+   * レプリカへ接続したとき、他の利用者の更新の反映待ちかもしれない場合はリクエストに記録
+   */
+  private void recordReplicaRead() {
+    ReadYourWritesContext context = ReadYourWritesContext.current();
+    if (context != null && isWithinWindow(lastWriteAt, clock.instant())) {
+      context.markStaleReplicaRead();
+    }
+  }
+
+  private boolean isWithinWindow(Instant writtenAt, Instant now) {
+    return writtenAt != null && now.isBefore(writtenAt.plus(readYourWritesWindow));
+  }
+
+  /**
+   * 更新トランザクションのコミット時刻を記録するよう登録（トランザクションごとに1回）
+   */
+  private void registerWriteTracking() {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()
+        || TransactionSynchronizationManager.hasResource(this)) {
+      return;
+    }
+    ReadYourWritesContext context = ReadYourWritesContext.current();
+    TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void beforeCommit(boolean readOnly) {
+        // コミットと同時に読み取った他のリクエストも反映待ちとして扱えるよう、コミット前から期間を始める
+        // （コミット後のイベントでデータのバージョンが上がるより前に記録されていることを保証する）
+        lastWriteAt = clock.instant();
+      }
+
+      @Override
+      public void afterCompletion(int status) {
+        TransactionSynchronizationManager.unbindResourceIfPossible(ReadWriteRoutingDataSource.this);
+        if (status == STATUS_COMMITTED) {
+          Instant now = clock.instant();
+          lastWriteAt = now;
+          if (context != null) {
+            context.recordWrite(now);
+          }
+        }
+      }
+    });
+  }
+
+  private void markReplicaDown(SQLException e) {
+    replicaDownUntil = clock.instant().plus(replicaRetryInterval);
+    logger.warn("レプリカに接続できないためプライマリへ切り替え: {}秒後に再試行",
+        replicaRetryInterval.toSeconds(), e);
+  }
+}
@@ -0,0 +1,84 @@
+package raisetech.StudentManagement.datasource;
+
+import java.time.Instant;
+import java.util.function.Consumer;
+
+/**
+ * リクエストを送った利用者（書き込み元）の最後の更新時刻
+ *
+ * <p>{@link ReadYourWritesFilter}がリクエストごとにスレッドへ設定し、
+ * {@link ReadWriteRoutingDataSource}は設定されている場合、この利用者の更新時刻だけで
+ * 読み取りをプライマリへ送るかを判定します（他の利用者の更新でレプリカを避けないため）。</p>
+ * <p>設定されていないスレッド（定期処理など）はプロセス全体の最後の更新時刻で判定します。</p>
+ * <p>他の利用者の更新がまだレプリカへ反映されていないかもしれない間にレプリカから読み取った場合は、
+ * そのことも記録します（{@link #isStaleReplicaReadPossible()}）。</p>
+ */
+public final class ReadYourWritesContext {
+
+  private static final ThreadLocal<ReadYourWritesContext> CURRENT = new ThreadLocal<>();
+
+  private volatile Instant lastWriteAt;
+
+  private final Consumer<Instant> onWrite;
+
+  /** このリクエストで、他の利用者の更新の反映待ちかもしれないレプリカから読み取ったか */
+  private volatile boolean staleReplicaRead;
+
+  /**
+   * @param lastWriteAt 前のリクエストまでの最後の更新時刻（不明の場合はnull）
+   * @param onWrite     このリクエストで更新がコミットされたときに呼ばれる（Cookieの発行など）
+   */
+  ReadYourWritesContext(Instant lastWriteAt, Consumer<Instant> onWrite) {
+    this.lastWriteAt = lastWriteAt;
+    this.onWrite = onWrite;
+  }
+
+  /**
+   * 現在のスレッドのコンテキスト（リクエスト外の場合はnull）
+   */
+  static ReadYourWritesContext current() {
+    return CURRENT.get();
+  }
+
+  /**
+   * 現在のリクエストで、他の利用者の更新がレプリカへ反映されていないかもしれない間にレプリカから読み取ったか
+   *
+   * <p>trueの場合、読み取った結果を他の利用者と共有するキャッシュに登録したり、
+   * データのバージョンをETagにして返したりしないでください（更新後のバージョンに古いデータを結び付けてしまうため）。</p>
+   * <p>リクエスト外の場合は常にfalseです（その間はプロセス全体の最後の更新時刻でプライマリへ送るため）。</p>
+   */
+  public static boolean isStaleReplicaReadPossible() {
+    ReadYourWritesContext context = CURRENT.get();
+    return context != null && context.staleReplicaRead;
+  }
+
+  static void bind(ReadYourWritesContext context) {
+    CURRENT.set(context);
+  }
+
+  static void clear() {
+    CURRENT.remove();
+  }
+
+  /**
+   * この利用者の最後の更新時刻（不明の場合はnull）
+   */
+  Instant getLastWriteAt() {
+    return lastWriteAt;
+  }
+
+  /**
+   * この利用者の更新のコミットを記録
+   */
+  void recordWrite(Instant at) {
+    lastWriteAt = at;
+    onWrite.accept(at);
+  }
+
+  /**
+   * 他の利用者の更新の反映待ちかもしれないレプリカから読み取ったことを記録
+   */
+  void markStaleReplicaRead() {
+    staleReplicaRead = true;
+  }
+}
@@ -0,0 +1,83 @@
+package raisetech.StudentManagement.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * 利用者ごとの最後の更新時刻をCookieで受け渡し、{@link ReadYourWritesContext}に設定するフィルター
+ *
+ * <p>更新がコミットされたリクエストのレスポンスに更新時刻のCookieを付け、
+ * 以降のリクエストではCookieの時刻から読み取りの接続先を判定させます。
+ * Cookieの有効期限はread-your-writes-windowと同じため、期限が切れた後は付きません。</p>
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+  static final String COOKIE_NAME = "student_last_write";
+
+  private final Duration readYourWritesWindow;
+  private final Clock clock;
+
+  public ReadYourWritesFilter(Duration readYourWritesWindow, Clock clock) {
+    this.readYourWritesWindow = readYourWritesWindow;
+    this.clock = clock;
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+      FilterChain filterChain) throws ServletException, IOException {
+    ReadYourWritesContext context = new ReadYourWritesContext(readLastWrite(request),
+        at -> writeLastWrite(response, at));
+    ReadYourWritesContext.bind(context);
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      ReadYourWritesContext.clear();
+    }
+  }
+
+  /**
+   * Cookieの更新時刻（ない・不正な場合はnull、未来の時刻は現在時刻として扱う）
+   */
+  private Instant readLastWrite(HttpServletRequest request) {
+    Cookie[] cookies = request.getCookies();
+    if (cookies == null) {
+      return null;
+    }
+    for (Cookie cookie : cookies) {
+      if (COOKIE_NAME.equals(cookie.getName())) {
+        try {
+          Instant at = Instant.ofEpochMilli(Long.parseLong(cookie.getValue()));
+          Instant now = clock.instant();
+          return at.isAfter(now) ? now : at;
+        } catch (NumberFormatException e) {
+          return null;
+        }
+      }
+    }
+    return null;
+  }
+
+  private void writeLastWrite(HttpServletResponse response, Instant at) {
+    if (response.isCommitted()) {
+      // 出力開始後はCookieを付けられないため、このリクエスト内でのみ反映する
+      return;
+    }
+    ResponseCookie cookie = ResponseCookie.from(COOKIE_NAME, Long.toString(at.toEpochMilli()))
+        .path("/")
+        .maxAge(readYourWritesWindow.toSeconds() + 1)
+        .httpOnly(true)
+        .sameSite("Lax")
+        .build();
+    response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+  }
+}
@@ -0,0 +1,94 @@
+package raisetech.StudentManagement.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.time.Clock;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * 読み書き分離のDataSource設定
+ *
+ * <p>student.datasource.replica.url を指定した場合のみ有効になり、
+ * 未指定の場合はSpring Bootの自動設定による単一のDataSourceを使います。</p>
+ * <p>プライマリは spring.datasource.*、レプリカは student.datasource.replica.* で接続先を指定し、
+ * コネクションプールの設定はそれぞれ spring.datasource.hikari.* と
+ * student.datasource.replica.hikari.* で変更できます。</p>
+ *
+ * @see ReadWriteRoutingDataSource
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "student.datasource.replica", name = "url")
+public class ReplicaDataSourceConfig {
+
+  static final Duration REPLICA_CONNECTION_TIMEOUT = Duration.ofSeconds(1);
+
+  @Bean
+  @ConfigurationProperties("spring.datasource.hikari")
+  public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+    HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+        .type(HikariDataSource.class)
+        .build();
+    dataSource.setPoolName("primary");
+    return dataSource;
+  }
+
+  @Bean
+  @ConfigurationProperties("student.datasource.replica.hikari")
+  public HikariDataSource replicaDataSource(DataSourceProperties properties,
+      @Value("${student.datasource.replica.url}") String url,
+      @Value("${student.datasource.replica.username:${spring.datasource.username:}}")
+      String username,
+      @Value("${student.datasource.replica.password:${spring.datasource.password:}}")
+      String password) {
+    HikariDataSource dataSource = DataSourceBuilder.create()
+        .type(HikariDataSource.class)
+        .driverClassName(properties.determineDriverClassName())
+        .url(url)
+        .username(username)
+        .password(password)
+        .build();
+    dataSource.setPoolName("replica");
+    dataSource.setReadOnly(true);
+    // 停止中のレプリカで読み取りを長く待たせずプライマリへ切り替える（Hikariの既定は30秒）
+    // student.datasource.replica.hikari.connection-timeout で変更できる
+    dataSource.setConnectionTimeout(REPLICA_CONNECTION_TIMEOUT.toMillis());
+    // 起動時にレプリカが停止していてもアプリを起動できるようにする（その間はプライマリを使う）
+    dataSource.setInitializationFailTimeout(-1);
+    return dataSource;
+  }
+
+  /**
+   * MyBatis・トランザクション管理・Flywayが使うDataSource
+   */
+  @Bean
+  @Primary
+  public DataSource dataSource(
+      @Qualifier("primaryDataSource") DataSource primary,
+      @Qualifier("replicaDataSource") DataSource replica,
+      @Value("${student.datasource.read-your-writes-window:5s}") Duration readYourWritesWindow,
+      @Value("${student.datasource.replica-retry-interval:30s}") Duration replicaRetryInterval) {
+    return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, replica,
+        readYourWritesWindow, replicaRetryInterval, Clock.systemUTC()));
+  }
+
+  /**
+   * 利用者ごとの最後の更新時刻をCookieで受け渡すフィルター（更新した利用者の読み取りだけをプライマリへ送る）
+   */
+  @Bean
+  public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(
+      @Value("${student.datasource.read-your-writes-window:5s}") Duration readYourWritesWindow) {
+    return new FilterRegistrationBean<>(
+        new ReadYourWritesFilter(readYourWritesWindow, Clock.systemUTC()));
+  }
+}
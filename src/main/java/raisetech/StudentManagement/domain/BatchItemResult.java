@@ -0,0 +1,54 @@
+package raisetech.StudentManagement.domain;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 一括登録の1件ごとの結果
+ */
+@Getter
+@AllArgsConstructor
+public class BatchItemResult {
+
+  /**
+   * 1件ごとの処理結果
+   */
+  public enum Status {
+    /** 登録済み */
+    REGISTERED,
+    /** 入力内容エラーのため登録しなかった */
+    INVALID,
+    /** 他の行の入力内容エラーにより登録しなかった */
+    SKIPPED,
+    /** DBエラーにより登録できなかった（同じチャンクの行はロールバック済み） */
+    FAILED
+  }
+
+  /** リクエスト内の位置（0始まり） */
+  private int index;
+
+  private Status status;
+
+  /** 登録された学生ID（登録済みの場合のみ） */
+  private Integer studentId;
+
+  /** エラー内容（エラーがない場合は空リスト） */
+  private List<String> errors;
+
+  public static BatchItemResult registered(int index, int studentId) {
+    return new BatchItemResult(index, Status.REGISTERED, studentId, List.of());
+  }
+
+  public static BatchItemResult invalid(int index, List<String> errors) {
+    return new BatchItemResult(index, Status.INVALID, null, errors);
+  }
+
+  public static BatchItemResult skipped(int index) {
+    return new BatchItemResult(index, Status.SKIPPED, null, List.of());
+  }
+
+  public static BatchItemResult failed(int index, String error) {
+    return new BatchItemResult(index, Status.FAILED, null, List.of(error));
+  }
+}
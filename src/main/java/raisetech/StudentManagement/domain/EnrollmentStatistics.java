@@ -0,0 +1,29 @@
+package raisetech.StudentManagement.domain;
+
+import java.time.Instant;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 受講状況の統計（ある時点のスナップショット）
+ */
+@Getter
+@AllArgsConstructor
+public class EnrollmentStatistics {
+
+  /** 有効な学生数 */
+  private long totalStudents;
+
+  /** 申込状況ごとのコース数 */
+  private Map<String, Long> byEnrollmentStatus;
+
+  /** コース名ごとの受講数 */
+  private Map<String, Long> byCourseName;
+
+  /** 地域ごとの学生数 */
+  private Map<String, Long> byArea;
+
+  /** 最後にSQLの集計と照合した日時（未照合の場合はnull） */
+  private Instant reconciledAt;
+}
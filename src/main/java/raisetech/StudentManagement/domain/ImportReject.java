@@ -0,0 +1,19 @@
+package raisetech.StudentManagement.domain;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * CSVインポートで取り込めなかった行
+ */
+@Getter
+@AllArgsConstructor
+public class ImportReject {
+
+  /** データ行の番号（ヘッダーを除いて1始まり） */
+  private long rowNumber;
+
+  /** エラー内容 */
+  private List<String> errors;
+}
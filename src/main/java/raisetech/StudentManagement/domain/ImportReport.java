@@ -0,0 +1,42 @@
+package raisetech.StudentManagement.domain;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * CSVインポートの結果
+ *
+ * <p>途中で中断した場合は、checkpointを次回のskipに指定すると続きから再開できます。</p>
+ */
+@Getter
+@AllArgsConstructor
+public class ImportReport {
+
+  /** 最後の行まで処理できたか */
+  private boolean completed;
+
+  /** 今回読み込んだデータ行数（skipで読み飛ばした行は含まない） */
+  private long rowsRead;
+
+  /** 登録した学生数 */
+  private long imported;
+
+  /** 取込エラーの行数 */
+  private long rejected;
+
+  /** 取込エラーの行（先頭から最大IMPORT_MAX_REPORTED_REJECTS件） */
+  private List<ImportReject> rejects;
+
+  /** この行番号までは登録済みまたは取込エラーとして処理済み（再開時のskipに指定する） */
+  private long checkpoint;
+
+  /** 処理時間（ミリ秒） */
+  private long elapsedMillis;
+
+  /** スループット（1秒あたりの読み込み行数） */
+  private double rowsPerSecond;
+
+  /** 中断した場合の原因（完了した場合はnull） */
+  private String error;
+}
@@ -0,0 +1,30 @@
+package raisetech.StudentManagement.domain;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 学生一覧の1ページ分（キーセットページング）
+ *
+ * <p>nextCursorを次回リクエストのafterに指定すると続きのページを取得できます。</p>
+ */
+@Getter
+@AllArgsConstructor
+public class StudentPage {
+
+  private List<StudentDetail> students;
+
+  /** 有効な学生の総件数 */
+  private int totalCount;
+
+  /** 次ページ取得用のカーソル（このページ最後の学生ID）、最終ページの場合はnull */
+  private Integer nextCursor;
+
+  /**
+   * 次ページが存在するかチェック
+   */
+  public boolean hasNext() {
+    return nextCursor != null;
+  }
+}
@@ -0,0 +1,31 @@
+package raisetech.StudentManagement.domain;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 学生情報の部分更新の結果
+ *
+ * <p>現在の値と同じ項目は更新しないため、変更がなければupdatedTablesは空になります。</p>
+ */
+@Getter
+@AllArgsConstructor
+public class StudentPatchResult {
+
+  /** 学生ID */
+  private int studentId;
+
+  /** UPDATE（またはINSERT）を実行したテーブル */
+  private List<String> updatedTables;
+
+  /** 値が変わった項目（フォームの項目名） */
+  private List<String> changedFields;
+
+  /**
+   * 変更があったか
+   */
+  public boolean isModified() {
+    return !updatedTables.isEmpty();
+  }
+}
@@ -0,0 +1,24 @@
+package raisetech.StudentManagement.event;
+
+import java.util.Map;
+import java.util.Set;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import raisetech.StudentManagement.data.EnrollmentStatusCode;
+
+/**
+ * 書き込みを遅らせていた申込状況をDBに反映したイベント
+ *
+ * <p>変更自体は{@link StudentChangedEvent}で通知済みのため、DBから読み込んだ結果を
+ * 保持しているキャッシュの破棄・補正とETagのバージョン更新にだけ使います。</p>
+ */
+@Getter
+@AllArgsConstructor
+public class EnrollmentStatusFlushedEvent {
+
+  /** 申込状況を反映したコースの学生ID */
+  private final Set<Integer> studentIds;
+
+  /** 反映した申込状況（コースID → 申込状況） */
+  private final Map<Integer, EnrollmentStatusCode> statuses;
+}
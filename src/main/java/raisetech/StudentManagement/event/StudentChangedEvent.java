@@ -0,0 +1,46 @@
+package raisetech.StudentManagement.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import raisetech.StudentManagement.data.Student;
+import raisetech.StudentManagement.domain.StudentDetail;
+
+/**
+ * 学生情報の変更イベント
+ *
+ * <p>StudentServiceの登録・更新・削除が成功した時点（トランザクション内）で発行されます。</p>
+ * <p>キャッシュなどコミット後に反映したい処理は@TransactionalEventListenerで受け取ります。</p>
+ */
+@Getter
+@AllArgsConstructor
+public class StudentChangedEvent {
+
+  /**
+   * 変更の種類
+   */
+  public enum ChangeType {
+    REGISTERED,
+    UPDATED,
+    DELETED
+  }
+
+  private final int studentId;
+  private final ChangeType type;
+
+  /** 変更後の学生情報（削除の場合はnull） */
+  private final Student student;
+
+  /** 変更前の学生とコース・申込状況（登録の場合、または取得していない場合はnull） */
+  private final StudentDetail before;
+
+  /** 変更後の学生とコース・申込状況（削除の場合、または取得していない場合はnull） */
+  private final StudentDetail after;
+
+  public StudentChangedEvent(int studentId, ChangeType type) {
+    this(studentId, type, null, null, null);
+  }
+
+  public StudentChangedEvent(int studentId, ChangeType type, Student student) {
+    this(studentId, type, student, null, null);
+  }
+}
@@ -0,0 +1,16 @@
+package raisetech.StudentManagement.exception;
+
+/**
+ * 同時に実行できるインポートの上限に達している場合の例外
+ * この例外が発生した場合、HTTPステータス503を返す
+ */
+public class ImportCapacityExceededException extends RuntimeException {
+
+  /**
+   * メッセージ付きコンストラクタ
+   * @param message エラーメッセージ（例: "同時に実行できるインポートは10件までです"）
+   */
+  public ImportCapacityExceededException(String message) {
+    super(message);
+  }
+}
@@ -8,6 +8,7 @@ import jakarta.validation.constraints.Pattern;
 import java.time.LocalDate;
 import lombok.Getter;
 import lombok.Setter;
+import raisetech.StudentManagement.data.EnrollmentStatusCode;
 
 /**
  * 学生情報フォームクラス
@@ -56,5 +57,6 @@ public class StudentForm {
   private LocalDate courseEndAt;
 
   @NotBlank(message = "申込状況を選択してください")
+  @Pattern(regexp = EnrollmentStatusCode.LABEL_PATTERN, message = "申込状況が正しくありません")
   private String enrollmentStatus;
 }
\ No newline at end of file
@@ -0,0 +1,67 @@
+package raisetech.StudentManagement.form;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
+import java.time.LocalDate;
+import lombok.Getter;
+import lombok.Setter;
+import raisetech.StudentManagement.data.EnrollmentStatusCode;
+
+/**
+ * 学生情報の部分更新フォームクラス
+ *
+ * <p>指定した（nullでない）項目だけを更新します。nullの項目は変更しません。</p>
+ * <p>コースの項目を指定した場合はcourseIdのコースを更新します（省略時は主コース）。</p>
+ */
+@Getter
+@Setter
+public class StudentPatchForm {
+
+  /** 指定したテキストが空白のみでないこと（nullは未指定として許可） */
+  private static final String NOT_BLANK_IF_PRESENT = "(?s).*\\S.*";
+
+  @Pattern(regexp = NOT_BLANK_IF_PRESENT, message = "名前を空にすることはできません")
+  private String name;
+
+  @Pattern(regexp = NOT_BLANK_IF_PRESENT, message = "カナ名を空にすることはできません")
+  private String kanaName;
+
+  private String nickname;
+
+  @Email(message = "正しいメールアドレスを入力してください")
+  @Pattern(regexp = "^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}$",
+      message = "メールアドレスの形式が正しくありません")
+  private String email;
+
+  @Pattern(regexp = NOT_BLANK_IF_PRESENT, message = "地域を空にすることはできません")
+  private String area;
+
+  @Min(value = 16, message = "年齢は16歳以上で入力してください")
+  private Integer age;
+
+  @Pattern(regexp = NOT_BLANK_IF_PRESENT, message = "性別を空にすることはできません")
+  private String sex;
+
+  private String remark;
+
+  private Integer courseId;
+
+  @Pattern(regexp = NOT_BLANK_IF_PRESENT, message = "コース名を空にすることはできません")
+  private String courseName;
+
+  private LocalDate courseStartAt;
+
+  private LocalDate courseEndAt;
+
+  @Pattern(regexp = EnrollmentStatusCode.LABEL_PATTERN, message = "申込状況が正しくありません")
+  private String enrollmentStatus;
+
+  /**
+   * コース・申込状況の項目が1つ以上指定されているか
+   */
+  public boolean hasCourseChanges() {
+    return courseName != null || courseStartAt != null || courseEndAt != null
+        || enrollmentStatus != null;
+  }
+}
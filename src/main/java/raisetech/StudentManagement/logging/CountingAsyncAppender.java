@@ -0,0 +1,43 @@
+package raisetech.StudentManagement.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 破棄したログの件数を数える非同期Appender
+ *
+ * <p>キューの空きがdiscardingThreshold未満になるとINFO以下のログを破棄し、
+ * neverBlockの場合はキューが満杯のときにログを破棄します。</p>
+ * <p>破棄した件数は全インスタンスの合計を logging.events.dropped として公開します。</p>
+ * <p>満杯判定とキュー投入の間に他スレッドが割り込んだ場合の破棄は数えられないため、件数は概数です。</p>
+ */
+public class CountingAsyncAppender extends AsyncAppender {
+
+  private static final LongAdder DROPPED = new LongAdder();
+
+  /**
+   * 起動してから破棄したログの件数
+   */
+  public static long getDroppedCount() {
+    return DROPPED.sum();
+  }
+
+  @Override
+  protected void append(ILoggingEvent event) {
+    if (isNeverBlock() && getRemainingCapacity() == 0) {
+      DROPPED.increment();
+      return;
+    }
+    super.append(event);
+  }
+
+  @Override
+  protected boolean isDiscardable(ILoggingEvent event) {
+    boolean discardable = super.isDiscardable(event);
+    if (discardable) {
+      DROPPED.increment();
+    }
+    return discardable;
+  }
+}
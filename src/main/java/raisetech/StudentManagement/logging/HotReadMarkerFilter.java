@@ -0,0 +1,31 @@
+package raisetech.StudentManagement.logging;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.filter.Filter;
+import ch.qos.logback.core.spi.FilterReply;
+import java.util.List;
+import org.slf4j.Marker;
+
+/**
+ * HOT_READマーカーの有無でログを振り分けるフィルター
+ *
+ * <p>hotRead=trueの場合はHOT_READマーカー付きのログのみ、falseの場合はそれ以外のログのみを通します。</p>
+ */
+public class HotReadMarkerFilter extends Filter<ILoggingEvent> {
+
+  private boolean hotRead;
+
+  public void setHotRead(boolean hotRead) {
+    this.hotRead = hotRead;
+  }
+
+  @Override
+  public FilterReply decide(ILoggingEvent event) {
+    return isHotRead(event) == hotRead ? FilterReply.NEUTRAL : FilterReply.DENY;
+  }
+
+  private boolean isHotRead(ILoggingEvent event) {
+    List<Marker> markers = event.getMarkerList();
+    return markers != null && markers.contains(LogSampler.HOT_READ);
+  }
+}
@@ -0,0 +1,78 @@
+package raisetech.StudentManagement.logging;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 高頻度の参照系ログの間引き
+ *
+ * <p>呼び出し箇所（サイト）ごとに件数を数え、sample-rate件に1件だけログを出力させます。</p>
+ * <p>間引いた件数はサイトごとに logging.events.sampled.out として記録します。</p>
+ * <p>エラーと更新系の処理のログは間引かずに通常どおり出力してください。</p>
+ *
+ * <pre>
+ * boolean sampled = logSampler.sample("StudentService.getStudentPage");
+ * if (sampled) {
+ *   logger.info(LogSampler.HOT_READ, "学生ページ取得開始: ...");
+ * }
+ * </pre>
+ */
+@Component
+public class LogSampler {
+
+  /**
+   * 間引き対象の参照系ログに付けるマーカー
+   *
+   * <p>fast-loggingプロファイルでは、このマーカーのログは満杯時に破棄できる非同期Appenderに送られます。</p>
+   */
+  public static final Marker HOT_READ = MarkerFactory.getMarker("HOT_READ");
+
+  private final int sampleRate;
+  private final MeterRegistry registry;
+  private final Map<String, Site> sites = new ConcurrentHashMap<>();
+
+  public LogSampler(@Value("${student.logging.hot-read-sample-rate:1}") int sampleRate,
+      MeterRegistry registry) {
+    this.sampleRate = Math.max(1, sampleRate);
+    this.registry = registry;
+  }
+
+  /**
+   * 呼び出し箇所ごとの件数と間引き件数
+   */
+  private record Site(AtomicLong calls, Counter sampledOut) {
+  }
+
+  /**
+   * 今回の呼び出しでログを出力するか判定
+   *
+   * @param site 呼び出し箇所（「クラス名.メソッド名」形式）
+   * @return 出力する場合はtrue（sample-rateが1の場合は常にtrue）
+   */
+  public boolean sample(String site) {
+    if (sampleRate == 1) {
+      return true;
+    }
+    Site counters = sites.computeIfAbsent(site, this::register);
+    if (counters.calls().getAndIncrement() % sampleRate == 0) {
+      return true;
+    }
+    counters.sampledOut().increment();
+    return false;
+  }
+
+  private Site register(String site) {
+    Counter sampledOut = Counter.builder("logging.events.sampled.out")
+        .description("間引いて出力しなかった参照系ログの件数")
+        .tag("site", site)
+        .register(registry);
+    return new Site(new AtomicLong(), sampledOut);
+  }
+}
@@ -0,0 +1,21 @@
+package raisetech.StudentManagement.logging;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * 非同期Appenderで破棄したログ件数のメトリクス
+ */
+@Component
+public class LoggingMetrics implements MeterBinder {
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    FunctionCounter.builder("logging.events.dropped", CountingAsyncAppender.class,
+            appender -> CountingAsyncAppender.getDroppedCount())
+        .description("非同期Appenderのキューが一杯で破棄したログの件数")
+        .register(registry);
+  }
+}
@@ -0,0 +1,21 @@
+package raisetech.StudentManagement.metrics;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * メトリクス設定
+ *
+ * <p>@Timedを付けたサービス・コントローラーのメソッド実行時間を記録するためのAspectを登録します。</p>
+ * <p>メトリクスは /actuator/prometheus で取得できます。</p>
+ */
+@Configuration
+public class MetricsConfig {
+
+  @Bean
+  public TimedAspect timedAspect(MeterRegistry registry) {
+    return new TimedAspect(registry);
+  }
+}
@@ -0,0 +1,117 @@
+package raisetech.StudentManagement.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.springframework.stereotype.Component;
+
+/**
+ * MyBatisのSQL文ごとのメトリクスを記録するInterceptor
+ *
+ * <p>マップドステートメントID（例: StudentRepository.getActiveStudents）ごとに以下を記録します。</p>
+ * <ul>
+ *   <li>mybatis.statement: 実行時間（パーセンタイル用ヒストグラム付き）</li>
+ *   <li>mybatis.statement.rows: 取得行数（SELECT）または更新行数（INSERT/UPDATE/DELETE）</li>
+ *   <li>mybatis.statement.errors: 例外が発生した回数</li>
+ * </ul>
+ * <p>Cursorで逐次取得するSQLは、Cursorを開くまでの時間のみを記録します。</p>
+ */
+@Component
+@Intercepts({
+    @Signature(type = Executor.class, method = "query",
+        args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+    @Signature(type = Executor.class, method = "query",
+        args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class,
+            CacheKey.class, BoundSql.class}),
+    @Signature(type = Executor.class, method = "queryCursor",
+        args = {MappedStatement.class, Object.class, RowBounds.class}),
+    @Signature(type = Executor.class, method = "update",
+        args = {MappedStatement.class, Object.class})
+})
+public class MyBatisMetricsInterceptor implements Interceptor {
+
+  private final MeterRegistry registry;
+
+  /** ステートメントIDごとのメーター（毎回Builderを組み立てないようにキャッシュする） */
+  private final Map<String, StatementMeters> meters = new ConcurrentHashMap<>();
+
+  public MyBatisMetricsInterceptor(MeterRegistry registry) {
+    this.registry = registry;
+  }
+
+  /**
+   * 1つのステートメントのメーター
+   */
+  private record StatementMeters(Timer timer, DistributionSummary rows, Counter errors) {
+  }
+
+  @Override
+  public Object intercept(Invocation invocation) throws Throwable {
+    MappedStatement statement = (MappedStatement) invocation.getArgs()[0];
+    StatementMeters statementMeters = meters.computeIfAbsent(statement.getId(), this::register);
+
+    long start = System.nanoTime();
+    try {
+      Object result = invocation.proceed();
+      recordRows(statementMeters.rows(), result);
+      return result;
+    } catch (Throwable e) {
+      statementMeters.errors().increment();
+      throw e;
+    } finally {
+      statementMeters.timer().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  private void recordRows(DistributionSummary rows, Object result) {
+    if (result instanceof Collection<?> collection) {
+      rows.record(collection.size());
+    } else if (result instanceof Integer count && count >= 0) {
+      // BATCH実行時は更新行数の代わりに負の固定値が返るため記録しない
+      rows.record(count);
+    }
+    // Cursorは開いた時点では行数が分からないため記録しない
+  }
+
+  private StatementMeters register(String statementId) {
+    String statement = shortName(statementId);
+    Timer timer = Timer.builder("mybatis.statement")
+        .description("MyBatisのSQL文ごとの実行時間")
+        .tag("statement", statement)
+        .publishPercentileHistogram()
+        .register(registry);
+    DistributionSummary rows = DistributionSummary.builder("mybatis.statement.rows")
+        .description("MyBatisのSQL文ごとの取得・更新行数")
+        .tag("statement", statement)
+        .register(registry);
+    Counter errors = Counter.builder("mybatis.statement.errors")
+        .description("MyBatisのSQL文ごとのエラー回数")
+        .tag("statement", statement)
+        .register(registry);
+    return new StatementMeters(timer, rows, errors);
+  }
+
+  /**
+   * パッケージ名を除いたステートメントID（例: StudentRepository.getActiveStudents）
+   */
+  static String shortName(String statementId) {
+    int methodDot = statementId.lastIndexOf('.');
+    int classDot = methodDot > 0 ? statementId.lastIndexOf('.', methodDot - 1) : -1;
+    return classDot >= 0 ? statementId.substring(classDot + 1) : statementId;
+  }
+}
@@ -0,0 +1,48 @@
+package raisetech.StudentManagement.reactive;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.codec.CodecsAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.reactive.HttpHandlerAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.reactive.ReactiveWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.reactive.WebFluxAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.reactive.error.ErrorWebFluxAutoConfiguration;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+/**
+ * 参照APIのコンテキストの設定（{@link ReactiveReadServer}が本体とは別に起動する）
+ *
+ * <p>本体のコンポーネントスキャンで読み込まれないよう、@Configurationは付けません。</p>
+ * <p>WebFluxに必要な自動設定だけを読み込み、ハンドラーとObjectMapperは本体から登録されたものを使います。</p>
+ */
+@ImportAutoConfiguration({
+    ReactiveWebServerFactoryAutoConfiguration.class,
+    HttpHandlerAutoConfiguration.class,
+    WebFluxAutoConfiguration.class,
+    CodecsAutoConfiguration.class,
+    ErrorWebFluxAutoConfiguration.class})
+class ReactiveReadConfiguration {
+
+  /**
+   * Netty（Tomcatもクラスパスにあるため明示しないとTomcatで起動する）
+   */
+  @Bean
+  NettyReactiveWebServerFactory reactiveWebServerFactory() {
+    return new NettyReactiveWebServerFactory();
+  }
+
+  @Bean
+  RouterFunction<ServerResponse> reactiveStudentRoutes(ReactiveStudentHandler handler) {
+    return RouterFunctions.route()
+        .path("/api", builder -> builder
+            .route(GET("/students"), handler::getStudents)
+            .route(GET("/students/{id}"), handler::getStudent)
+            .route(GET("/courses"), handler::getCourses))
+        .build();
+  }
+}
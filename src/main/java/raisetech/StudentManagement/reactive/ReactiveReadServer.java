@@ -0,0 +1,166 @@
+package raisetech.StudentManagement.reactive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.Banner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.reactive.context.ReactiveWebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import raisetech.StudentManagement.cache.DataVersion;
+import raisetech.StudentManagement.controller.converter.StudentConverter;
+import raisetech.StudentManagement.logging.LogSampler;
+import raisetech.StudentManagement.writebehind.EnrollmentStatusWriteBehind;
+
+/**
+ * 参照API（WebFlux + R2DBC）を別ポートで起動する
+ *
+ * <p>本体はサーブレット（MVC + JDBC）のまま動かし、student.reactive.enabled=true の場合のみ
+ * 本体の起動完了後にWebFluxのコンテキスト（Netty）を別に起動します。</p>
+ * <p>このコンテキストは本体の子にはせず、必要なBean（ハンドラー・ObjectMapper）だけを登録します。
+ * 親子にすると起動イベントが本体にも伝わり、スナップショット等の初期化が再実行されるためです。
+ * 設定ファイルの読み込みとロギングの初期化も本体で済んでいるため、リスナーは登録しません。</p>
+ * <p>更新系はこれまでどおりMVCのAPIを使います。キャッシュ・スナップショットは経由せずDBから直接読み込み、
+ * 書き込み待ちの申込状況はMVCと同じく重ねて返します。</p>
+ */
+@Component
+public class ReactiveReadServer {
+
+  private static final Logger logger = LoggerFactory.getLogger(ReactiveReadServer.class);
+
+  private final ApplicationContext applicationContext;
+  private final StudentConverter converter;
+  private final DataVersion dataVersion;
+  private final LogSampler logSampler;
+  private final EnrollmentStatusWriteBehind statusWriteBehind;
+  private final ObjectMapper objectMapper;
+  private final boolean enabled;
+  private final int port;
+  private final String url;
+  private final String username;
+  private final String password;
+  private final int poolMaxSize;
+  private final int pageSize;
+
+  private ConnectionPool connectionPool;
+  private volatile ConfigurableApplicationContext reactiveContext;
+
+  public ReactiveReadServer(ApplicationContext applicationContext, StudentConverter converter,
+      DataVersion dataVersion, LogSampler logSampler,
+      EnrollmentStatusWriteBehind statusWriteBehind, ObjectMapper objectMapper,
+      @Value("${student.reactive.enabled:false}") boolean enabled,
+      @Value("${student.reactive.port:8081}") int port,
+      @Value("${student.reactive.r2dbc.url:}") String url,
+      @Value("${student.reactive.r2dbc.username:${spring.datasource.username:}}") String username,
+      @Value("${student.reactive.r2dbc.password:${spring.datasource.password:}}") String password,
+      @Value("${student.reactive.r2dbc.pool.max-size:10}") int poolMaxSize,
+      @Value("${student.reactive.page-size:200}") int pageSize) {
+    this.applicationContext = applicationContext;
+    this.converter = converter;
+    this.dataVersion = dataVersion;
+    this.logSampler = logSampler;
+    this.statusWriteBehind = statusWriteBehind;
+    this.objectMapper = objectMapper;
+    this.enabled = enabled;
+    this.port = port;
+    this.url = url;
+    this.username = username;
+    this.password = password;
+    this.poolMaxSize = poolMaxSize;
+    this.pageSize = pageSize;
+  }
+
+  /**
+   * 本体の起動完了後に参照APIを起動
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public synchronized void start(ApplicationReadyEvent event) {
+    if (!enabled || reactiveContext != null
+        || event.getApplicationContext() != applicationContext) {
+      return;
+    }
+    if (url.isBlank()) {
+      throw new IllegalStateException("student.reactive.r2dbc.url が指定されていません");
+    }
+
+    try {
+      connectionPool = createConnectionPool();
+      ReactiveStudentHandler handler = new ReactiveStudentHandler(
+          new ReactiveStudentRepository(DatabaseClient.create(connectionPool), pageSize),
+          converter, dataVersion, logSampler, statusWriteBehind);
+
+      SpringApplication application = new SpringApplication(ReactiveReadConfiguration.class);
+      application.setWebApplicationType(WebApplicationType.REACTIVE);
+      application.setBannerMode(Banner.Mode.OFF);
+      application.setLogStartupInfo(false);
+      application.setRegisterShutdownHook(false);
+      application.setListeners(List.of());
+      application.addInitializers(context -> {
+        ConfigurableListableBeanFactory beanFactory = context.getBeanFactory();
+        beanFactory.registerSingleton("reactiveStudentHandler", handler);
+        beanFactory.registerSingleton("objectMapper", objectMapper);
+      });
+      reactiveContext = application.run("--server.port=" + port);
+      logger.info("参照API(WebFlux)を起動しました: port={}", getPort());
+    } catch (RuntimeException e) {
+      logger.error("参照API(WebFlux)の起動に失敗しました", e);
+      stop();
+      throw e;
+    }
+  }
+
+  /**
+   * 参照APIの待ち受けポート（起動していない場合は-1）
+   */
+  public int getPort() {
+    ConfigurableApplicationContext context = reactiveContext;
+    if (context instanceof ReactiveWebServerApplicationContext webContext
+        && webContext.getWebServer() != null) {
+      return webContext.getWebServer().getPort();
+    }
+    return -1;
+  }
+
+  /**
+   * 本体の停止時に参照APIとコネクションプールを停止
+   */
+  @PreDestroy
+  public synchronized void stop() {
+    if (reactiveContext != null) {
+      reactiveContext.close();
+      reactiveContext = null;
+    }
+    if (connectionPool != null) {
+      connectionPool.dispose();
+      connectionPool = null;
+    }
+  }
+
+  private ConnectionPool createConnectionPool() {
+    ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+        .option(ConnectionFactoryOptions.USER, username)
+        .option(ConnectionFactoryOptions.PASSWORD, password)
+        .build();
+    return new ConnectionPool(ConnectionPoolConfiguration
+        .builder(ConnectionFactories.get(options))
+        .maxSize(poolMaxSize)
+        .initialSize(Math.min(poolMaxSize, 2))
+        .maxIdleTime(Duration.ofMinutes(30))
+        .build());
+  }
+}
@@ -0,0 +1,136 @@
+package raisetech.StudentManagement.reactive;
+
+import static raisetech.StudentManagement.logging.LogSampler.HOT_READ;
+
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import raisetech.StudentManagement.cache.DataVersion;
+import raisetech.StudentManagement.controller.converter.StudentConverter;
+import raisetech.StudentManagement.controller.handler.GlobalExceptionHandler.GlobalErrorResponse;
+import raisetech.StudentManagement.data.StudentCourse;
+import raisetech.StudentManagement.domain.StudentDetail;
+import raisetech.StudentManagement.logging.LogSampler;
+import raisetech.StudentManagement.writebehind.EnrollmentStatusWriteBehind;
+import reactor.core.publisher.Mono;
+
+/**
+ * 参照API（WebFlux）のハンドラー
+ *
+ * <p>StudentControllerの参照系（/api/students, /api/courses, /api/students/{id}）に対応します。</p>
+ * <ul>
+ *   <li>/api/students: 有効な学生詳細をNDJSONで1件ずつ返す（ページ分割せず、afterで続きから取得できる）</li>
+ *   <li>/api/courses: 全コースをJSON配列で返す</li>
+ *   <li>/api/students/{id}: 学生情報と主コースをフォーム形式で返す</li>
+ * </ul>
+ * <p>一覧はクライアントの受信速度に合わせてページ単位でDBから読み込んで流すため、
+ * 受信の遅いクライアントがいてもスレッドやDB接続を占有しません。</p>
+ * <p>一覧はMVCと同じくデータのバージョンをETagとして返し、If-None-Matchが一致する場合は304を返します。</p>
+ * <p>書き込み待ちの申込状況は、MVCと同じくDBから読み込んだ行に重ねて返します。</p>
+ */
+class ReactiveStudentHandler {
+
+  private static final Logger logger = LoggerFactory.getLogger(ReactiveStudentHandler.class);
+
+  private final ReactiveStudentRepository repository;
+  private final StudentConverter converter;
+  private final DataVersion dataVersion;
+  private final LogSampler logSampler;
+  private final EnrollmentStatusWriteBehind statusWriteBehind;
+
+  ReactiveStudentHandler(ReactiveStudentRepository repository, StudentConverter converter,
+      DataVersion dataVersion, LogSampler logSampler,
+      EnrollmentStatusWriteBehind statusWriteBehind) {
+    this.repository = repository;
+    this.converter = converter;
+    this.dataVersion = dataVersion;
+    this.logSampler = logSampler;
+    this.statusWriteBehind = statusWriteBehind;
+  }
+
+  /**
+   * 学生一覧（NDJSON）
+   */
+  Mono<ServerResponse> getStudents(ServerRequest request) {
+    Integer after;
+    try {
+      after = request.queryParam("after").map(Integer::valueOf).orElse(null);
+    } catch (NumberFormatException e) {
+      return badRequest("afterは数字で指定してください");
+    }
+
+    String etag = dataVersion.etag();
+    return request.checkNotModified(etag).switchIfEmpty(Mono.defer(() -> {
+      if (logSampler.sample("ReactiveStudentHandler.getStudents")) {
+        logger.info(HOT_READ, "参照API: 学生一覧取得: after={}", after);
+      }
+      return ServerResponse.ok()
+          .eTag(etag)
+          .cacheControl(CacheControl.noCache())
+          .contentType(MediaType.APPLICATION_NDJSON)
+          .body(repository.streamActiveStudentDetails(after)
+              .map(statusWriteBehind::overlay)
+              .doOnError(e -> logger.error("参照API: 学生一覧の出力中にエラーが発生", e)),
+              StudentDetail.class);
+    }));
+  }
+
+  /**
+   * コース一覧（JSON配列）
+   */
+  Mono<ServerResponse> getCourses(ServerRequest request) {
+    String etag = dataVersion.etag();
+    return request.checkNotModified(etag).switchIfEmpty(Mono.defer(() -> {
+      if (logSampler.sample("ReactiveStudentHandler.getCourses")) {
+        logger.info(HOT_READ, "参照API: コース一覧取得");
+      }
+      return ServerResponse.ok()
+          .eTag(etag)
+          .cacheControl(CacheControl.noCache())
+          .contentType(MediaType.APPLICATION_JSON)
+          .body(repository.getAllCourses().map(statusWriteBehind::overlayCourse),
+              StudentCourse.class);
+    }));
+  }
+
+  /**
+   * 学生詳細（学生情報と主コース）
+   */
+  Mono<ServerResponse> getStudent(ServerRequest request) {
+    int id;
+    try {
+      id = Integer.parseInt(request.pathVariable("id"));
+    } catch (NumberFormatException e) {
+      return badRequest("idは数字で指定してください");
+    }
+
+    if (logSampler.sample("ReactiveStudentHandler.getStudent")) {
+      logger.info(HOT_READ, "参照API: 学生詳細取得: ID={}", id);
+    }
+    return repository.getStudentById(id)
+        .flatMap(student -> repository.getCoursesByStudentId(id).collectList()
+            .map(courses -> converter.toForm(student,
+                primaryCourse(statusWriteBehind.overlayCourses(courses)))))
+        .flatMap(form -> ServerResponse.ok().bodyValue(form))
+        .switchIfEmpty(Mono.defer(() -> {
+          logger.warn("参照API: 学生が見つかりません: ID={}", id);
+          return ServerResponse.status(HttpStatus.NOT_FOUND).bodyValue(new GlobalErrorResponse(
+              "error", "リソースが見つかりません", "学生が見つかりません: ID=" + id,
+              "ResourceNotFoundException"));
+        }));
+  }
+
+  private static StudentCourse primaryCourse(List<StudentCourse> courses) {
+    return courses.isEmpty() ? null : courses.get(0);
+  }
+
+  private static Mono<ServerResponse> badRequest(String detail) {
+    return ServerResponse.badRequest().bodyValue(new GlobalErrorResponse(
+        "error", "入力形式が正しくありません", detail, "NumberFormatException"));
+  }
+}
@@ -0,0 +1,224 @@
+package raisetech.StudentManagement.reactive;
+
+import io.r2dbc.spi.Readable;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.r2dbc.core.DatabaseClient;
+import raisetech.StudentManagement.data.EnrollmentStatus;
+import raisetech.StudentManagement.data.EnrollmentStatusCode;
+import raisetech.StudentManagement.data.Student;
+import raisetech.StudentManagement.data.StudentCourse;
+import raisetech.StudentManagement.domain.StudentDetail;
+import raisetech.StudentManagement.repository.typehandler.StringInterner;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 参照API用のR2DBCリポジトリ（StudentRepository.xmlの参照系SQLと同じ条件・順序）
+ *
+ * <p>学生一覧は学生ID順のページ（キーセット方式）に分けて読み込みます。1ページを読み終えた時点で
+ * 接続をプールに返すため、受信の遅いクライアントがいても接続を保持し続けることはありません。</p>
+ * <p>地域・性別・コース名はStringInternerで共有インスタンスにまとめます（MyBatis側のTypeHandlerと同じ）。</p>
+ */
+public class ReactiveStudentRepository {
+
+  /** streamActiveStudentDetailsと同じ結合（afterIdより後の学生をlimit人分） */
+  static final String ACTIVE_STUDENT_DETAILS_PAGE = """
+      SELECT
+      s.id AS student_id, s.name AS name, s.kanaName AS kanaName, s.nickname AS nickname,
+      s.email AS email, s.area AS area, s.age AS age, s.sex AS sex, s.remark AS remark,
+      s.deleted AS deleted, s.name AS student_name,
+      sc.id AS course_id, sc.course_name AS course_name,
+      sc.course_start_at AS course_start_at, sc.course_end_at AS course_end_at,
+      es.id AS enrollment_status_id, es.status_code AS enrollment_status
+      FROM (
+        SELECT * FROM students
+        WHERE deleted = 0
+        AND id > :afterId
+        ORDER BY id
+        LIMIT :limit
+      ) s
+      LEFT JOIN students_courses sc ON s.id = sc.student_id
+      LEFT JOIN enrollment_status es ON sc.id = es.course_id
+      ORDER BY s.id, sc.id
+      """;
+
+  /** getAllCoursesと同じ */
+  static final String ALL_COURSES = """
+      SELECT
+      sc.id AS course_id, sc.student_id AS student_id, sc.course_name AS course_name,
+      sc.course_start_at AS course_start_at, sc.course_end_at AS course_end_at,
+      s.name AS student_name,
+      es.id AS enrollment_status_id, es.status_code AS enrollment_status
+      FROM students_courses sc
+      LEFT JOIN students s ON sc.student_id = s.id
+      LEFT JOIN enrollment_status es ON sc.id = es.course_id
+      ORDER BY sc.student_id, sc.id
+      """;
+
+  /** getStudentByIdと同じ */
+  static final String STUDENT_BY_ID = """
+      SELECT id AS student_id, name, kanaName, nickname, email, area, age, sex, remark, deleted
+      FROM students
+      WHERE id = :id
+      AND deleted = 0
+      """;
+
+  /** getCoursesByStudentIdと同じ */
+  static final String COURSES_BY_STUDENT_ID = """
+      SELECT
+      sc.id AS course_id, sc.student_id AS student_id, sc.course_name AS course_name,
+      sc.course_start_at AS course_start_at, sc.course_end_at AS course_end_at,
+      NULL AS student_name,
+      es.id AS enrollment_status_id, es.status_code AS enrollment_status
+      FROM students_courses sc
+      LEFT JOIN enrollment_status es ON sc.id = es.course_id
+      WHERE sc.student_id = :studentId
+      ORDER BY sc.id
+      """;
+
+  private final DatabaseClient client;
+
+  /** 学生一覧の1ページの学生数 */
+  private final int pageSize;
+
+  public ReactiveStudentRepository(DatabaseClient client, int pageSize) {
+    if (pageSize < 1) {
+      throw new IllegalArgumentException("ページの学生数は1以上を指定してください: " + pageSize);
+    }
+    this.client = client;
+    this.pageSize = pageSize;
+  }
+
+  /**
+   * 有効な学生を学生詳細として学生ID順に1件ずつ取得
+   *
+   * <p>ページごとに読み込み、前のページの最後の学生IDから次のページを読み込みます。
+   * 読み込むのは出力中のページと次の1ページまでで、それ以上は購読側の要求を待ちます。</p>
+   *
+   * @param afterId この学生IDより後の学生のみ（nullの場合は先頭から）
+   * @return 学生詳細のFlux
+   */
+  public Flux<StudentDetail> streamActiveStudentDetails(Integer afterId) {
+    return fetchActiveStudentDetailsPage(afterId != null ? afterId : 0)
+        .expand(page -> page.size() < pageSize
+            ? Mono.empty()
+            : fetchActiveStudentDetailsPage(page.get(page.size() - 1).getStudent().getId()))
+        .concatMapIterable(page -> page, 1);
+  }
+
+  /**
+   * afterIdより後の学生をpageSize人分読み込む（読み終えると接続を返す）
+   */
+  private Mono<List<StudentDetail>> fetchActiveStudentDetailsPage(int afterId) {
+    return client.sql(ACTIVE_STUDENT_DETAILS_PAGE)
+        .bind("afterId", afterId)
+        .bind("limit", pageSize)
+        .map(row -> new DetailRow(toStudent(row), toCourseOrNull(row)))
+        .all()
+        .bufferUntilChanged(detailRow -> detailRow.student().getId())
+        .map(ReactiveStudentRepository::toDetail)
+        .collectList();
+  }
+
+  /**
+   * 全コース情報を取得（受講生名を含む）
+   */
+  public Flux<StudentCourse> getAllCourses() {
+    return client.sql(ALL_COURSES)
+        .map(ReactiveStudentRepository::toCourse)
+        .all();
+  }
+
+  /**
+   * 学生IDで学生情報を取得（削除済みは除外）
+   *
+   * @return 学生情報、存在しない場合は空
+   */
+  public Mono<Student> getStudentById(int id) {
+    return client.sql(STUDENT_BY_ID)
+        .bind("id", id)
+        .map(ReactiveStudentRepository::toStudent)
+        .one();
+  }
+
+  /**
+   * 特定学生のコース情報を取得
+   */
+  public Flux<StudentCourse> getCoursesByStudentId(int studentId) {
+    return client.sql(COURSES_BY_STUDENT_ID)
+        .bind("studentId", studentId)
+        .map(ReactiveStudentRepository::toCourse)
+        .all();
+  }
+
+  /**
+   * 結合結果の1行（学生と、コースを持たない学生の場合はnullのコース）
+   */
+  private record DetailRow(Student student, StudentCourse course) {
+  }
+
+  private static StudentDetail toDetail(List<DetailRow> rows) {
+    StudentDetail detail = new StudentDetail();
+    detail.setStudent(rows.get(0).student());
+    List<StudentCourse> courses = new ArrayList<>(rows.size());
+    for (DetailRow row : rows) {
+      if (row.course() != null) {
+        courses.add(row.course());
+      }
+    }
+    detail.setStudentCourse(courses);
+    return detail;
+  }
+
+  private static Student toStudent(Readable row) {
+    Student student = new Student();
+    student.setId(intOrNull(row, "student_id"));
+    student.setName(row.get("name", String.class));
+    student.setKanaName(row.get("kanaName", String.class));
+    student.setNickname(row.get("nickname", String.class));
+    student.setEmail(row.get("email", String.class));
+    student.setArea(StringInterner.SHARED.intern(row.get("area", String.class)));
+    student.setAge(intOrNull(row, "age"));
+    student.setSex(StringInterner.SHARED.intern(row.get("sex", String.class)));
+    student.setRemark(row.get("remark", String.class));
+    Integer deleted = intOrNull(row, "deleted");
+    student.setDeleted(deleted != null ? deleted != 0 : null);
+    return student;
+  }
+
+  private static StudentCourse toCourseOrNull(Readable row) {
+    return intOrNull(row, "course_id") == null ? null : toCourse(row);
+  }
+
+  private static StudentCourse toCourse(Readable row) {
+    StudentCourse course = new StudentCourse();
+    course.setId(intOrNull(row, "course_id"));
+    Integer studentId = intOrNull(row, "student_id");
+    course.setStudentId(studentId != null ? studentId : 0);
+    course.setStudentName(row.get("student_name", String.class));
+    course.setCourseName(StringInterner.SHARED.intern(row.get("course_name", String.class)));
+    course.setCourseStartAt(row.get("course_start_at", LocalDate.class));
+    course.setCourseEndAt(row.get("course_end_at", LocalDate.class));
+
+    Integer statusId = intOrNull(row, "enrollment_status_id");
+    if (statusId != null) {
+      EnrollmentStatus status = new EnrollmentStatus();
+      status.setId(statusId);
+      status.setCourseId(course.getId());
+      Integer code = intOrNull(row, "enrollment_status");
+      status.setStatus(code != null ? EnrollmentStatusCode.fromCode(code) : null);
+      course.setEnrollmentStatus(status);
+    }
+    return course;
+  }
+
+  /**
+   * 整数列を取得（TINYINTはドライバによってByte・Shortで返るため、型を指定せずに取得して変換する）
+   */
+  private static Integer intOrNull(Readable row, String name) {
+    Object value = row.get(name);
+    return value instanceof Number number ? number.intValue() : null;
+  }
+}
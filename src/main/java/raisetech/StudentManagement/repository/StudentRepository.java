@@ -3,9 +3,14 @@ package raisetech.StudentManagement.repository;
 import java.util.List;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
 import raisetech.StudentManagement.data.EnrollmentStatus;
+import raisetech.StudentManagement.data.EnrollmentStatusCode;
+import raisetech.StudentManagement.data.NameCount;
+import raisetech.StudentManagement.data.StatusCount;
 import raisetech.StudentManagement.data.Student;
 import raisetech.StudentManagement.data.StudentCourse;
+import raisetech.StudentManagement.domain.StudentDetail;
 
 /**
  * 学生データベース操作リポジトリ
@@ -17,12 +22,40 @@ import raisetech.StudentManagement.data.StudentCourse;
 public interface StudentRepository {
 
   /**
-   * 有効な学生一覧を取得(deleted=0またはNULLの学生のみ)
+   * 有効な学生一覧を取得(deleted=0の学生のみ)
    *
    * @return 有効な学生のリスト
    */
   List<Student> getActiveStudents();
 
+  /**
+   * 有効な学生の件数を取得
+   *
+   * @return 有効な学生の件数
+   */
+  int countActiveStudents();
+
+  /**
+   * 有効な学生の地域別件数を取得（統計の照合用）
+   *
+   * @return 地域ごとの学生数
+   */
+  List<NameCount> countActiveStudentsByArea();
+
+  /**
+   * 有効な学生のコース名別件数を取得（統計の照合用）
+   *
+   * @return コース名ごとの受講数
+   */
+  List<NameCount> countActiveCoursesByName();
+
+  /**
+   * 有効な学生の申込状況別件数を取得（統計の照合用）
+   *
+   * @return 申込状況のコードごとのコース数
+   */
+  List<StatusCount> countActiveCoursesByStatus();
+
   /**
    * 学生IDで学生情報を取得(論理削除済みは除外)
    *
@@ -43,6 +76,38 @@ public interface StudentRepository {
    */
   List<StudentCourse> getCoursesByStudentId(int studentId);
 
+  /**
+   * 複数学生のコース情報を取得（検索結果の結合用）
+   *
+   * <p>IN句の件数が大きくなりすぎないよう、呼び出し側で分割して使用します。</p>
+   *
+   * @param studentIds 学生IDのリスト（空リストは不可）
+   * @return コース情報のリスト（学生ID、コースID順）
+   */
+  List<StudentCourse> getCoursesByStudentIds(@Param("studentIds") List<Integer> studentIds);
+
+  /**
+   * 有効な学生を学生詳細（コース・申込状況付き）としてID順にキーセット方式で取得
+   *
+   * <p>学生・コース・申込状況を1回のクエリで取得し、学生ごとにまとめて返します。</p>
+   *
+   * @param afterId このIDより大きい学生を取得（nullの場合は先頭から）
+   * @param limit   取得する学生の件数
+   * @return 学生詳細のリスト（学生ID昇順）
+   */
+  List<StudentDetail> getActiveStudentDetailsPage(@Param("afterId") Integer afterId,
+      @Param("limit") int limit);
+
+  /**
+   * 有効な学生を学生詳細（コース・申込状況付き）として逐次取得
+   *
+   * <p>Cursorは呼び出し元のトランザクション内でのみ読み出せます。</p>
+   * <p>全件をメモリに載せないため、件数に関わらずメモリ使用量は一定です。</p>
+   *
+   * @return 学生ID順の学生詳細カーソル（使用後はcloseすること）
+   */
+  Cursor<StudentDetail> streamActiveStudentDetails();
+
   /**
    * 学生情報を登録
    * SQLはStudentRepository.xmlに定義
@@ -67,6 +132,26 @@ public interface StudentRepository {
    */
   int updateCourse(StudentCourse course);
 
+  /**
+   * 学生情報を部分更新（nullでない項目の列だけを更新）
+   *
+   * <p>更新する項目が1つもない場合は呼び出さないこと（SET句が空になるため）。</p>
+   *
+   * @param student 学生IDと変更する項目のみを設定した学生情報
+   * @return 更新件数
+   */
+  int patchStudent(Student student);
+
+  /**
+   * コース情報を部分更新（nullでない項目の列だけを更新）
+   *
+   * <p>更新する項目が1つもない場合は呼び出さないこと（SET句が空になるため）。</p>
+   *
+   * @param course コースIDと変更する項目のみを設定したコース情報
+   * @return 更新件数
+   */
+  int patchCourse(StudentCourse course);
+
   /**
    * 学生を論理削除
    * SQLはStudentRepository.xmlに定義
@@ -83,6 +168,14 @@ public interface StudentRepository {
    */
   int updateEnrollmentStatus(EnrollmentStatus status);
 
+  /**
+   * 複数コースの申込状況を1文のUPDATEでまとめて更新
+   *
+   * @param statuses コースIDと申込状況（コースIDは重複しないこと）
+   * @return 更新件数
+   */
+  int updateEnrollmentStatuses(@Param("statuses") List<EnrollmentStatus> statuses);
+
   /**
    * コースIDで申込状況を取得
    */
@@ -90,16 +183,35 @@ public interface StudentRepository {
 
   /**
    * 検索条件に基づいて学生を検索
-   * @param name 名前（部分一致）
+   *
+   * <p>名前・地域はLIKE '%x%'による全件走査となるため、検索インデックスの構築前のみ使用します。</p>
+   *
+   * @param name 名前（名前・カナ名・ニックネームのいずれかに部分一致）
    * @param area 地域（部分一致）
    * @param courseName コース名（完全一致）
-   * @param enrollmentStatus 申込状況（完全一致）
+   * @param enrollmentStatus 申込状況（nullの場合は条件なし）
    * @return 検索結果の学生リスト
    */
   List<Student> searchStudents(
       @Param("name") String name,
       @Param("area") String area,
       @Param("courseName") String courseName,
-      @Param("enrollmentStatus") String enrollmentStatus
+      @Param("enrollmentStatus") EnrollmentStatusCode enrollmentStatus
+  );
+
+  /**
+   * 学生IDを指定して学生を検索（検索インデックスで求めた候補の取得用）
+   *
+   * <p>IN句の件数が大きくなりすぎないよう、呼び出し側で分割して使用します。</p>
+   *
+   * @param ids              学生IDのリスト（空リストは不可）
+   * @param courseName       コース名（完全一致）
+   * @param enrollmentStatus 申込状況（nullの場合は条件なし）
+   * @return 検索結果の学生リスト（学生ID昇順）
+   */
+  List<Student> searchStudentsByIds(
+      @Param("ids") List<Integer> ids,
+      @Param("courseName") String courseName,
+      @Param("enrollmentStatus") EnrollmentStatusCode enrollmentStatus
   );
-}
\ No newline at end of file
+}
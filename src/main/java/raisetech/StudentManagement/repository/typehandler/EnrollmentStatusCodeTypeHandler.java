@@ -0,0 +1,46 @@
+package raisetech.StudentManagement.repository.typehandler;
+
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import org.apache.ibatis.type.BaseTypeHandler;
+import org.apache.ibatis.type.JdbcType;
+import raisetech.StudentManagement.data.EnrollmentStatusCode;
+
+/**
+ * 申込状況をTINYINTのコードで保存・取得するTypeHandler
+ *
+ * <p>MyBatis標準のEnumTypeHandlerは列挙子の名前を文字列で保存するため、
+ * status_code の入出力には typeHandler 属性でこのクラスを指定します。</p>
+ */
+public class EnrollmentStatusCodeTypeHandler extends BaseTypeHandler<EnrollmentStatusCode> {
+
+  @Override
+  public void setNonNullParameter(PreparedStatement ps, int i, EnrollmentStatusCode parameter,
+      JdbcType jdbcType) throws SQLException {
+    ps.setByte(i, parameter.getCode());
+  }
+
+  @Override
+  public EnrollmentStatusCode getNullableResult(ResultSet rs, String columnName)
+      throws SQLException {
+    return toStatus(rs.getInt(columnName), rs.wasNull());
+  }
+
+  @Override
+  public EnrollmentStatusCode getNullableResult(ResultSet rs, int columnIndex)
+      throws SQLException {
+    return toStatus(rs.getInt(columnIndex), rs.wasNull());
+  }
+
+  @Override
+  public EnrollmentStatusCode getNullableResult(CallableStatement cs, int columnIndex)
+      throws SQLException {
+    return toStatus(cs.getInt(columnIndex), cs.wasNull());
+  }
+
+  private static EnrollmentStatusCode toStatus(int code, boolean wasNull) {
+    return wasNull ? null : EnrollmentStatusCode.fromCode(code);
+  }
+}
@@ -0,0 +1,39 @@
+package raisetech.StudentManagement.repository.typehandler;
+
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import org.apache.ibatis.type.BaseTypeHandler;
+import org.apache.ibatis.type.JdbcType;
+
+/**
+ * 取得した文字列を{@link StringInterner#SHARED}で共有インスタンスにまとめるTypeHandler
+ *
+ * <p>種類の少ない列（コース名・地域・性別）のresultにだけ typeHandler 属性で指定します。</p>
+ * <p>一覧の行数が多くても、同じ値の行は1つのStringを参照するため保持するメモリが減ります。</p>
+ * <p>パラメータの設定は通常のStringと同じです。</p>
+ */
+public class InterningStringTypeHandler extends BaseTypeHandler<String> {
+
+  @Override
+  public void setNonNullParameter(PreparedStatement ps, int i, String parameter,
+      JdbcType jdbcType) throws SQLException {
+    ps.setString(i, parameter);
+  }
+
+  @Override
+  public String getNullableResult(ResultSet rs, String columnName) throws SQLException {
+    return StringInterner.SHARED.intern(rs.getString(columnName));
+  }
+
+  @Override
+  public String getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
+    return StringInterner.SHARED.intern(rs.getString(columnIndex));
+  }
+
+  @Override
+  public String getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
+    return StringInterner.SHARED.intern(cs.getString(columnIndex));
+  }
+}
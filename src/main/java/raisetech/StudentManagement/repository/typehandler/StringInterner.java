@@ -0,0 +1,61 @@
+package raisetech.StudentManagement.repository.typehandler;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 種類の少ない文字列を同じインスタンスにまとめる辞書（上限付き・スレッドセーフ）
+ *
+ * <p>コース名・地域・性別のように値の種類が少ない列は、
+ * 行ごとに新しいStringを持つ代わりに辞書の同じインスタンスを共有させます。</p>
+ * <p>登録数が上限に達した後の新しい値は登録せずにそのまま返すため、
+ * 想定外に種類の多い値が来てもメモリ使用量は上限を超えません。</p>
+ * <p>String.intern()と違いJVM全体の文字列表を使わないため、上限と件数を管理できます。</p>
+ */
+public final class StringInterner {
+
+  /** 辞書に登録する値の上限（列ごとの種類数の合計より十分大きい値） */
+  public static final int DEFAULT_MAX_ENTRIES = 10_000;
+
+  /** TypeHandlerから共有する辞書（TypeHandlerはMyBatisが生成するためSpringの管理外） */
+  public static final StringInterner SHARED = new StringInterner(DEFAULT_MAX_ENTRIES);
+
+  private final int maxEntries;
+
+  private final ConcurrentHashMap<String, String> entries = new ConcurrentHashMap<>();
+
+  public StringInterner(int maxEntries) {
+    if (maxEntries < 0) {
+      throw new IllegalArgumentException("辞書の上限は0以上を指定してください");
+    }
+    this.maxEntries = maxEntries;
+  }
+
+  /**
+   * 等しい値の共有インスタンスを返す
+   *
+   * @param value 文字列（nullはそのまま返す）
+   * @return 辞書に登録済みのインスタンス、上限に達していて未登録の場合は引数のインスタンス
+   */
+  public String intern(String value) {
+    if (value == null) {
+      return null;
+    }
+    String canonical = entries.get(value);
+    if (canonical != null) {
+      return canonical;
+    }
+    // 上限は概算（同時に登録した分だけ超えることがある）
+    if (entries.size() >= maxEntries) {
+      return value;
+    }
+    canonical = entries.putIfAbsent(value, value);
+    return canonical != null ? canonical : value;
+  }
+
+  /**
+   * 登録済みの値の件数
+   */
+  public int size() {
+    return entries.size();
+  }
+}
@@ -0,0 +1,43 @@
+package raisetech.StudentManagement.response;
+
+import java.util.List;
+import raisetech.StudentManagement.domain.BatchItemResult;
+import raisetech.StudentManagement.domain.BatchItemResult.Status;
+
+/**
+ * 学生一括登録APIのレスポンスDTO
+ *
+ * <p>requestedは受け付けた件数、registeredは登録できた件数です。</p>
+ * <p>resultsにはリクエストの並び順で1件ごとの結果が入ります。</p>
+ */
+public class BatchRegisterResponse {
+
+  private String status;
+  private int requested;
+  private int registered;
+  private List<BatchItemResult> results;
+
+  public BatchRegisterResponse(String status, List<BatchItemResult> results) {
+    this.status = status;
+    this.requested = results.size();
+    this.registered = (int) results.stream().filter(r -> r.getStatus() == Status.REGISTERED).count();
+    this.results = results;
+  }
+
+  // Getter methods
+  public String getStatus() {
+    return status;
+  }
+
+  public int getRequested() {
+    return requested;
+  }
+
+  public int getRegistered() {
+    return registered;
+  }
+
+  public List<BatchItemResult> getResults() {
+    return results;
+  }
+}
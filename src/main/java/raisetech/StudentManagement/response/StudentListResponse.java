@@ -7,17 +7,25 @@ import raisetech.StudentManagement.domain.StudentDetail;
  * 学生一覧取得APIのレスポンスDTO
  *
  * <p>REST APIのレスポンス形式を統一し、API設計を明確にします。</p>
+ * <p>countは有効な学生の総件数、studentsは取得したページ分の学生です。</p>
  */
 public class StudentListResponse {
 
   private String status;
   private int count;
   private List<StudentDetail> students;
+  private Integer nextCursor;
 
   public StudentListResponse(String status, int count, List<StudentDetail> students) {
+    this(status, count, students, null);
+  }
+
+  public StudentListResponse(String status, int count, List<StudentDetail> students,
+      Integer nextCursor) {
     this.status = status;
     this.count = count;
     this.students = students;
+    this.nextCursor = nextCursor;
   }
 
   // Getter methods
@@ -32,4 +40,12 @@ public class StudentListResponse {
   public List<StudentDetail> getStudents() {
     return students;
   }
-}
\ No newline at end of file
+
+  public Integer getNextCursor() {
+    return nextCursor;
+  }
+
+  public boolean isHasNext() {
+    return nextCursor != null;
+  }
+}
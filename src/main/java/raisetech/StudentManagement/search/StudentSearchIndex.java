@@ -0,0 +1,297 @@
+package raisetech.StudentManagement.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import raisetech.StudentManagement.data.Student;
+import raisetech.StudentManagement.event.StudentChangedEvent;
+import raisetech.StudentManagement.event.StudentChangedEvent.ChangeType;
+import raisetech.StudentManagement.repository.StudentRepository;
+
+/**
+ * 名前・地域の部分一致検索用のN-gram転置インデックス（アプリ内）
+ *
+ * <p>LIKE '%x%' はDBのインデックスが効かず全件走査になるため、
+ * 有効な学生の名前・カナ名・ニックネーム・地域を1文字と2文字のN-gramで索引化し、
+ * 部分一致の候補IDをメモリ上で求めます。</p>
+ * <p>N-gramの積集合は候補の絞り込みにすぎないため、最後に文字列の包含を確認して正確な結果を返します。</p>
+ * <p>起動完了時に全件から構築し、以降はコミット後の変更イベントで差分を反映します。</p>
+ */
+@Component
+public class StudentSearchIndex {
+
+  private static final Logger logger = LoggerFactory.getLogger(StudentSearchIndex.class);
+
+  private final StudentRepository repository;
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  /** 名前・カナ名・ニックネームのN-gram → 学生ID */
+  private final Map<String, Set<Integer>> nameGrams = new HashMap<>();
+
+  /** 地域のN-gram → 学生ID */
+  private final Map<String, Set<Integer>> areaGrams = new HashMap<>();
+
+  /** 学生ID → 索引済みの正規化文字列 */
+  private final Map<Integer, IndexedStudent> students = new HashMap<>();
+
+  private volatile boolean ready;
+
+  public StudentSearchIndex(StudentRepository repository) {
+    this.repository = repository;
+  }
+
+  /**
+   * 索引済みの学生（正規化済みの検索対象文字列）
+   */
+  private record IndexedStudent(List<String> names, String area) {
+  }
+
+  /**
+   * 起動完了時に有効な学生全件からインデックスを構築
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void initialize() {
+    // 構築中のコミットが反映漏れにならないよう、読み込みから差し替えまで書き込みロックを保持する
+    lock.writeLock().lock();
+    try {
+      rebuild(repository.getActiveStudents());
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * 学生リストからインデックスを作り直す
+   *
+   * @param activeStudents 有効な学生の全件
+   */
+  public void rebuild(List<Student> activeStudents) {
+    lock.writeLock().lock();
+    try {
+      nameGrams.clear();
+      areaGrams.clear();
+      students.clear();
+      activeStudents.forEach(this::putInternal);
+      ready = true;
+      logger.info("検索インデックス構築完了: {}件", students.size());
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * インデックスが構築済みかどうか
+   */
+  public boolean isReady() {
+    return ready;
+  }
+
+  /**
+   * コミット後に学生の変更をインデックスへ反映
+   */
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onStudentChanged(StudentChangedEvent event) {
+    if (event.getType() == ChangeType.DELETED || event.getStudent() == null) {
+      remove(event.getStudentId());
+    } else {
+      put(event.getStudent());
+    }
+  }
+
+  /**
+   * 学生を追加（既に存在する場合は置き換え）
+   */
+  public void put(Student student) {
+    lock.writeLock().lock();
+    try {
+      removeInternal(student.getId());
+      putInternal(student);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * 学生を削除
+   */
+  public void remove(int id) {
+    lock.writeLock().lock();
+    try {
+      removeInternal(id);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * 名前・地域の部分一致で学生IDを検索
+   *
+   * @param name 名前（名前・カナ名・ニックネームのいずれかに部分一致、null・空文字は条件なし）
+   * @param area 地域（部分一致、null・空文字は条件なし）
+   * @return 条件に一致する学生IDのリスト（昇順）
+   */
+  public List<Integer> findIds(String name, String area) {
+    String nameTerm = normalize(name);
+    String areaTerm = normalize(area);
+
+    lock.readLock().lock();
+    try {
+      Set<Integer> candidates = null;
+      if (nameTerm != null) {
+        candidates = candidates(nameGrams, nameTerm, null);
+      }
+      if (areaTerm != null) {
+        candidates = candidates(areaGrams, areaTerm, candidates);
+      }
+      if (candidates == null || candidates.isEmpty()) {
+        return List.of();
+      }
+
+      List<Integer> ids = new ArrayList<>();
+      for (Integer id : candidates) {
+        IndexedStudent student = students.get(id);
+        if (matches(student, nameTerm, areaTerm)) {
+          ids.add(id);
+        }
+      }
+      Collections.sort(ids);
+      return ids;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private boolean matches(IndexedStudent student, String nameTerm, String areaTerm) {
+    if (student == null) {
+      return false;
+    }
+    if (nameTerm != null && student.names().stream().noneMatch(n -> n.contains(nameTerm))) {
+      return false;
+    }
+    return areaTerm == null || (student.area() != null && student.area().contains(areaTerm));
+  }
+
+  /**
+   * 検索語のN-gramの積集合で候補IDを求める
+   */
+  private Set<Integer> candidates(Map<String, Set<Integer>> index, String term,
+      Set<Integer> current) {
+    Set<Integer> result = current != null ? new HashSet<>(current) : null;
+    for (String gram : queryGrams(term)) {
+      Set<Integer> postings = index.getOrDefault(gram, Set.of());
+      if (result == null) {
+        result = new HashSet<>(postings);
+      } else {
+        result.retainAll(postings);
+      }
+      if (result.isEmpty()) {
+        break;
+      }
+    }
+    return result;
+  }
+
+  private void putInternal(Student student) {
+    List<String> names = new ArrayList<>(3);
+    addIfPresent(names, student.getName());
+    addIfPresent(names, student.getKanaName());
+    addIfPresent(names, student.getNickname());
+    String area = normalize(student.getArea());
+
+    int id = student.getId();
+    students.put(id, new IndexedStudent(names, area));
+    names.forEach(n -> indexGrams(nameGrams, n, id));
+    if (area != null) {
+      indexGrams(areaGrams, area, id);
+    }
+  }
+
+  private void removeInternal(int id) {
+    IndexedStudent removed = students.remove(id);
+    if (removed == null) {
+      return;
+    }
+    removed.names().forEach(n -> unindexGrams(nameGrams, n, id));
+    if (removed.area() != null) {
+      unindexGrams(areaGrams, removed.area(), id);
+    }
+  }
+
+  private void addIfPresent(List<String> names, String value) {
+    String normalized = normalize(value);
+    if (normalized != null) {
+      names.add(normalized);
+    }
+  }
+
+  private void indexGrams(Map<String, Set<Integer>> index, String text, int id) {
+    for (String gram : indexGrams(text)) {
+      index.computeIfAbsent(gram, k -> new HashSet<>()).add(id);
+    }
+  }
+
+  private void unindexGrams(Map<String, Set<Integer>> index, String text, int id) {
+    for (String gram : indexGrams(text)) {
+      Set<Integer> postings = index.get(gram);
+      if (postings != null) {
+        postings.remove(id);
+        if (postings.isEmpty()) {
+          index.remove(gram);
+        }
+      }
+    }
+  }
+
+  /**
+   * 索引用のN-gram（1文字と2文字）
+   */
+  private static Set<String> indexGrams(String text) {
+    Set<String> grams = new HashSet<>();
+    for (int i = 0; i < text.length(); i++) {
+      grams.add(text.substring(i, i + 1));
+      if (i + 2 <= text.length()) {
+        grams.add(text.substring(i, i + 2));
+      }
+    }
+    return grams;
+  }
+
+  /**
+   * 検索用のN-gram（1文字の検索語はそのまま、2文字以上は2文字ずつ）
+   */
+  private static Set<String> queryGrams(String term) {
+    if (term.length() == 1) {
+      return Set.of(term);
+    }
+    Set<String> grams = new HashSet<>();
+    for (int i = 0; i + 2 <= term.length(); i++) {
+      grams.add(term.substring(i, i + 2));
+    }
+    return grams;
+  }
+
+  /**
+   * 検索用の正規化（英字は小文字に統一、null・空文字はnull）
+   */
+  private static String normalize(String value) {
+    if (value == null || value.isEmpty()) {
+      return null;
+    }
+    return value.toLowerCase(Locale.ROOT);
+  }
+}
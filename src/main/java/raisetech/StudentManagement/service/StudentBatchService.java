@@ -0,0 +1,235 @@
+package raisetech.StudentManagement.service;
+
+import static raisetech.StudentManagement.constants.DatabaseConstants.BATCH_INSERT_CHUNK_SIZE;
+import static raisetech.StudentManagement.constants.DatabaseConstants.BATCH_REGISTER_MAX_SIZE;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import raisetech.StudentManagement.controller.converter.StudentConverter;
+import raisetech.StudentManagement.data.EnrollmentStatus;
+import raisetech.StudentManagement.data.EnrollmentStatusCode;
+import raisetech.StudentManagement.data.Student;
+import raisetech.StudentManagement.data.StudentCourse;
+import raisetech.StudentManagement.domain.BatchItemResult;
+import raisetech.StudentManagement.domain.StudentDetail;
+import raisetech.StudentManagement.event.StudentChangedEvent;
+import raisetech.StudentManagement.event.StudentChangedEvent.ChangeType;
+import raisetech.StudentManagement.form.StudentForm;
+import raisetech.StudentManagement.repository.StudentRepository;
+
+/**
+ * 学生一括登録サービスクラス
+ *
+ * <p>MyBatisのBATCH実行モードで学生・コース・申込状況をまとめてINSERTします。</p>
+ * <p>1件ずつ登録すると1人あたり3回の往復が発生しますが、
+ * BATCH実行ではチャンクごとにテーブル単位の3回の往復で済みます。</p>
+ * <p>チャンクごとに独立したトランザクションで登録するため、
+ * 途中のチャンクが失敗しても登録済みのチャンクはロールバックされません。</p>
+ */
+@Service
+public class StudentBatchService {
+
+  private static final Logger logger = LoggerFactory.getLogger(StudentBatchService.class);
+
+  private final StudentRepository batchRepository;
+  private final SqlSessionTemplate batchSqlSession;
+  private final TransactionTemplate transactionTemplate;
+  private final StudentConverter converter;
+  private final Validator validator;
+  private final ApplicationEventPublisher eventPublisher;
+
+  public StudentBatchService(SqlSessionFactory sqlSessionFactory,
+      PlatformTransactionManager transactionManager, StudentConverter converter,
+      Validator validator, ApplicationEventPublisher eventPublisher) {
+    this.batchSqlSession = new SqlSessionTemplate(sqlSessionFactory, ExecutorType.BATCH);
+    this.batchRepository = batchSqlSession.getMapper(StudentRepository.class);
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    // BATCH実行のSqlSessionは既存トランザクションに参加できないため、常に新しいトランザクションで実行する
+    this.transactionTemplate.setPropagationBehavior(
+        TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.converter = converter;
+    this.validator = validator;
+    this.eventPublisher = eventPublisher;
+  }
+
+  /**
+   * 学生を一括登録
+   *
+   * <p>最初に全件の入力チェックを行い、1件でもエラーがあれば何も登録しません。</p>
+   * <p>全件が正しい場合はBATCH_INSERT_CHUNK_SIZE件ずつ登録します。</p>
+   *
+   * @param forms 登録する学生のリスト
+   * @return リクエストの並び順の1件ごとの結果
+   * @throws IllegalArgumentException 空リスト、または件数が上限を超える場合
+   */
+  public List<BatchItemResult> registerStudents(List<StudentForm> forms) {
+    if (forms == null || forms.isEmpty()) {
+      throw new IllegalArgumentException("登録する学生が指定されていません");
+    }
+    if (forms.size() > BATCH_REGISTER_MAX_SIZE) {
+      throw new IllegalArgumentException(
+          "一度に登録できる学生は" + BATCH_REGISTER_MAX_SIZE + "件までです");
+    }
+
+    logger.info("学生一括登録開始: {}件", forms.size());
+
+    List<BatchItemResult> invalidResults = validate(forms);
+    if (invalidResults != null) {
+      logger.warn("学生一括登録の入力チェックでエラー: {}件",
+          invalidResults.stream().filter(r -> r.getStatus() == BatchItemResult.Status.INVALID)
+              .count());
+      return invalidResults;
+    }
+
+    List<BatchItemResult> results = new ArrayList<>(forms.size());
+    for (int from = 0; from < forms.size(); from += BATCH_INSERT_CHUNK_SIZE) {
+      int to = Math.min(from + BATCH_INSERT_CHUNK_SIZE, forms.size());
+      results.addAll(registerChunkSafely(forms.subList(from, to), from));
+    }
+
+    logger.info("学生一括登録完了: 登録={}件, 全体={}件",
+        results.stream().filter(r -> r.getStatus() == BatchItemResult.Status.REGISTERED).count(),
+        forms.size());
+    return results;
+  }
+
+  /**
+   * 1チャンク分の学生を1トランザクションで登録
+   *
+   * <p>入力チェックは呼び出し側で済ませておく必要があります。</p>
+   * <p>失敗した場合はチャンク全体がロールバックされ、例外がそのまま送出されます。</p>
+   *
+   * @param forms 登録する学生（入力チェック済み）
+   * @return 登録された学生IDのリスト（formsと同じ並び順）
+   */
+  public List<Integer> registerChunk(List<StudentForm> forms) {
+    return transactionTemplate.execute(status -> insertChunk(forms));
+  }
+
+  private List<BatchItemResult> registerChunkSafely(List<StudentForm> chunk, int offset) {
+    List<BatchItemResult> results = new ArrayList<>(chunk.size());
+    try {
+      List<Integer> ids = registerChunk(chunk);
+      for (int i = 0; i < ids.size(); i++) {
+        results.add(BatchItemResult.registered(offset + i, ids.get(i)));
+      }
+    } catch (RuntimeException e) {
+      logger.error("学生一括登録でチャンクの登録に失敗: 位置={}〜{}", offset, offset + chunk.size() - 1, e);
+      for (int i = 0; i < chunk.size(); i++) {
+        results.add(BatchItemResult.failed(offset + i, "登録に失敗しました"));
+      }
+    }
+    return results;
+  }
+
+  /**
+   * 学生・コース・申込状況をテーブルごとにまとめてINSERT
+   *
+   * <p>flushStatementsの時点でバッチが実行され、自動採番のIDが各オブジェクトに設定されます。</p>
+   */
+  private List<Integer> insertChunk(List<StudentForm> forms) {
+    List<Student> students = new ArrayList<>(forms.size());
+    for (StudentForm form : forms) {
+      Student student = converter.toStudent(form);
+      batchRepository.saveStudent(student);
+      students.add(student);
+    }
+    batchSqlSession.flushStatements();
+
+    List<StudentCourse> courses = new ArrayList<>(forms.size());
+    for (int i = 0; i < forms.size(); i++) {
+      StudentCourse course = converter.toCourse(forms.get(i));
+      course.setStudentId(requireGeneratedId(students.get(i).getId()));
+      batchRepository.saveCourse(course);
+      courses.add(course);
+    }
+    batchSqlSession.flushStatements();
+
+    for (int i = 0; i < forms.size(); i++) {
+      String status = forms.get(i).getEnrollmentStatus();
+      EnrollmentStatus enrollmentStatus = new EnrollmentStatus();
+      enrollmentStatus.setCourseId(requireGeneratedId(courses.get(i).getId()));
+      enrollmentStatus.setStatus(status != null && !status.isEmpty()
+          ? EnrollmentStatusCode.fromLabel(status)
+          : EnrollmentStatusCode.DEFAULT);
+      batchRepository.saveEnrollmentStatus(enrollmentStatus);
+      courses.get(i).setEnrollmentStatus(enrollmentStatus);
+    }
+    batchSqlSession.flushStatements();
+
+    List<Integer> ids = new ArrayList<>(students.size());
+    for (int i = 0; i < students.size(); i++) {
+      Student student = students.get(i);
+      StudentDetail after = new StudentDetail();
+      after.setStudent(student);
+      after.setStudentCourse(List.of(courses.get(i)));
+      eventPublisher.publishEvent(new StudentChangedEvent(student.getId(), ChangeType.REGISTERED,
+          student, null, after));
+      ids.add(student.getId());
+    }
+    return ids;
+  }
+
+  private int requireGeneratedId(Integer id) {
+    if (id == null) {
+      throw new IllegalStateException("一括登録で自動採番のIDが取得できませんでした");
+    }
+    return id;
+  }
+
+  /**
+   * 1件分の入力チェック（画面・APIのフォームと同じBean Validation）
+   *
+   * @param form チェックする学生
+   * @return エラー内容（「項目名: メッセージ」形式、エラーがない場合は空リスト）
+   */
+  public List<String> validateForm(StudentForm form) {
+    Set<ConstraintViolation<StudentForm>> violations = validator.validate(form);
+    return violations.stream()
+        .sorted(Comparator.comparing(v -> v.getPropertyPath().toString()))
+        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+        .toList();
+  }
+
+  /**
+   * 全件の入力チェック
+   *
+   * @return エラーがある場合は1件ごとの結果（正しい行はSKIPPED）、全件正しい場合はnull
+   */
+  private List<BatchItemResult> validate(List<StudentForm> forms) {
+    List<BatchItemResult> results = new ArrayList<>(forms.size());
+    boolean hasError = false;
+
+    for (int i = 0; i < forms.size(); i++) {
+      StudentForm form = forms.get(i);
+      if (form == null) {
+        results.add(BatchItemResult.invalid(i, List.of("学生情報が入力されていません")));
+        hasError = true;
+        continue;
+      }
+
+      List<String> errors = validateForm(form);
+      if (errors.isEmpty()) {
+        results.add(BatchItemResult.skipped(i));
+      } else {
+        results.add(BatchItemResult.invalid(i, errors));
+        hasError = true;
+      }
+    }
+    return hasError ? results : null;
+  }
+}
@@ -0,0 +1,60 @@
+package raisetech.StudentManagement.service;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.UnaryOperator;
+import raisetech.StudentManagement.domain.StudentDetail;
+import raisetech.StudentManagement.repository.StudentRepository;
+
+/**
+ * 有効な学生をキーセット方式でチャンク単位に読み込みながら列挙するイテレーター
+ *
+ * <p>次のチャンクが必要になった時点で初めてDBから取得するため、
+ * 全件をメモリに載せずに画面へ逐次出力できます。</p>
+ * <p>チャンクを読み込む直前にbeforeChunkを呼び出します（それまでの出力のフラッシュ用）。</p>
+ * <p>チャンクごとに別のクエリで取得するため、描画中にトランザクションを開いたままにしません。</p>
+ * <p>列挙する学生詳細にはoverlayを適用します（書き込み待ちの申込状況を重ねるため）。</p>
+ */
+class StudentDetailChunkIterator implements Iterator<StudentDetail> {
+
+  private final StudentRepository repository;
+  private final int chunkSize;
+  private final Runnable beforeChunk;
+  private final UnaryOperator<StudentDetail> overlay;
+
+  private Iterator<StudentDetail> current = Collections.emptyIterator();
+  private Integer afterId;
+  private boolean exhausted;
+
+  StudentDetailChunkIterator(StudentRepository repository, int chunkSize, Runnable beforeChunk,
+      UnaryOperator<StudentDetail> overlay) {
+    this.repository = repository;
+    this.chunkSize = chunkSize;
+    this.beforeChunk = beforeChunk;
+    this.overlay = overlay;
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (!current.hasNext() && !exhausted) {
+      beforeChunk.run();
+      List<StudentDetail> chunk = repository.getActiveStudentDetailsPage(afterId, chunkSize);
+      exhausted = chunk.size() < chunkSize;
+      if (!chunk.isEmpty()) {
+        afterId = chunk.get(chunk.size() - 1).getStudent().getId();
+      }
+      current = chunk.iterator();
+    }
+    return current.hasNext();
+  }
+
+  @Override
+  public StudentDetail next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    return overlay.apply(current.next());
+  }
+}
@@ -0,0 +1,380 @@
+package raisetech.StudentManagement.service;
+
+import static raisetech.StudentManagement.constants.DatabaseConstants.BATCH_INSERT_CHUNK_SIZE;
+import static raisetech.StudentManagement.constants.DatabaseConstants.IMPORT_MAX_REPORTED_REJECTS;
+import static raisetech.StudentManagement.constants.DatabaseConstants.IMPORT_QUEUE_CAPACITY;
+
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import raisetech.StudentManagement.domain.ImportReject;
+import raisetech.StudentManagement.domain.ImportReport;
+import raisetech.StudentManagement.exception.ImportCapacityExceededException;
+import raisetech.StudentManagement.form.StudentForm;
+
+/**
+ * 学生CSVインポートサービスクラス
+ *
+ * <p>CSVを1行ずつ解析してStudentFormに変換し、フォームと同じBean Validationで入力チェックします。</p>
+ * <p>正しい行はBATCH_INSERT_CHUNK_SIZE件ずつのチャンクにまとめ、
+ * 容量に上限のあるキューを通して別スレッドで登録します。
+ * DBへの登録が遅い場合は解析側がキューの空きを待つため、ファイル全体をメモリに溜め込みません。</p>
+ * <p>チャンクごとにコミットするため、中断した場合は結果のcheckpointから再開できます。</p>
+ * <p>登録スレッドは1インポートにつき1つ使い、同時に実行できるインポートはコネクションプールの
+ * 上限（spring.datasource.hikari.maximum-pool-size）までです。上限に達している場合は待たずに拒否します。</p>
+ */
+@Service
+public class StudentImportService {
+
+  private static final Logger logger = LoggerFactory.getLogger(StudentImportService.class);
+
+  /** CSVの列名（1行目のヘッダー） */
+  static final String COL_NAME = "name";
+  static final String COL_KANA_NAME = "kanaName";
+  static final String COL_NICKNAME = "nickname";
+  static final String COL_EMAIL = "email";
+  static final String COL_AREA = "area";
+  static final String COL_AGE = "age";
+  static final String COL_SEX = "sex";
+  static final String COL_REMARK = "remark";
+  static final String COL_COURSE_NAME = "courseName";
+  static final String COL_COURSE_START_AT = "courseStartAt";
+  static final String COL_COURSE_END_AT = "courseEndAt";
+  static final String COL_ENROLLMENT_STATUS = "enrollmentStatus";
+
+  private static final List<String> REQUIRED_COLUMNS = List.of(
+      COL_NAME, COL_KANA_NAME, COL_EMAIL, COL_AREA, COL_AGE, COL_SEX,
+      COL_COURSE_NAME, COL_COURSE_START_AT, COL_COURSE_END_AT, COL_ENROLLMENT_STATUS);
+
+  private static final CSVFormat CSV_FORMAT = CSVFormat.DEFAULT.builder()
+      .setHeader()
+      .setSkipHeaderRecord(true)
+      .setIgnoreEmptyLines(true)
+      .setTrim(true)
+      .build();
+
+  /** 解析の終了を登録スレッドに知らせる目印 */
+  private static final List<ImportRow> END_OF_INPUT = new ArrayList<>();
+
+  private final StudentBatchService batchService;
+  private final int maxConcurrentImports;
+  private final ExecutorService writerExecutor;
+
+  /**
+   * @param batchService         チャンクの登録に使うサービス
+   * @param maxConcurrentImports 同時に実行できるインポートの上限（コネクションプールの上限と同じ）
+   */
+  public StudentImportService(StudentBatchService batchService,
+      @Value("${spring.datasource.hikari.maximum-pool-size:10}") int maxConcurrentImports) {
+    this.batchService = batchService;
+    this.maxConcurrentImports = maxConcurrentImports;
+    AtomicInteger threadCount = new AtomicInteger();
+    // キューを持たないため、全スレッドが使用中の場合はsubmitがRejectedExecutionExceptionになる
+    this.writerExecutor = new ThreadPoolExecutor(maxConcurrentImports, maxConcurrentImports,
+        0L, TimeUnit.MILLISECONDS, new SynchronousQueue<>(), runnable -> {
+          Thread thread = new Thread(runnable,
+              "student-import-writer-" + threadCount.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        });
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    writerExecutor.shutdownNow();
+  }
+
+  /**
+   * 入力チェック済みの1行
+   */
+  private record ImportRow(long rowNumber, StudentForm form) {
+  }
+
+  /**
+   * CSVから学生をインポート
+   *
+   * @param input CSV（UTF-8、1行目はヘッダー）
+   * @param skip  先頭から読み飛ばすデータ行数（前回結果のcheckpointを指定すると続きから再開）
+   * @return インポート結果
+   * @throws IllegalArgumentException skipが負の場合、またはヘッダーに必要な列がない場合
+   * @throws ImportCapacityExceededException 同時に実行できるインポートの上限に達している場合
+   */
+  public ImportReport importStudents(InputStream input, long skip) {
+    if (skip < 0) {
+      throw new IllegalArgumentException("skipは0以上で指定してください");
+    }
+
+    logger.info("学生CSVインポート開始: skip={}", skip);
+    long startedAt = System.nanoTime();
+
+    BlockingQueue<List<ImportRow>> queue = new ArrayBlockingQueue<>(IMPORT_QUEUE_CAPACITY);
+    ChunkWriter writer = new ChunkWriter(queue, skip);
+    Future<?> writerFuture;
+    try {
+      writerFuture = writerExecutor.submit(writer);
+    } catch (RejectedExecutionException e) {
+      logger.warn("学生CSVインポートを拒否: 同時実行数が上限に達しています: 上限={}", maxConcurrentImports);
+      throw new ImportCapacityExceededException(
+          "同時に実行できるインポートは" + maxConcurrentImports + "件までです");
+    }
+
+    long rowNumber = 0;
+    long rejected = 0;
+    List<ImportReject> rejects = new ArrayList<>();
+    boolean parsed = false;
+    String error = null;
+
+    try (Reader reader = openReader(input); CSVParser parser = CSV_FORMAT.parse(reader)) {
+      validateHeader(parser.getHeaderNames());
+
+      List<ImportRow> chunk = new ArrayList<>(BATCH_INSERT_CHUNK_SIZE);
+      for (CSVRecord record : parser) {
+        rowNumber++;
+        if (rowNumber <= skip) {
+          continue;
+        }
+
+        List<String> errors = new ArrayList<>();
+        StudentForm form = toForm(record, errors);
+        if (errors.isEmpty()) {
+          errors.addAll(batchService.validateForm(form));
+        }
+
+        if (!errors.isEmpty()) {
+          rejected++;
+          if (rejects.size() < IMPORT_MAX_REPORTED_REJECTS) {
+            rejects.add(new ImportReject(rowNumber, errors));
+          }
+          continue;
+        }
+
+        chunk.add(new ImportRow(rowNumber, form));
+        if (chunk.size() == BATCH_INSERT_CHUNK_SIZE) {
+          if (!enqueue(queue, chunk, writer)) {
+            break;
+          }
+          chunk = new ArrayList<>(BATCH_INSERT_CHUNK_SIZE);
+        }
+      }
+
+      if (!writer.isFailed() && (chunk.isEmpty() || enqueue(queue, chunk, writer))) {
+        parsed = !writer.isFailed();
+      }
+
+    } catch (IOException e) {
+      logger.error("学生CSVインポートでCSVの読み込みに失敗: 行={}", rowNumber, e);
+      error = "CSVの読み込みに失敗しました";
+    } finally {
+      enqueue(queue, END_OF_INPUT, writer);
+    }
+
+    awaitWriter(writerFuture);
+
+    boolean completed = parsed && !writer.isFailed();
+    if (error == null) {
+      error = writer.getError();
+    }
+
+    long rowsRead = Math.max(0, rowNumber - skip);
+    long elapsedNanos = System.nanoTime() - startedAt;
+    long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+    double rowsPerSecond = elapsedNanos > 0 ? rowsRead * 1_000_000_000d / elapsedNanos : 0;
+
+    // 完了時は全行処理済み、中断時は最後にコミットしたチャンクの最終行まで処理済み
+    long checkpoint = completed ? Math.max(rowNumber, skip) : writer.getCommittedThrough();
+
+    logger.info("学生CSVインポート{}: 読込={}行, 登録={}件, エラー={}行, checkpoint={}, {}行/秒",
+        completed ? "完了" : "中断", rowsRead, writer.getImported(), rejected, checkpoint,
+        String.format("%.1f", rowsPerSecond));
+
+    return new ImportReport(completed, rowsRead, writer.getImported(), rejected, rejects,
+        checkpoint, elapsedMillis, rowsPerSecond, completed ? null : error);
+  }
+
+  /**
+   * チャンクをキューに入れる（キューが一杯の間は登録スレッドの処理を待つ）
+   *
+   * @return キューに入れられた場合はtrue、登録スレッドが失敗していた場合はfalse
+   */
+  private boolean enqueue(BlockingQueue<List<ImportRow>> queue, List<ImportRow> chunk,
+      ChunkWriter writer) {
+    try {
+      while (!queue.offer(chunk, 1, TimeUnit.SECONDS)) {
+        if (writer.isFailed()) {
+          return false;
+        }
+      }
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      writer.fail("インポートが中断されました");
+      return false;
+    }
+  }
+
+  private void awaitWriter(Future<?> writerFuture) {
+    try {
+      writerFuture.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      writerFuture.cancel(true);
+      throw new RuntimeException("学生CSVインポートが中断されました", e);
+    } catch (ExecutionException e) {
+      throw new RuntimeException("学生CSVインポートに失敗しました", e.getCause());
+    }
+  }
+
+  /**
+   * UTF-8で読み込み、先頭のBOMがあれば読み飛ばす
+   */
+  private Reader openReader(InputStream input) throws IOException {
+    BufferedReader reader = new BufferedReader(
+        new InputStreamReader(input, StandardCharsets.UTF_8));
+    reader.mark(1);
+    if (reader.read() != '\uFEFF') {
+      reader.reset();
+    }
+    return reader;
+  }
+
+  private void validateHeader(List<String> headerNames) {
+    List<String> missing = REQUIRED_COLUMNS.stream()
+        .filter(column -> !headerNames.contains(column))
+        .toList();
+    if (!missing.isEmpty()) {
+      throw new IllegalArgumentException("CSVのヘッダーに必要な列がありません: " + missing);
+    }
+  }
+
+  /**
+   * 1行をStudentFormに変換（数値・日付に変換できない場合はerrorsに追加）
+   */
+  private StudentForm toForm(CSVRecord record, List<String> errors) {
+    StudentForm form = new StudentForm();
+    form.setName(value(record, COL_NAME));
+    form.setKanaName(value(record, COL_KANA_NAME));
+    form.setNickname(value(record, COL_NICKNAME));
+    form.setEmail(value(record, COL_EMAIL));
+    form.setArea(value(record, COL_AREA));
+    form.setSex(value(record, COL_SEX));
+    form.setRemark(value(record, COL_REMARK));
+    form.setCourseName(value(record, COL_COURSE_NAME));
+    form.setEnrollmentStatus(value(record, COL_ENROLLMENT_STATUS));
+
+    String age = value(record, COL_AGE);
+    if (age != null && !age.isEmpty()) {
+      try {
+        form.setAge(Integer.parseInt(age));
+      } catch (NumberFormatException e) {
+        errors.add(COL_AGE + ": 数値で入力してください");
+      }
+    }
+
+    form.setCourseStartAt(date(record, COL_COURSE_START_AT, errors));
+    form.setCourseEndAt(date(record, COL_COURSE_END_AT, errors));
+    return form;
+  }
+
+  private String value(CSVRecord record, String column) {
+    return record.isSet(column) ? record.get(column) : null;
+  }
+
+  private LocalDate date(CSVRecord record, String column, List<String> errors) {
+    String value = value(record, column);
+    if (value == null || value.isEmpty()) {
+      return null;
+    }
+    try {
+      return LocalDate.parse(value);
+    } catch (DateTimeParseException e) {
+      errors.add(column + ": yyyy-MM-dd形式で入力してください");
+      return null;
+    }
+  }
+
+  /**
+   * キューからチャンクを取り出して登録する処理（登録スレッド）
+   */
+  private class ChunkWriter implements Runnable {
+
+    private final BlockingQueue<List<ImportRow>> queue;
+    private volatile long committedThrough;
+    private volatile long imported;
+    private volatile String error;
+
+    ChunkWriter(BlockingQueue<List<ImportRow>> queue, long skip) {
+      this.queue = queue;
+      this.committedThrough = skip;
+    }
+
+    @Override
+    public void run() {
+      try {
+        while (!isFailed()) {
+          List<ImportRow> chunk = queue.take();
+          if (chunk == END_OF_INPUT) {
+            return;
+          }
+
+          List<StudentForm> forms = chunk.stream().map(ImportRow::form).toList();
+          List<Integer> ids = batchService.registerChunk(forms);
+          imported += ids.size();
+          committedThrough = chunk.get(chunk.size() - 1).rowNumber();
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        fail("インポートが中断されました");
+      } catch (RuntimeException e) {
+        logger.error("学生CSVインポートでチャンクの登録に失敗: checkpoint={}", committedThrough, e);
+        fail("登録に失敗しました");
+      }
+    }
+
+    void fail(String message) {
+      if (error == null) {
+        error = message;
+      }
+    }
+
+    boolean isFailed() {
+      return error != null;
+    }
+
+    String getError() {
+      return error;
+    }
+
+    long getCommittedThrough() {
+      return committedThrough;
+    }
+
+    long getImported() {
+      return imported;
+    }
+  }
+}
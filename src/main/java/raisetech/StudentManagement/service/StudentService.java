@@ -1,20 +1,52 @@
 package raisetech.StudentManagement.service;
 
 import static raisetech.StudentManagement.constants.DatabaseConstants.EXPECTED_UPDATE_COUNT;
+import static raisetech.StudentManagement.constants.DatabaseConstants.IN_CLAUSE_CHUNK_SIZE;
+import static raisetech.StudentManagement.constants.DatabaseConstants.TABLE_ENROLLMENT_STATUS;
+import static raisetech.StudentManagement.constants.DatabaseConstants.TABLE_STUDENTS;
+import static raisetech.StudentManagement.constants.DatabaseConstants.TABLE_STUDENTS_COURSES;
+import static raisetech.StudentManagement.constants.PagingConstants.DEFAULT_PAGE_SIZE;
+import static raisetech.StudentManagement.constants.PagingConstants.MAX_PAGE_SIZE;
+import static raisetech.StudentManagement.logging.LogSampler.HOT_READ;
+import io.micrometer.core.annotation.Timed;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import org.apache.ibatis.cursor.Cursor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import raisetech.StudentManagement.cache.StudentFormCache;
+import raisetech.StudentManagement.cache.StudentSearchCache;
+import raisetech.StudentManagement.cache.StudentSearchCache.SearchKey;
 import raisetech.StudentManagement.controller.converter.StudentConverter;
 import raisetech.StudentManagement.data.EnrollmentStatus;
+import raisetech.StudentManagement.data.EnrollmentStatusCode;
 import raisetech.StudentManagement.data.Student;
 import raisetech.StudentManagement.data.StudentCourse;
 import raisetech.StudentManagement.domain.StudentDetail;
+import raisetech.StudentManagement.domain.StudentPage;
+import raisetech.StudentManagement.domain.StudentPatchResult;
+import raisetech.StudentManagement.event.StudentChangedEvent;
+import raisetech.StudentManagement.event.StudentChangedEvent.ChangeType;
 import raisetech.StudentManagement.exception.ResourceNotFoundException;
 import raisetech.StudentManagement.form.StudentForm;
+import raisetech.StudentManagement.form.StudentPatchForm;
+import raisetech.StudentManagement.logging.LogSampler;
 import raisetech.StudentManagement.repository.StudentRepository;
+import raisetech.StudentManagement.search.StudentSearchIndex;
+import raisetech.StudentManagement.snapshot.RosterSnapshot;
+import raisetech.StudentManagement.snapshot.RosterSnapshotHolder;
+import raisetech.StudentManagement.writebehind.EnrollmentStatusWriteBehind;
 
 /**
  * 学生管理サービスクラス(REST API対応版)
@@ -25,6 +57,7 @@ import raisetech.StudentManagement.repository.StudentRepository;
  */
 @Service
 @Transactional
+@Timed(value = "student.service", histogram = true)
 public class StudentService {
 
   private static final Logger logger = LoggerFactory.getLogger(StudentService.class);
@@ -35,17 +68,46 @@ public class StudentService {
   @Autowired
   private StudentConverter converter;
 
+  @Autowired
+  private StudentFormCache formCache;
+
+  @Autowired
+  private StudentSearchCache searchCache;
+
+  @Autowired
+  private ApplicationEventPublisher eventPublisher;
+
+  @Autowired
+  private StudentSearchIndex searchIndex;
+
+  @Autowired
+  private LogSampler logSampler;
+
+  @Autowired
+  private RosterSnapshotHolder rosterSnapshot;
+
+  @Autowired
+  private EnrollmentStatusWriteBehind statusWriteBehind;
+
   // ============================================
   // データ取得系のメソッド（読み取り専用）
   // ============================================
 
   @Transactional(readOnly = true)
   public List<Student> getStudents() {
-    logger.info("学生一覧取得開始");
+    boolean sampled = logSampler.sample("StudentService.getStudents");
+    if (sampled) {
+      logger.info(HOT_READ, "学生一覧取得開始");
+    }
 
     try {
-      List<Student> students = repository.getActiveStudents();
-      logger.info("学生一覧取得完了: {}件", students.size());
+      RosterSnapshot snapshot = rosterSnapshot.current();
+      List<Student> students = snapshot != null
+          ? snapshot.students()
+          : repository.getActiveStudents();
+      if (sampled) {
+        logger.info(HOT_READ, "学生一覧取得完了: {}件", students.size());
+      }
       return students;
 
     } catch (Exception e) {
@@ -54,13 +116,70 @@ public class StudentService {
     }
   }
 
+  /**
+   * 有効な学生をキーセット方式で1ページ分取得
+   *
+   * <p>学生・コース・申込状況は1回のクエリで学生詳細としてまとめて取得します。</p>
+   * <p>総件数は件数取得用のクエリで別途取得します。</p>
+   *
+   * @param afterId 前ページ最後の学生ID（nullの場合は先頭ページ）
+   * @param size    1ページの件数（nullの場合はデフォルト件数）
+   * @return 学生詳細のページ
+   */
+  @Transactional(readOnly = true)
+  public StudentPage getStudentPage(Integer afterId, Integer size) {
+    boolean sampled = logSampler.sample("StudentService.getStudentPage");
+    int pageSize = size != null ? size : DEFAULT_PAGE_SIZE;
+    if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+      throw new IllegalArgumentException("ページサイズは1から" + MAX_PAGE_SIZE + "の範囲で指定してください");
+    }
+
+    if (sampled) {
+      logger.info(HOT_READ, "学生ページ取得開始: after={}, size={}", afterId, pageSize);
+    }
+
+    try {
+      // 次ページの有無を判定するため1件多く取得
+      List<StudentDetail> studentDetails =
+          repository.getActiveStudentDetailsPage(afterId, pageSize + 1);
+      boolean hasNext = studentDetails.size() > pageSize;
+      if (hasNext) {
+        studentDetails = studentDetails.subList(0, pageSize);
+      }
+      studentDetails = studentDetails.stream().map(statusWriteBehind::overlay).toList();
+
+      int totalCount = repository.countActiveStudents();
+      Integer nextCursor = hasNext
+          ? studentDetails.get(studentDetails.size() - 1).getStudent().getId()
+          : null;
+
+      if (sampled) {
+        logger.info(HOT_READ, "学生ページ取得完了: {}件, 総件数={}, next={}", studentDetails.size(),
+            totalCount, nextCursor);
+      }
+      return new StudentPage(studentDetails, totalCount, nextCursor);
+
+    } catch (Exception e) {
+      logger.error("学生ページ取得でシステムエラーが発生", e);
+      throw new RuntimeException("学生一覧の取得に失敗しました", e);
+    }
+  }
+
   @Transactional(readOnly = true)
   public List<StudentCourse> getCourses() {
-    logger.info("コース一覧取得開始");
+    boolean sampled = logSampler.sample("StudentService.getCourses");
+    if (sampled) {
+      logger.info(HOT_READ, "コース一覧取得開始");
+    }
 
     try {
-      List<StudentCourse> courses = repository.getAllCourses();
-      logger.info("コース一覧取得完了： 取得件数={}", courses.size());
+      RosterSnapshot snapshot = rosterSnapshot.current();
+      List<StudentCourse> courses = snapshot != null
+          ? snapshot.courses()
+          : statusWriteBehind.overlayCourses(repository.getAllCourses());
+      if (sampled) {
+        logger.info(HOT_READ, "コース一覧取得完了： 取得件数={}", courses.size());
+      }
       return courses;
 
     } catch (Exception e) {
@@ -69,11 +188,35 @@ public class StudentService {
     }
   }
 
+  /**
+   * 学生詳細をフォーム形式で取得
+   *
+   * <p>学生とコースはStudentFormCacheにキャッシュされ、変更時に破棄されます。</p>
+   * <p>キャッシュにはDBの値を保持し、書き込み待ちの申込状況は返す時点で重ねます
+   * （編集画面に古い値を表示し、その値で保存して書き込み待ちの変更を戻してしまわないため）。</p>
+   * <p>フォームは呼び出しごとに新しく生成するため、呼び出し元で変更しても問題ありません。</p>
+   *
+   * @param id 学生ID
+   * @return 学生情報と主コースのフォーム
+   */
   @Transactional(readOnly = true)
   public StudentForm getStudentForm(int id) {
-    logger.info("学生詳細取得開始: ID={}", id);
+    boolean sampled = logSampler.sample("StudentService.getStudentForm");
+    if (sampled) {
+      logger.info(HOT_READ, "学生詳細取得開始: ID={}", id);
+    }
+
+    StudentDetail cached = formCache.get(id);
+    if (cached != null) {
+      if (sampled) {
+        logger.info(HOT_READ, "学生詳細取得完了(キャッシュ): ID={}", id);
+      }
+      StudentDetail detail = statusWriteBehind.overlay(cached);
+      return converter.toForm(detail.getStudent(), detail.getPrimaryCourse());
+    }
 
     try {
+      long stamp = formCache.currentStamp(id);
       Student student = repository.getStudentById(id);
 
       if (student == null) {
@@ -82,12 +225,19 @@ public class StudentService {
       }
 
       List<StudentCourse> courses = repository.getCoursesByStudentId(id);
-      StudentCourse primaryCourse = courses.isEmpty() ? null : courses.get(0);
+
+      StudentDetail detail = new StudentDetail();
+      detail.setStudent(student);
+      detail.setStudentCourse(courses);
+      formCache.put(id, detail, stamp);
 
       // ✅ 修正: converterを使用
-      StudentForm form = converter.toForm(student, primaryCourse);
+      StudentForm form = converter.toForm(student,
+          statusWriteBehind.overlay(detail).getPrimaryCourse());
 
-      logger.info("学生詳細取得完了: ID={}, コース数={}", id, courses.size());
+      if (sampled) {
+        logger.info(HOT_READ, "学生詳細取得完了: ID={}, コース数={}", id, courses.size());
+      }
       return form;
 
     } catch (RuntimeException e) {
@@ -98,6 +248,56 @@ public class StudentService {
     }
   }
 
+  /**
+   * 有効な学生を学生詳細として1件ずつconsumerに渡す（エクスポート用）
+   *
+   * <p>MyBatisのCursorで逐次読み出すため、件数に関わらずメモリ使用量は一定です。</p>
+   * <p>Cursorはトランザクション内でのみ有効なため、出力処理もこのメソッド内で実行します。</p>
+   *
+   * @param consumer 学生詳細を1件ずつ受け取る処理
+   * @return 出力した件数
+   */
+  @Transactional(readOnly = true)
+  public int exportStudents(Consumer<StudentDetail> consumer) {
+    logger.info("学生エクスポート開始");
+
+    int count = 0;
+    try (Cursor<StudentDetail> cursor = repository.streamActiveStudentDetails()) {
+      for (StudentDetail detail : cursor) {
+        consumer.accept(statusWriteBehind.overlay(detail));
+        count++;
+      }
+
+      logger.info("学生エクスポート完了: {}件", count);
+      return count;
+
+    } catch (RuntimeException e) {
+      logger.warn("学生エクスポートを中断: 出力済み={}件", count);
+      throw e;
+    } catch (Exception e) {
+      logger.error("学生エクスポートでシステムエラーが発生: 出力済み={}件", count, e);
+      throw new RuntimeException("学生のエクスポートに失敗しました", e);
+    }
+  }
+
+  /**
+   * 有効な学生を画面描画用にチャンク単位で遅延取得
+   *
+   * <p>返すIterableは列挙した分だけchunkSize件ずつDBから読み込みます。</p>
+   * <p>テンプレートのth:eachに渡すと、全件を取得する前に行の出力を始められます。</p>
+   *
+   * @param chunkSize   1回に読み込む学生の件数
+   * @param beforeChunk チャンクを読み込む直前に呼び出す処理（出力済みの行のフラッシュなど）
+   * @return 学生ID順の学生詳細
+   */
+  public Iterable<StudentDetail> iterateStudentDetails(int chunkSize, Runnable beforeChunk) {
+    if (chunkSize < 1) {
+      throw new IllegalArgumentException("チャンクの件数は1以上を指定してください");
+    }
+    return () -> new StudentDetailChunkIterator(repository, chunkSize, beforeChunk,
+        statusWriteBehind::overlay);
+  }
+
   // ============================================
   // データ更新系のメソッド（書き込み処理）
   // ============================================
@@ -133,8 +333,8 @@ public class StudentService {
       enrollmentStatus.setCourseId(course.getId());
       enrollmentStatus.setStatus(
           form.getEnrollmentStatus() != null && !form.getEnrollmentStatus().isEmpty()
-              ? form.getEnrollmentStatus()
-              : "仮申込"
+              ? EnrollmentStatusCode.fromLabel(form.getEnrollmentStatus())
+              : EnrollmentStatusCode.DEFAULT
       );
       int statusRows = repository.saveEnrollmentStatus(enrollmentStatus);
 
@@ -143,6 +343,12 @@ public class StudentService {
         throw new RuntimeException("学生登録に失敗しました");
       }
 
+      course.setEnrollmentStatus(enrollmentStatus);
+      StudentDetail after = new StudentDetail();
+      after.setStudent(student);
+      after.setStudentCourse(List.of(course));
+      eventPublisher.publishEvent(new StudentChangedEvent(student.getId(), ChangeType.REGISTERED,
+          student, null, after));
       logger.info("学生登録完了: ID={}, 名前={}", student.getId(), student.getName());
     } catch (RuntimeException e) {
       throw e;
@@ -160,6 +366,7 @@ public class StudentService {
     logger.info("学生更新開始: 対象ID={}", form.getId());
 
     try {
+      StudentDetail before = loadDetail(form.getId());
       Student student = converter.toStudent(form);
       int studentRows = repository.updateStudent(student);
 
@@ -168,6 +375,7 @@ public class StudentService {
         throw new ResourceNotFoundException("学生が見つかりません: ID=" + form.getId());
       }
 
+      StudentCourse changedCourse = null;
       if (form.getCourseId() != null) {
         logger.info("受信したフォーム情報: courseId={}, courseName={}", form.getCourseId(),
             form.getCourseName());
@@ -182,19 +390,31 @@ public class StudentService {
         if (courseRows != EXPECTED_UPDATE_COUNT) {
           logger.warn("コース更新対象が見つかりません: コースID={}", form.getCourseId());
         }
+        changedCourse = findCourse(before, form.getCourseId())
+            .map(StudentService::copyCourse)
+            .orElse(null);
+        if (changedCourse != null && courseRows == EXPECTED_UPDATE_COUNT) {
+          changedCourse.setCourseName(course.getCourseName());
+          changedCourse.setCourseStartAt(course.getCourseStartAt());
+          changedCourse.setCourseEndAt(course.getCourseEndAt());
+        }
 
         if (form.getEnrollmentStatus() != null) {
           EnrollmentStatus status = new EnrollmentStatus();
           status.setCourseId(form.getCourseId());
-          status.setStatus(form.getEnrollmentStatus());
-          int statusRows = repository.updateEnrollmentStatus(status);
+          status.setStatus(EnrollmentStatusCode.fromLabel(form.getEnrollmentStatus()));
+          int statusRows = updateEnrollmentStatus(form.getId(), status, before);
 
           if (statusRows != EXPECTED_UPDATE_COUNT) {
             logger.warn("申込状況更新対象が見つかりません: コースID={}", form.getCourseId());
+          } else if (changedCourse != null && changedCourse.getEnrollmentStatus() != null) {
+            changedCourse.getEnrollmentStatus().setStatus(status.getStatus());
           }
         }
       }
 
+      eventPublisher.publishEvent(new StudentChangedEvent(form.getId(), ChangeType.UPDATED,
+          student, before, applyChanges(before, student, changedCourse)));
       logger.info("学生更新完了: 対象ID={}", form.getId());
 
     } catch (RuntimeException e) {
@@ -205,10 +425,192 @@ public class StudentService {
     }
   }
 
+  /**
+   * 学生情報を部分更新
+   *
+   * <p>フォームで指定した項目のうち、現在の値と異なるものだけを列単位で更新します。</p>
+   * <p>変更がないテーブルにはUPDATEを発行せず、全項目が現在の値と同じ場合は書き込みもイベント発行も行いません。</p>
+   *
+   * @param id    学生ID
+   * @param patch 変更する項目のみを設定したフォーム
+   * @return 更新したテーブルと変更した項目
+   */
+  public StudentPatchResult patchStudent(int id, StudentPatchForm patch) {
+    if (patch == null) {
+      throw new IllegalArgumentException("更新内容が指定されていません");
+    }
+
+    logger.info("学生部分更新開始: 対象ID={}", id);
+
+    try {
+      StudentDetail before = loadDetail(id);
+      if (before == null) {
+        logger.warn("学生部分更新対象が見つかりません: ID={}", id);
+        throw new ResourceNotFoundException("学生が見つかりません: ID=" + id);
+      }
+
+      List<String> updatedTables = new ArrayList<>();
+      List<String> changedFields = new ArrayList<>();
+
+      Student studentChanges = diffStudent(before.getStudent(), patch, changedFields);
+      if (studentChanges != null) {
+        if (repository.patchStudent(studentChanges) != EXPECTED_UPDATE_COUNT) {
+          throw new ResourceNotFoundException("学生が見つかりません: ID=" + id);
+        }
+        updatedTables.add(TABLE_STUDENTS);
+      }
+
+      StudentCourse changedCourse = null;
+      if (patch.hasCourseChanges() || patch.getCourseId() != null) {
+        changedCourse = patchCourse(before, patch, updatedTables, changedFields);
+      }
+
+      if (updatedTables.isEmpty()) {
+        logger.info("学生部分更新: 変更なしのため更新せず: ID={}", id);
+        return new StudentPatchResult(id, List.of(), List.of());
+      }
+
+      Student student = copyStudent(before.getStudent());
+      if (studentChanges != null) {
+        mergeStudent(student, studentChanges);
+      }
+      StudentDetail after = applyChanges(before, student, changedCourse);
+      eventPublisher.publishEvent(new StudentChangedEvent(id, ChangeType.UPDATED,
+          after.getStudent(), before, after));
+      logger.info("学生部分更新完了: ID={}, テーブル={}, 項目={}", id, updatedTables, changedFields);
+      return new StudentPatchResult(id, updatedTables, changedFields);
+
+    } catch (RuntimeException e) {
+      throw e;
+    } catch (Exception e) {
+      logger.error("学生部分更新でシステムエラーが発生: ID={}", id, e);
+      throw new RuntimeException("学生情報の更新に失敗しました", e);
+    }
+  }
+
+  /**
+   * 現在の学生情報と異なる項目だけを設定した更新用の学生情報を作成
+   *
+   * @return 変更がない場合はnull
+   */
+  private Student diffStudent(Student current, StudentPatchForm patch,
+      List<String> changedFields) {
+    Student changes = new Student();
+    changes.setId(current.getId());
+    boolean changed = false;
+    changed |= diff("name", current.getName(), patch.getName(), changes::setName, changedFields);
+    changed |= diff("kanaName", current.getKanaName(), patch.getKanaName(), changes::setKanaName,
+        changedFields);
+    changed |= diff("nickname", current.getNickname(), patch.getNickname(), changes::setNickname,
+        changedFields);
+    changed |= diff("email", current.getEmail(), patch.getEmail(), changes::setEmail,
+        changedFields);
+    changed |= diff("area", current.getArea(), patch.getArea(), changes::setArea, changedFields);
+    changed |= diff("age", current.getAge(), patch.getAge(), changes::setAge, changedFields);
+    changed |= diff("sex", current.getSex(), patch.getSex(), changes::setSex, changedFields);
+    changed |= diff("remark", current.getRemark(), patch.getRemark(), changes::setRemark,
+        changedFields);
+    return changed ? changes : null;
+  }
+
+  /**
+   * コース・申込状況のうち現在の値と異なる項目だけを更新
+   *
+   * @return 更新内容を適用したコース（変更イベント用、変更がない場合はnull）
+   */
+  private StudentCourse patchCourse(StudentDetail current, StudentPatchForm patch,
+      List<String> updatedTables, List<String> changedFields) {
+    StudentCourse course = patch.getCourseId() == null
+        ? current.getPrimaryCourse()
+        : findCourse(current, patch.getCourseId()).orElse(null);
+    if (course == null) {
+      throw new ResourceNotFoundException("更新対象のコースが見つかりません: 学生ID="
+          + current.getStudent().getId() + ", コースID=" + patch.getCourseId());
+    }
+
+    StudentCourse changes = new StudentCourse();
+    changes.setId(course.getId());
+    boolean changed = false;
+    changed |= diff("courseName", course.getCourseName(), patch.getCourseName(),
+        changes::setCourseName, changedFields);
+    changed |= diff("courseStartAt", course.getCourseStartAt(), patch.getCourseStartAt(),
+        changes::setCourseStartAt, changedFields);
+    changed |= diff("courseEndAt", course.getCourseEndAt(), patch.getCourseEndAt(),
+        changes::setCourseEndAt, changedFields);
+    StudentCourse changedCourse = copyCourse(course);
+    if (changed) {
+      repository.patchCourse(changes);
+      updatedTables.add(TABLE_STUDENTS_COURSES);
+      Optional.ofNullable(changes.getCourseName()).ifPresent(changedCourse::setCourseName);
+      Optional.ofNullable(changes.getCourseStartAt()).ifPresent(changedCourse::setCourseStartAt);
+      Optional.ofNullable(changes.getCourseEndAt()).ifPresent(changedCourse::setCourseEndAt);
+    }
+
+    EnrollmentStatus currentStatus = course.getEnrollmentStatus();
+    EnrollmentStatusCode newStatus = patch.getEnrollmentStatus() == null
+        ? null
+        : EnrollmentStatusCode.fromLabel(patch.getEnrollmentStatus());
+    if (diff("enrollmentStatus", currentStatus == null ? null : currentStatus.getStatus(),
+        newStatus, value -> { }, changedFields)) {
+      EnrollmentStatus status = new EnrollmentStatus();
+      status.setCourseId(course.getId());
+      status.setStatus(newStatus);
+      if (currentStatus == null) {
+        repository.saveEnrollmentStatus(status);
+        changedCourse.setEnrollmentStatus(status);
+      } else {
+        updateEnrollmentStatus(current.getStudent().getId(), status, current);
+        changedCourse.getEnrollmentStatus().setStatus(newStatus);
+      }
+      updatedTables.add(TABLE_ENROLLMENT_STATUS);
+      changed = true;
+    }
+    return changed ? changedCourse : null;
+  }
+
+  /**
+   * 既存の申込状況を更新
+   *
+   * <p>書き込み遅延が有効で、現在の学生詳細に申込状況の行があるコースはキューに追加し、
+   * コミット後にまとめて書き込みます。</p>
+   *
+   * @param studentId 学生ID
+   * @param status    コースIDと新しい申込状況
+   * @param current   現在の学生詳細
+   * @return 更新件数（キューに追加した場合は1）
+   */
+  private int updateEnrollmentStatus(int studentId, EnrollmentStatus status,
+      StudentDetail current) {
+    boolean hasStatusRow = current != null && current.getStudentCourse().stream()
+        .anyMatch(c -> c.getId() != null && c.getId() == status.getCourseId()
+            && c.getEnrollmentStatus() != null);
+    if (!statusWriteBehind.isEnabled() || !hasStatusRow) {
+      return repository.updateEnrollmentStatus(status);
+    }
+    statusWriteBehind.enqueue(studentId, status.getCourseId(), status.getStatus());
+    return EXPECTED_UPDATE_COUNT;
+  }
+
+  /**
+   * 指定された値が現在の値と異なる場合のみsetterに設定
+   *
+   * @return 値が変わる場合はtrue（nullは未指定として扱いfalse）
+   */
+  private static <T> boolean diff(String field, T current, T requested, Consumer<T> setter,
+      List<String> changedFields) {
+    if (requested == null || Objects.equals(current, requested)) {
+      return false;
+    }
+    setter.accept(requested);
+    changedFields.add(field);
+    return true;
+  }
+
   public void deleteStudent(int id) {
     logger.info("学生削除開始: 対象ID={}", id);
 
     try {
+      StudentDetail before = loadDetail(id);
       int rows = repository.deleteStudent(id);
 
       if (rows != EXPECTED_UPDATE_COUNT) {
@@ -216,6 +618,8 @@ public class StudentService {
         throw new ResourceNotFoundException("学生が見つかりません: ID=" + id);
       }
 
+      eventPublisher.publishEvent(
+          new StudentChangedEvent(id, ChangeType.DELETED, null, before, null));
       logger.info("学生削除完了: 対象ID={}", id);
 
     } catch (RuntimeException e) {
@@ -229,7 +633,13 @@ public class StudentService {
   /**
    * 検索条件に基づいて学生を検索
    *
-   * @param name             名前（部分一致、nullまたは空文字の場合は条件に含めない）
+   * <p>名前・地域の部分一致は検索インデックスで候補IDを求め、該当する学生のみを主キーで取得します。</p>
+   * <p>インデックスの構築前は従来どおりLIKE検索で取得します。</p>
+   * <p>検索条件は前後の空白を除いて正規化し、同じ条件の結果はStudentSearchCacheから返します。
+   * 返すリストは変更不可で、キャッシュ経由で他の呼び出し元と共有されます。</p>
+   * <p>申込状況の書き込みを遅らせている場合、申込状況の条件は書き込み待ちの値を重ねた後の値で判定します。</p>
+   *
+   * @param name             名前（名前・カナ名・ニックネームのいずれかに部分一致、nullまたは空文字の場合は条件に含めない）
    * @param area             地域（部分一致、nullまたは空文字の場合は条件に含めない）
    * @param courseName       コース名（完全一致、nullまたは空文字の場合は条件に含めない）
    * @param enrollmentStatus 申込状況（完全一致、nullまたは空文字の場合は条件に含めない）
@@ -238,15 +648,69 @@ public class StudentService {
   @Transactional(readOnly = true)
   public List<StudentDetail> searchStudents(String name, String area,
       String courseName, String enrollmentStatus) {
-    logger.info("学生検索開始: name={}, area={}, courseName={}, status={}",
-        name, area, courseName, enrollmentStatus);
+    boolean sampled = logSampler.sample("StudentService.searchStudents");
+    if (sampled) {
+      logger.info(HOT_READ, "学生検索開始: name={}, area={}, courseName={}, status={}",
+          name, area, courseName, enrollmentStatus);
+    }
+
+    SearchKey key = SearchKey.of(name, area, courseName, enrollmentStatus);
+    List<StudentDetail> cached = searchCache.get(key);
+    if (cached != null) {
+      if (sampled) {
+        logger.info(HOT_READ, "学生検索完了(キャッシュ): {}件", cached.size());
+      }
+      return cached;
+    }
 
     try {
-      List<Student> students = repository.searchStudents(name, area, courseName, enrollmentStatus);
-      List<StudentCourse> courses = repository.getAllCourses();
-      List<StudentDetail> studentDetails = converter.toDetails(students, courses);
+      long stamp = searchCache.currentStamp();
+      // 申込状況は表示名からコードに変換して検索する（未定義の表示名に一致する学生はいない）
+      EnrollmentStatusCode status = null;
+      if (key.enrollmentStatus() != null) {
+        Optional<EnrollmentStatusCode> found =
+            EnrollmentStatusCode.findByLabel(key.enrollmentStatus());
+        if (found.isEmpty()) {
+          return searchCache.put(key, List.of(), stamp);
+        }
+        status = found.get();
+      }
 
-      logger.info("学生検索完了: {}件", studentDetails.size());
+      RosterSnapshot snapshot = rosterSnapshot.current();
+      if (snapshot != null) {
+        List<StudentDetail> studentDetails = searchCache.put(key, snapshot.search(key.name(),
+            key.area(), key.courseName(), status), stamp);
+        if (sampled) {
+          logger.info(HOT_READ, "学生検索完了(スナップショット): {}件", studentDetails.size());
+        }
+        return studentDetails;
+      }
+
+      List<Student> students;
+      if ((key.name() != null || key.area() != null) && searchIndex.isReady()) {
+        List<Integer> candidateIds = searchIndex.findIds(key.name(), key.area());
+        students = searchStudentsByIds(candidateIds, key.courseName(), status);
+      } else {
+        students = repository.searchStudents(key.name(), key.area(), key.courseName(), status);
+      }
+      if (status != null && statusWriteBehind.isEnabled()) {
+        students = addQueuedStatusMatches(students, key, status);
+      }
+      List<StudentCourse> courses = getCoursesForStudents(students);
+      List<StudentDetail> details =
+          converter.toDetails(students, statusWriteBehind.overlayCourses(courses));
+      if (status != null && statusWriteBehind.isEnabled()) {
+        // DBの値で一致したが、書き込み待ちの値では一致しなくなった学生を除く
+        EnrollmentStatusCode matched = status;
+        details = details.stream()
+            .filter(detail -> hasMatchingCourse(detail, key.courseName(), matched))
+            .toList();
+      }
+      List<StudentDetail> studentDetails = searchCache.put(key, details, stamp);
+
+      if (sampled) {
+        logger.info(HOT_READ, "学生検索完了: {}件", studentDetails.size());
+      }
       return studentDetails;
 
     } catch (Exception e) {
@@ -254,4 +718,204 @@ public class StudentService {
       throw new RuntimeException("学生検索に失敗しました", e);
     }
   }
-}
\ No newline at end of file
+
+  /**
+   * 検索インデックスで求めた候補IDの学生を、コース名・申込状況で絞り込んで取得
+   *
+   * <p>IN句が大きくなりすぎないよう、IN_CLAUSE_CHUNK_SIZE件ずつ分割して取得します。</p>
+   *
+   * @param ids              候補の学生ID（昇順）
+   * @param courseName       コース名（完全一致）
+   * @param enrollmentStatus 申込状況（完全一致）
+   * @return 条件に一致する学生のリスト（学生ID昇順）
+   */
+  private List<Student> searchStudentsByIds(List<Integer> ids, String courseName,
+      EnrollmentStatusCode enrollmentStatus) {
+    List<Student> students = new ArrayList<>();
+    for (int from = 0; from < ids.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+      int to = Math.min(from + IN_CLAUSE_CHUNK_SIZE, ids.size());
+      students.addAll(
+          repository.searchStudentsByIds(ids.subList(from, to), courseName, enrollmentStatus));
+    }
+    return students;
+  }
+
+  /**
+   * 書き込み待ちの申込状況が検索条件に一致する学生を、DBの値で一致した学生に加える
+   *
+   * <p>書き込み待ちの学生だけを主キーで取得し、名前・地域はSQLの検索と同じく部分一致
+   * （英字の大文字・小文字は区別しない）で判定します。</p>
+   *
+   * @param students DBの値で検索条件に一致した学生（学生ID昇順）
+   * @param key      検索条件
+   * @param status   申込状況
+   * @return 書き込み待ちの学生を加えた学生のリスト（学生ID昇順）
+   */
+  private List<Student> addQueuedStatusMatches(List<Student> students, SearchKey key,
+      EnrollmentStatusCode status) {
+    Set<Integer> queuedIds = new HashSet<>(statusWriteBehind.pendingStudentIds(status));
+    students.forEach(student -> queuedIds.remove(student.getId()));
+    if (queuedIds.isEmpty()) {
+      return students;
+    }
+    List<Integer> ids = queuedIds.stream().sorted().toList();
+    List<Student> merged = new ArrayList<>(students);
+    searchStudentsByIds(ids, key.courseName(), null).stream()
+        .filter(student -> matchesNameAndArea(student, key.name(), key.area()))
+        .forEach(merged::add);
+    merged.sort(Comparator.comparing(Student::getId));
+    return merged;
+  }
+
+  private static boolean matchesNameAndArea(Student student, String name, String area) {
+    if (area != null && !containsIgnoreCase(student.getArea(), area)) {
+      return false;
+    }
+    return name == null || containsIgnoreCase(student.getName(), name)
+        || containsIgnoreCase(student.getKanaName(), name)
+        || containsIgnoreCase(student.getNickname(), name);
+  }
+
+  private static boolean containsIgnoreCase(String text, String term) {
+    return text != null && text.toLowerCase(Locale.ROOT).contains(term.toLowerCase(Locale.ROOT));
+  }
+
+  /**
+   * コース名と申込状況の両方に一致するコースがあるか（SQLの検索と同じく同じコースで判定）
+   */
+  private static boolean hasMatchingCourse(StudentDetail detail, String courseName,
+      EnrollmentStatusCode status) {
+    return detail.getStudentCourse().stream().anyMatch(course ->
+        (courseName == null || courseName.equals(course.getCourseName()))
+            && course.getEnrollmentStatus() != null
+            && course.getEnrollmentStatus().getStatus() == status);
+  }
+
+  /**
+   * 変更イベント用に変更前の学生とコース・申込状況を取得し、書き込み待ちの申込状況を重ねる
+   *
+   * <p>変更後の学生詳細は再取得せず、{@link #applyChanges}で変更前の値に更新内容を適用して作ります。</p>
+   *
+   * @param id 学生ID
+   * @return 学生詳細、存在しない（削除済みを含む）場合はnull
+   */
+  private StudentDetail loadDetail(int id) {
+    Student student = repository.getStudentById(id);
+    if (student == null) {
+      return null;
+    }
+    StudentDetail detail = new StudentDetail();
+    detail.setStudent(student);
+    detail.setStudentCourse(repository.getCoursesByStudentId(id));
+    return statusWriteBehind.overlay(detail);
+  }
+
+  /**
+   * 変更前の学生詳細に更新内容を適用した変更後の学生詳細を作成（変更イベント用）
+   *
+   * @param before        変更前の学生詳細（nullの場合はnullを返す）
+   * @param student       変更後の学生情報
+   * @param changedCourse 更新内容を適用したコース（コースを変更していない場合はnull）
+   * @return 変更後の学生詳細
+   */
+  private static StudentDetail applyChanges(StudentDetail before, Student student,
+      StudentCourse changedCourse) {
+    if (before == null) {
+      return null;
+    }
+    StudentDetail after = new StudentDetail();
+    after.setStudent(student);
+    after.setStudentCourse(before.getStudentCourse().stream()
+        .map(course -> changedCourse != null && Objects.equals(course.getId(),
+            changedCourse.getId()) ? changedCourse : course)
+        .toList());
+    return after;
+  }
+
+  private static Optional<StudentCourse> findCourse(StudentDetail detail, Integer courseId) {
+    if (detail == null) {
+      return Optional.empty();
+    }
+    return detail.getStudentCourse().stream()
+        .filter(c -> Objects.equals(courseId, c.getId()))
+        .findFirst();
+  }
+
+  /**
+   * 学生情報をコピー（変更前の学生詳細を変更しないため）
+   */
+  private static Student copyStudent(Student student) {
+    Student copy = new Student();
+    copy.setId(student.getId());
+    copy.setName(student.getName());
+    copy.setKanaName(student.getKanaName());
+    copy.setNickname(student.getNickname());
+    copy.setEmail(student.getEmail());
+    copy.setArea(student.getArea());
+    copy.setAge(student.getAge());
+    copy.setSex(student.getSex());
+    copy.setRemark(student.getRemark());
+    copy.setDeleted(student.getDeleted());
+    return copy;
+  }
+
+  /**
+   * 部分更新で変更した（nullでない）項目だけを学生情報に反映
+   */
+  private static void mergeStudent(Student target, Student changes) {
+    Optional.ofNullable(changes.getName()).ifPresent(target::setName);
+    Optional.ofNullable(changes.getKanaName()).ifPresent(target::setKanaName);
+    Optional.ofNullable(changes.getNickname()).ifPresent(target::setNickname);
+    Optional.ofNullable(changes.getEmail()).ifPresent(target::setEmail);
+    Optional.ofNullable(changes.getArea()).ifPresent(target::setArea);
+    Optional.ofNullable(changes.getAge()).ifPresent(target::setAge);
+    Optional.ofNullable(changes.getSex()).ifPresent(target::setSex);
+    Optional.ofNullable(changes.getRemark()).ifPresent(target::setRemark);
+  }
+
+  /**
+   * コースと申込状況をコピー（変更前の学生詳細を変更しないため）
+   */
+  private static StudentCourse copyCourse(StudentCourse course) {
+    StudentCourse copy = new StudentCourse();
+    copy.setId(course.getId());
+    copy.setStudentId(course.getStudentId());
+    copy.setStudentName(course.getStudentName());
+    copy.setCourseName(course.getCourseName());
+    copy.setCourseStartAt(course.getCourseStartAt());
+    copy.setCourseEndAt(course.getCourseEndAt());
+    if (course.getEnrollmentStatus() != null) {
+      EnrollmentStatus status = new EnrollmentStatus();
+      status.setId(course.getEnrollmentStatus().getId());
+      status.setCourseId(course.getEnrollmentStatus().getCourseId());
+      status.setStatus(course.getEnrollmentStatus().getStatus());
+      copy.setEnrollmentStatus(status);
+    }
+    return copy;
+  }
+
+  /**
+   * 指定した学生のコース情報のみを取得
+   *
+   * <p>IN句が大きくなりすぎないよう、IN_CLAUSE_CHUNK_SIZE件ずつ分割して取得します。</p>
+   *
+   * @param students 対象の学生リスト
+   * @return 対象学生のコース情報
+   */
+  private List<StudentCourse> getCoursesForStudents(List<Student> students) {
+    if (students.isEmpty()) {
+      return List.of();
+    }
+
+    List<Integer> studentIds = students.stream()
+        .map(Student::getId)
+        .toList();
+
+    List<StudentCourse> courses = new ArrayList<>();
+    for (int from = 0; from < studentIds.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+      int to = Math.min(from + IN_CLAUSE_CHUNK_SIZE, studentIds.size());
+      courses.addAll(repository.getCoursesByStudentIds(studentIds.subList(from, to)));
+    }
+    return courses;
+  }
+}
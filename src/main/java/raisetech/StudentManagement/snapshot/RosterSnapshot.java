@@ -0,0 +1,615 @@
+package raisetech.StudentManagement.snapshot;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import raisetech.StudentManagement.data.EnrollmentStatus;
+import raisetech.StudentManagement.data.EnrollmentStatusCode;
+import raisetech.StudentManagement.data.Student;
+import raisetech.StudentManagement.data.StudentCourse;
+import raisetech.StudentManagement.domain.StudentDetail;
+
+/**
+ * 有効な学生とコース・申込状況の列指向スナップショット（不変）
+ *
+ * <p>1行ごとにStudent/StudentCourse/EnrollmentStatusを保持する代わりに、列ごとのプリミティブ配列で保持します。</p>
+ * <ul>
+ *   <li>ID・年齢: int[]（nullは{@link #NULL_INT}）</li>
+ *   <li>日付: エポック日のint[]（nullは{@link #NULL_INT}）</li>
+ *   <li>地域・コース名: 辞書コードのshort[]、性別: 辞書コードのbyte[]（nullは{@link #NO_CODE}）</li>
+ *   <li>申込状況: {@link EnrollmentStatusCode}のコードのbyte[]（nullは{@link #NO_CODE}）</li>
+ * </ul>
+ * <p>検索は列を走査して条件に一致した行だけをオブジェクトに変換するため、JDBCの読み出しも不要です。</p>
+ * <p>学生は学生ID順、コースは学生ID・コースID順に並びます（SQLの一覧・検索と同じ順序）。</p>
+ * <p>コースは削除済みの学生のものも保持します（コース一覧は削除済みの学生のコースを含むため）。</p>
+ */
+public final class RosterSnapshot {
+
+  /** int列のnull */
+  static final int NULL_INT = Integer.MIN_VALUE;
+
+  /** 辞書コードのnull */
+  static final int NO_CODE = -1;
+
+  private static final RosterSnapshot EMPTY = new Builder(null, 0, 0).build();
+
+  // ===== 学生の列（学生ID昇順） =====
+  private final int studentCount;
+  private final int[] studentIds;
+  private final String[] names;
+  private final String[] kanaNames;
+  private final String[] nicknames;
+  private final String[] emails;
+  private final short[] areaCodes;
+  private final int[] ages;
+  private final byte[] sexCodes;
+  private final String[] remarks;
+
+  // ===== コースの列（学生ID・コースID昇順） =====
+  private final int courseCount;
+  private final int[] courseIds;
+  private final int[] courseStudentIds;
+  private final String[] courseStudentNames;
+  private final short[] courseNameCodes;
+  private final int[] courseStartDays;
+  private final int[] courseEndDays;
+  private final int[] statusIds;
+  private final byte[] statusCodes;
+
+  // ===== 辞書（コード → 値） =====
+  private final String[] areas;
+  private final String[] courseNames;
+  private final String[] sexes;
+
+  private RosterSnapshot(Builder b) {
+    this.studentCount = b.studentCount;
+    this.studentIds = b.studentIds;
+    this.names = b.names;
+    this.kanaNames = b.kanaNames;
+    this.nicknames = b.nicknames;
+    this.emails = b.emails;
+    this.areaCodes = b.areaCodes;
+    this.ages = b.ages;
+    this.sexCodes = b.sexCodes;
+    this.remarks = b.remarks;
+    this.courseCount = b.courseCount;
+    this.courseIds = b.courseIds;
+    this.courseStudentIds = b.courseStudentIds;
+    this.courseStudentNames = b.courseStudentNames;
+    this.courseNameCodes = b.courseNameCodes;
+    this.courseStartDays = b.courseStartDays;
+    this.courseEndDays = b.courseEndDays;
+    this.statusIds = b.statusIds;
+    this.statusCodes = b.statusCodes;
+    this.areas = b.areas.toArray();
+    this.courseNames = b.courseNames.toArray();
+    this.sexes = b.sexes.toArray();
+  }
+
+  /**
+   * 申込状況の列だけを差し替えたコピー（他の列と辞書は共有する。どちらも変更しないため）
+   */
+  private RosterSnapshot(RosterSnapshot base, byte[] statusCodes) {
+    this.studentCount = base.studentCount;
+    this.studentIds = base.studentIds;
+    this.names = base.names;
+    this.kanaNames = base.kanaNames;
+    this.nicknames = base.nicknames;
+    this.emails = base.emails;
+    this.areaCodes = base.areaCodes;
+    this.ages = base.ages;
+    this.sexCodes = base.sexCodes;
+    this.remarks = base.remarks;
+    this.courseCount = base.courseCount;
+    this.courseIds = base.courseIds;
+    this.courseStudentIds = base.courseStudentIds;
+    this.courseStudentNames = base.courseStudentNames;
+    this.courseNameCodes = base.courseNameCodes;
+    this.courseStartDays = base.courseStartDays;
+    this.courseEndDays = base.courseEndDays;
+    this.statusIds = base.statusIds;
+    this.statusCodes = statusCodes;
+    this.areas = base.areas;
+    this.courseNames = base.courseNames;
+    this.sexes = base.sexes;
+  }
+
+  /**
+   * 空のスナップショット
+   */
+  public static RosterSnapshot empty() {
+    return EMPTY;
+  }
+
+  /**
+   * DBの一覧からスナップショットを構築
+   *
+   * @param activeStudents 有効な学生の全件（学生ID昇順）
+   * @param allCourses     全コース（学生ID・コースID昇順、削除済みの学生のコースを含む）
+   * @return スナップショット
+   * @throws IllegalStateException 辞書の種類数が上限を超えた場合
+   */
+  public static RosterSnapshot build(List<Student> activeStudents, List<StudentCourse> allCourses) {
+    Builder b = new Builder(null, activeStudents.size(), allCourses.size());
+    activeStudents.forEach(b::addStudent);
+    allCourses.forEach(course -> b.addCourse(course, course.getStudentName()));
+    return b.build();
+  }
+
+  /**
+   * 1人の学生を差し替えた新しいスナップショットを作成（このスナップショットは変更しない）
+   *
+   * @param studentId 学生ID
+   * @param after     変更後の学生とコース・申込状況（削除の場合はnull、コースは残す）
+   * @return 差し替え後のスナップショット
+   * @throws IllegalStateException 辞書の種類数が上限を超えた場合
+   * @see #withStudents(Map)
+   */
+  public RosterSnapshot withStudent(int studentId, StudentDetail after) {
+    return withStudents(Collections.singletonMap(studentId, after));
+  }
+
+  /**
+   * 複数の学生を差し替えた新しいスナップショットを1回のコピーで作成（このスナップショットは変更しない）
+   *
+   * <p>変更された学生の間の行は列ごとにまとめてコピーし、辞書コードもそのまま引き継ぎます。
+   * 一括登録のように1トランザクションで多数の学生が変わっても、全体のコピーは1回です。</p>
+   *
+   * @param changes 学生ID → 変更後の学生とコース・申込状況（削除の場合はnull、コースは残す）
+   * @return 差し替え後のスナップショット
+   * @throws IllegalStateException 辞書の種類数が上限を超えた場合
+   */
+  public RosterSnapshot withStudents(Map<Integer, StudentDetail> changes) {
+    if (changes.isEmpty()) {
+      return this;
+    }
+    TreeMap<Integer, StudentDetail> sorted = new TreeMap<>(changes);
+    int addedCourses = 0;
+    for (StudentDetail after : sorted.values()) {
+      if (after != null && after.getStudentCourse() != null) {
+        addedCourses += after.getStudentCourse().size();
+      }
+    }
+    Builder b = new Builder(this, studentCount + sorted.size(), courseCount + addedCourses);
+
+    int studentPos = 0;
+    int coursePos = 0;
+    for (Map.Entry<Integer, StudentDetail> change : sorted.entrySet()) {
+      int studentId = change.getKey();
+      StudentDetail after = change.getValue();
+
+      int from = lowerBound(studentIds, studentCount, studentId);
+      b.copyStudents(this, studentPos, from);
+      if (after != null) {
+        b.addStudent(after.getStudent());
+      }
+      studentPos = from < studentCount && studentIds[from] == studentId ? from + 1 : from;
+
+      int courseFrom = lowerBound(courseStudentIds, courseCount, studentId);
+      int courseTo = lowerBound(courseStudentIds, courseCount, studentId + 1);
+      b.copyCourses(this, coursePos, courseFrom);
+      if (after != null) {
+        List<StudentCourse> afterCourses = after.getStudentCourse() != null
+            ? new ArrayList<>(after.getStudentCourse())
+            : new ArrayList<>();
+        afterCourses.sort(Comparator.comparing(StudentCourse::getId));
+        String studentName = after.getStudent().getName();
+        afterCourses.forEach(course -> b.addCourse(course, studentName));
+      } else {
+        b.copyCourses(this, courseFrom, courseTo);
+      }
+      coursePos = courseTo;
+    }
+    b.copyStudents(this, studentPos, studentCount);
+    b.copyCourses(this, coursePos, courseCount);
+    return b.build();
+  }
+
+  /**
+   * コースの申込状況を差し替えた新しいスナップショットを作成（このスナップショットは変更しない）
+   *
+   * <p>申込状況の列だけをコピーし、他の列は共有します。
+   * 申込状況の行がないコースと、スナップショットにないコースは無視します。</p>
+   *
+   * @param statuses コースID → 申込状況
+   * @return 差し替え後のスナップショット（変わるコースがない場合はこのスナップショット）
+   */
+  public RosterSnapshot withStatuses(Map<Integer, EnrollmentStatusCode> statuses) {
+    byte[] codes = null;
+    for (int row = 0; row < courseCount; row++) {
+      EnrollmentStatusCode status = statuses.get(courseIds[row]);
+      boolean hasStatus = statusIds[row] != NULL_INT || statusCodes[row] != NO_CODE;
+      if (status == null || !hasStatus || statusCodes[row] == status.getCode()) {
+        continue;
+      }
+      if (codes == null) {
+        codes = statusCodes.clone();
+      }
+      codes[row] = status.getCode();
+    }
+    return codes != null ? new RosterSnapshot(this, codes) : this;
+  }
+
+  /**
+   * 有効な学生の件数
+   */
+  public int studentCount() {
+    return studentCount;
+  }
+
+  /**
+   * コースの件数（削除済みの学生のコースを含む）
+   */
+  public int courseCount() {
+    return courseCount;
+  }
+
+  /**
+   * 有効な学生の一覧（学生ID昇順）
+   */
+  public List<Student> students() {
+    List<Student> result = new ArrayList<>(studentCount);
+    for (int row = 0; row < studentCount; row++) {
+      result.add(toStudent(row));
+    }
+    return result;
+  }
+
+  /**
+   * 全コースの一覧（学生ID・コースID昇順、削除済みの学生のコースを含む）
+   */
+  public List<StudentCourse> courses() {
+    List<StudentCourse> result = new ArrayList<>(courseCount);
+    for (int row = 0; row < courseCount; row++) {
+      result.add(toCourse(row));
+    }
+    return result;
+  }
+
+  /**
+   * 検索条件に一致する学生を学生詳細（全コース付き）として取得
+   *
+   * <p>SQLの検索と同じ条件で判定します。</p>
+   * <ul>
+   *   <li>名前: 名前・カナ名・ニックネームのいずれかに部分一致（英字の大文字・小文字は区別しない）</li>
+   *   <li>地域: 部分一致（地域の辞書に対して1回だけ判定）</li>
+   *   <li>コース名・申込状況: 同じコースが両方に完全一致</li>
+   * </ul>
+   *
+   * @param name             名前（nullは条件なし）
+   * @param area             地域（nullは条件なし）
+   * @param courseName       コース名（nullは条件なし）
+   * @param enrollmentStatus 申込状況（nullは条件なし）
+   * @return 条件に一致する学生詳細のリスト（学生ID昇順）
+   */
+  public List<StudentDetail> search(String name, String area, String courseName,
+      EnrollmentStatusCode enrollmentStatus) {
+    boolean[] areaMatches = null;
+    if (area != null) {
+      areaMatches = new boolean[areas.length];
+      for (int code = 0; code < areas.length; code++) {
+        areaMatches[code] = containsIgnoreCase(areas[code], area);
+      }
+    }
+    int courseNameCode = courseName != null ? indexOf(courseNames, courseName) : NO_CODE;
+    int statusCode = enrollmentStatus != null ? enrollmentStatus.getCode() : NO_CODE;
+    if (courseName != null && courseNameCode == NO_CODE) {
+      return List.of();
+    }
+    boolean hasCourseConditions = courseName != null || enrollmentStatus != null;
+
+    List<StudentDetail> result = new ArrayList<>();
+    int courseRow = 0;
+    for (int row = 0; row < studentCount; row++) {
+      int id = studentIds[row];
+      // 学生・コースとも学生ID順のため、コースの位置は前から順に進めるだけでよい
+      while (courseRow < courseCount && courseStudentIds[courseRow] < id) {
+        courseRow++;
+      }
+      int courseEnd = courseRow;
+      while (courseEnd < courseCount && courseStudentIds[courseEnd] == id) {
+        courseEnd++;
+      }
+
+      if (areaMatches != null && (areaCodes[row] == NO_CODE || !areaMatches[areaCodes[row]])) {
+        continue;
+      }
+      if (name != null && !containsIgnoreCase(names[row], name)
+          && !containsIgnoreCase(kanaNames[row], name)
+          && !containsIgnoreCase(nicknames[row], name)) {
+        continue;
+      }
+      if (hasCourseConditions
+          && !anyCourseMatches(courseRow, courseEnd, courseNameCode, statusCode)) {
+        continue;
+      }
+      result.add(toDetail(row, courseRow, courseEnd));
+    }
+    return result;
+  }
+
+  private boolean anyCourseMatches(int from, int to, int courseNameCode, int statusCode) {
+    for (int c = from; c < to; c++) {
+      if ((courseNameCode == NO_CODE || courseNameCodes[c] == courseNameCode)
+          && (statusCode == NO_CODE || statusCodes[c] == statusCode)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private StudentDetail toDetail(int row, int courseFrom, int courseTo) {
+    List<StudentCourse> courses = new ArrayList<>(courseTo - courseFrom);
+    for (int c = courseFrom; c < courseTo; c++) {
+      courses.add(toCourse(c));
+    }
+    StudentDetail detail = new StudentDetail();
+    detail.setStudent(toStudent(row));
+    detail.setStudentCourse(courses);
+    return detail;
+  }
+
+  private Student toStudent(int row) {
+    Student student = new Student();
+    student.setId(studentIds[row]);
+    student.setName(names[row]);
+    student.setKanaName(kanaNames[row]);
+    student.setNickname(nicknames[row]);
+    student.setEmail(emails[row]);
+    student.setArea(decode(areas, areaCodes[row]));
+    student.setAge(ages[row] == NULL_INT ? null : ages[row]);
+    student.setSex(decode(sexes, sexCodes[row]));
+    student.setRemark(remarks[row]);
+    student.setDeleted(false);
+    return student;
+  }
+
+  private StudentCourse toCourse(int row) {
+    StudentCourse course = new StudentCourse();
+    course.setId(courseIds[row]);
+    course.setStudentId(courseStudentIds[row]);
+    course.setStudentName(courseStudentNames[row]);
+    course.setCourseName(decode(courseNames, courseNameCodes[row]));
+    course.setCourseStartAt(toDate(courseStartDays[row]));
+    course.setCourseEndAt(toDate(courseEndDays[row]));
+    if (statusIds[row] != NULL_INT || statusCodes[row] != NO_CODE) {
+      EnrollmentStatus status = new EnrollmentStatus();
+      status.setId(statusIds[row] == NULL_INT ? null : statusIds[row]);
+      status.setCourseId(courseIds[row]);
+      status.setStatus(
+          statusCodes[row] == NO_CODE ? null : EnrollmentStatusCode.fromCode(statusCodes[row]));
+      course.setEnrollmentStatus(status);
+    }
+    return course;
+  }
+
+  private static String decode(String[] dictionary, int code) {
+    return code == NO_CODE ? null : dictionary[code];
+  }
+
+  private static LocalDate toDate(int epochDay) {
+    return epochDay == NULL_INT ? null : LocalDate.ofEpochDay(epochDay);
+  }
+
+  private static int toEpochDay(LocalDate date) {
+    return date == null ? NULL_INT : Math.toIntExact(date.toEpochDay());
+  }
+
+  private static int indexOf(String[] dictionary, String value) {
+    for (int code = 0; code < dictionary.length; code++) {
+      if (value.equals(dictionary[code])) {
+        return code;
+      }
+    }
+    return NO_CODE;
+  }
+
+  /**
+   * 部分一致の判定（英字の大文字・小文字は区別しない、文字列を生成しない）
+   */
+  private static boolean containsIgnoreCase(String text, String term) {
+    if (text == null) {
+      return false;
+    }
+    int last = text.length() - term.length();
+    for (int i = 0; i <= last; i++) {
+      if (text.regionMatches(true, i, term, 0, term.length())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * 昇順のint配列でkey以上となる最初の位置
+   */
+  private static int lowerBound(int[] sorted, int count, int key) {
+    int low = 0;
+    int high = count;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (sorted[mid] < key) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * 辞書（値 → コード）。コードは追加順で、差し替え時も既存のコードを変えない
+   */
+  private static final class Dictionary {
+
+    private final int maxCode;
+    private final List<String> values;
+    private final Map<String, Integer> codes;
+
+    Dictionary(String[] seed, int maxCode) {
+      this.maxCode = maxCode;
+      this.values = seed != null ? new ArrayList<>(Arrays.asList(seed)) : new ArrayList<>();
+      this.codes = new HashMap<>();
+      for (int code = 0; code < values.size(); code++) {
+        codes.put(values.get(code), code);
+      }
+    }
+
+    int encode(String value) {
+      if (value == null) {
+        return NO_CODE;
+      }
+      Integer code = codes.get(value);
+      if (code != null) {
+        return code;
+      }
+      if (values.size() > maxCode) {
+        throw new IllegalStateException("スナップショットの辞書の種類数が上限(" + (maxCode + 1) + ")を超えました");
+      }
+      values.add(value);
+      codes.put(value, values.size() - 1);
+      return values.size() - 1;
+    }
+
+    String[] toArray() {
+      return values.toArray(new String[0]);
+    }
+  }
+
+  /**
+   * 列ごとの配列へ行を追加してスナップショットを組み立てる
+   */
+  private static final class Builder {
+
+    private int studentCount;
+    private final int[] studentIds;
+    private final String[] names;
+    private final String[] kanaNames;
+    private final String[] nicknames;
+    private final String[] emails;
+    private final short[] areaCodes;
+    private final int[] ages;
+    private final byte[] sexCodes;
+    private final String[] remarks;
+
+    private int courseCount;
+    private final int[] courseIds;
+    private final int[] courseStudentIds;
+    private final String[] courseStudentNames;
+    private final short[] courseNameCodes;
+    private final int[] courseStartDays;
+    private final int[] courseEndDays;
+    private final int[] statusIds;
+    private final byte[] statusCodes;
+
+    private final Dictionary areas;
+    private final Dictionary courseNames;
+    private final Dictionary sexes;
+
+    /**
+     * @param base            辞書を引き継ぐスナップショット（新規構築の場合はnull）
+     * @param studentCapacity 学生の最大件数
+     * @param courseCapacity  コースの最大件数
+     */
+    Builder(RosterSnapshot base, int studentCapacity, int courseCapacity) {
+      studentIds = new int[studentCapacity];
+      names = new String[studentCapacity];
+      kanaNames = new String[studentCapacity];
+      nicknames = new String[studentCapacity];
+      emails = new String[studentCapacity];
+      areaCodes = new short[studentCapacity];
+      ages = new int[studentCapacity];
+      sexCodes = new byte[studentCapacity];
+      remarks = new String[studentCapacity];
+
+      courseIds = new int[courseCapacity];
+      courseStudentIds = new int[courseCapacity];
+      courseStudentNames = new String[courseCapacity];
+      courseNameCodes = new short[courseCapacity];
+      courseStartDays = new int[courseCapacity];
+      courseEndDays = new int[courseCapacity];
+      statusIds = new int[courseCapacity];
+      statusCodes = new byte[courseCapacity];
+
+      areas = new Dictionary(base != null ? base.areas : null, Short.MAX_VALUE);
+      courseNames = new Dictionary(base != null ? base.courseNames : null, Short.MAX_VALUE);
+      sexes = new Dictionary(base != null ? base.sexes : null, Byte.MAX_VALUE);
+    }
+
+    void addStudent(Student student) {
+      int row = studentCount++;
+      if (row > 0 && studentIds[row - 1] >= student.getId()) {
+        throw new IllegalArgumentException("学生は学生ID昇順で追加してください: ID=" + student.getId());
+      }
+      studentIds[row] = student.getId();
+      names[row] = student.getName();
+      kanaNames[row] = student.getKanaName();
+      nicknames[row] = student.getNickname();
+      emails[row] = student.getEmail();
+      areaCodes[row] = (short) areas.encode(student.getArea());
+      ages[row] = student.getAge() == null ? NULL_INT : student.getAge();
+      sexCodes[row] = (byte) sexes.encode(student.getSex());
+      remarks[row] = student.getRemark();
+    }
+
+    void addCourse(StudentCourse course, String studentName) {
+      int row = courseCount++;
+      courseIds[row] = course.getId();
+      courseStudentIds[row] = course.getStudentId();
+      courseStudentNames[row] = studentName;
+      courseNameCodes[row] = (short) courseNames.encode(course.getCourseName());
+      courseStartDays[row] = toEpochDay(course.getCourseStartAt());
+      courseEndDays[row] = toEpochDay(course.getCourseEndAt());
+      EnrollmentStatus status = course.getEnrollmentStatus();
+      statusIds[row] = status == null || status.getId() == null ? NULL_INT : status.getId();
+      statusCodes[row] = status == null || status.getStatus() == null
+          ? NO_CODE
+          : status.getStatus().getCode();
+    }
+
+    void copyStudents(RosterSnapshot src, int from, int to) {
+      int length = to - from;
+      if (length <= 0) {
+        return;
+      }
+      int dest = studentCount;
+      System.arraycopy(src.studentIds, from, studentIds, dest, length);
+      System.arraycopy(src.names, from, names, dest, length);
+      System.arraycopy(src.kanaNames, from, kanaNames, dest, length);
+      System.arraycopy(src.nicknames, from, nicknames, dest, length);
+      System.arraycopy(src.emails, from, emails, dest, length);
+      System.arraycopy(src.areaCodes, from, areaCodes, dest, length);
+      System.arraycopy(src.ages, from, ages, dest, length);
+      System.arraycopy(src.sexCodes, from, sexCodes, dest, length);
+      System.arraycopy(src.remarks, from, remarks, dest, length);
+      studentCount += length;
+    }
+
+    void copyCourses(RosterSnapshot src, int from, int to) {
+      int length = to - from;
+      if (length <= 0) {
+        return;
+      }
+      int dest = courseCount;
+      System.arraycopy(src.courseIds, from, courseIds, dest, length);
+      System.arraycopy(src.courseStudentIds, from, courseStudentIds, dest, length);
+      System.arraycopy(src.courseStudentNames, from, courseStudentNames, dest, length);
+      System.arraycopy(src.courseNameCodes, from, courseNameCodes, dest, length);
+      System.arraycopy(src.courseStartDays, from, courseStartDays, dest, length);
+      System.arraycopy(src.courseEndDays, from, courseEndDays, dest, length);
+      System.arraycopy(src.statusIds, from, statusIds, dest, length);
+      System.arraycopy(src.statusCodes, from, statusCodes, dest, length);
+      courseCount += length;
+    }
+
+    RosterSnapshot build() {
+      return new RosterSnapshot(this);
+    }
+  }
+}
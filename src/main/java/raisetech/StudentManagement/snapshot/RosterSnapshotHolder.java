@@ -0,0 +1,320 @@
+package raisetech.StudentManagement.snapshot;
+
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.UnaryOperator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import raisetech.StudentManagement.domain.StudentDetail;
+import raisetech.StudentManagement.event.EnrollmentStatusFlushedEvent;
+import raisetech.StudentManagement.event.StudentChangedEvent;
+import raisetech.StudentManagement.event.StudentChangedEvent.ChangeType;
+import raisetech.StudentManagement.repository.StudentRepository;
+import raisetech.StudentManagement.writebehind.EnrollmentStatusWriteBehind;
+
+/**
+ * 学生一覧・コース一覧・検索に使う列指向スナップショットの保持（student.snapshot.enabled=trueの場合のみ）
+ *
+ * <p>起動完了時に全件から構築し、以降はコミット後の変更イベントで変更された学生だけを差し替えた
+ * 新しいスナップショットを作り、参照を差し替えて公開します。
+ * 変更イベントはトランザクションごとにまとめ、コミット後に1回で差し替えます。</p>
+ * <p>スナップショットは不変のため、読み取り側はロックなしで{@link #current()}を使えます。</p>
+ * <p>差し替えで辞書に残った不要な値は、定期的な再構築で取り除きます。</p>
+ * <p>全件の読み込みはロックの外で行い、構築中にコミットされた変更は記録しておいて公開前に適用します。
+ * コミットしたリクエストのスレッドが再構築のSQLを待つことはありません（仮想スレッドの固定も避ける）。</p>
+ * <p>申込状況の書き込みを遅らせている場合、構築時はDBのコースに書き込み待ちの値を重ね、
+ * 書き込み待ちの値がDBに反映されたイベントでも申込状況を補正します（読み込みと反映が重なった場合の取りこぼし対策）。</p>
+ */
+@Component
+public class RosterSnapshotHolder {
+
+  private static final Logger logger = LoggerFactory.getLogger(RosterSnapshotHolder.class);
+
+  private final StudentRepository repository;
+
+  private final EnrollmentStatusWriteBehind statusWriteBehind;
+
+  private final boolean enabled;
+
+  /** current・pendingChanges・staleDuringBuildの更新を保護（保持中にSQLは実行しない） */
+  private final ReentrantLock lock = new ReentrantLock();
+
+  /** 再構築どうしの直列化（変更イベントの反映はこのロックを待たない） */
+  private final ReentrantLock rebuildLock = new ReentrantLock();
+
+  /** 再構築を1件ずつ実行する（変更後の学生詳細がない変更の再構築をリクエストのスレッドで行わないため） */
+  private final ExecutorService rebuildExecutor;
+
+  /** 公開中のスナップショット（未構築・無効の場合はnull） */
+  private volatile RosterSnapshot current;
+
+  /** 構築中にコミットされた変更と申込状況の反映（構築中でない場合はnull、発生順） */
+  private List<UnaryOperator<RosterSnapshot>> pendingChanges;
+
+  /** トランザクション内の変更イベントを束ねるリソースのキー */
+  private final Object changesKey = new Object();
+
+  /** 構築中に差分で反映できない変更があった（構築結果を公開せずに作り直す） */
+  private boolean staleDuringBuild;
+
+  public RosterSnapshotHolder(StudentRepository repository,
+      EnrollmentStatusWriteBehind statusWriteBehind,
+      @Value("${student.snapshot.enabled:false}") boolean enabled) {
+    this.repository = repository;
+    this.statusWriteBehind = statusWriteBehind;
+    this.enabled = enabled;
+    this.rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "roster-snapshot-rebuild");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    rebuildExecutor.shutdownNow();
+  }
+
+  /**
+   * 公開中のスナップショット
+   *
+   * @return スナップショット、無効または構築前の場合はnull（DBから取得すること）
+   */
+  public RosterSnapshot current() {
+    return current;
+  }
+
+  /**
+   * 起動完了時に全件から構築
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void initialize() {
+    if (enabled) {
+      rebuild();
+    }
+  }
+
+  /**
+   * 定期的に全件から再構築（辞書の整理とDBとの照合、構築失敗からの復旧）
+   */
+  @Scheduled(fixedDelayString = "${student.snapshot.rebuild-interval:PT30M}",
+      initialDelayString = "${student.snapshot.rebuild-interval:PT30M}")
+  public void scheduledRebuild() {
+    if (enabled) {
+      rebuild();
+    }
+  }
+
+  /**
+   * 有効な学生と全コースを読み込んでスナップショットを作り直す
+   *
+   * <p>読み込みの開始以降にコミットされた変更は構築後に適用してから公開するため、反映漏れになりません。
+   * 同じ学生を読み込み済みの場合も、変更後の学生詳細で置き換えるだけなので二重には反映されません。</p>
+   */
+  public void rebuild() {
+    rebuildLock.lock();
+    try {
+      boolean retry;
+      do {
+        retry = rebuildOnce();
+      } while (retry);
+    } finally {
+      rebuildLock.unlock();
+    }
+  }
+
+  /**
+   * @return 構築中に差分で反映できない変更があり、作り直す必要がある場合はtrue
+   */
+  private boolean rebuildOnce() {
+    lock.lock();
+    try {
+      pendingChanges = new ArrayList<>();
+      staleDuringBuild = false;
+    } finally {
+      lock.unlock();
+    }
+
+    long start = System.nanoTime();
+    RosterSnapshot snapshot;
+    try {
+      snapshot = RosterSnapshot.build(repository.getActiveStudents(),
+          statusWriteBehind.overlayCourses(repository.getAllCourses()));
+    } catch (RuntimeException e) {
+      publish(null);
+      logger.error("スナップショットの構築に失敗したため、DBからの取得に切り替えます", e);
+      return false;
+    }
+
+    lock.lock();
+    try {
+      if (staleDuringBuild) {
+        pendingChanges = null;
+        current = null;
+        logger.info("構築中に差分で反映できない変更があったためスナップショットを再構築します");
+        return true;
+      }
+      for (UnaryOperator<RosterSnapshot> change : pendingChanges) {
+        snapshot = change.apply(snapshot);
+      }
+      pendingChanges = null;
+      current = snapshot;
+    } catch (RuntimeException e) {
+      pendingChanges = null;
+      current = null;
+      logger.error("スナップショットの構築に失敗したため、DBからの取得に切り替えます", e);
+      return false;
+    } finally {
+      lock.unlock();
+    }
+    logger.info("スナップショット構築完了: 学生={}件, コース={}件, {}ms", snapshot.studentCount(),
+        snapshot.courseCount(), (System.nanoTime() - start) / 1_000_000);
+    return false;
+  }
+
+  /**
+   * 変更イベントをトランザクションごとにまとめ、コミット後に1回でスナップショットへ反映
+   *
+   * <p>一括登録・取り込みのように1トランザクションで多数の学生が変わっても、スナップショットのコピーは1回です。
+   * ロールバックされた場合は反映しません。トランザクション外で発行された変更はその場で反映します。</p>
+   */
+  @EventListener
+  public void onStudentChanged(StudentChangedEvent event) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()
+        || !TransactionSynchronizationManager.isActualTransactionActive()) {
+      applyChanges(List.of(event));
+      return;
+    }
+    @SuppressWarnings("unchecked")
+    List<StudentChangedEvent> changes =
+        (List<StudentChangedEvent>) TransactionSynchronizationManager.getResource(changesKey);
+    if (changes == null) {
+      List<StudentChangedEvent> collected = new ArrayList<>();
+      TransactionSynchronizationManager.bindResource(changesKey, collected);
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCompletion(int status) {
+          TransactionSynchronizationManager.unbindResourceIfPossible(changesKey);
+          if (status == STATUS_COMMITTED) {
+            applyChanges(collected);
+          }
+        }
+      });
+      changes = collected;
+    }
+    changes.add(event);
+  }
+
+  /**
+   * コミットされた変更（発生順）の学生を差し替えたスナップショットを公開
+   *
+   * <p>変更後の学生詳細がない変更を含む場合は、公開を止めて（DBから取得させて）再構築を別スレッドで行います。</p>
+   */
+  private void applyChanges(List<StudentChangedEvent> events) {
+    boolean applicable = events.stream()
+        .allMatch(event -> event.getType() == ChangeType.DELETED || event.getAfter() != null);
+    Map<Integer, StudentDetail> changes = new LinkedHashMap<>();
+    if (applicable) {
+      // 同じ学生の変更は最後の変更後の学生詳細だけを使う
+      events.forEach(event -> changes.put(event.getStudentId(),
+          event.getType() == ChangeType.DELETED ? null : event.getAfter()));
+    }
+    boolean rebuildNeeded = false;
+
+    lock.lock();
+    try {
+      if (pendingChanges != null) {
+        if (applicable) {
+          pendingChanges.add(snapshot -> snapshot.withStudents(changes));
+        } else {
+          staleDuringBuild = true;
+        }
+      }
+      RosterSnapshot snapshot = current;
+      if (snapshot == null) {
+        // 構築前の変更は構築時の読み込み（構築中の場合は記録した変更）で反映される
+        return;
+      }
+      if (!applicable) {
+        logger.info("変更後の学生詳細がないためスナップショットを再構築: ID={}", studentIds(events));
+        current = null;
+        rebuildNeeded = pendingChanges == null;
+        return;
+      }
+      current = snapshot.withStudents(changes);
+    } catch (RuntimeException e) {
+      current = null;
+      logger.error("スナップショットの更新に失敗したため、DBからの取得に切り替えます: ID={}",
+          studentIds(events), e);
+    } finally {
+      lock.unlock();
+      if (rebuildNeeded) {
+        requestRebuild();
+      }
+    }
+  }
+
+  /**
+   * 書き込みを遅らせていた申込状況がDBに反映された後、スナップショットの申込状況を反映した値に揃える
+   *
+   * <p>構築時の読み込みとDBへの反映が重なると、DBの古い値を読んだ後に書き込み待ちの値が消え、
+   * どちらも重ならないことがあるため、反映した値で補正します。</p>
+   */
+  @EventListener
+  public void onEnrollmentStatusFlushed(EnrollmentStatusFlushedEvent event) {
+    if (event.getStatuses().isEmpty()) {
+      return;
+    }
+    lock.lock();
+    try {
+      if (pendingChanges != null) {
+        pendingChanges.add(snapshot -> snapshot.withStatuses(event.getStatuses()));
+      }
+      RosterSnapshot snapshot = current;
+      if (snapshot != null) {
+        current = snapshot.withStatuses(event.getStatuses());
+      }
+    } catch (RuntimeException e) {
+      current = null;
+      logger.error("スナップショットの申込状況の補正に失敗したため、DBからの取得に切り替えます", e);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void requestRebuild() {
+    try {
+      rebuildExecutor.execute(this::rebuild);
+    } catch (RejectedExecutionException e) {
+      logger.warn("停止中のためスナップショットを再構築しません");
+    }
+  }
+
+  private void publish(RosterSnapshot snapshot) {
+    lock.lock();
+    try {
+      pendingChanges = null;
+      current = snapshot;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private static List<Integer> studentIds(List<StudentChangedEvent> events) {
+    return events.stream().map(StudentChangedEvent::getStudentId).toList();
+  }
+}
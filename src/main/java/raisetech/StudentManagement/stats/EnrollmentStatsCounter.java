@@ -0,0 +1,312 @@
+package raisetech.StudentManagement.stats;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import raisetech.StudentManagement.data.EnrollmentStatus;
+import raisetech.StudentManagement.data.EnrollmentStatusCode;
+import raisetech.StudentManagement.data.NameCount;
+import raisetech.StudentManagement.data.StatusCount;
+import raisetech.StudentManagement.data.StudentCourse;
+import raisetech.StudentManagement.domain.EnrollmentStatistics;
+import raisetech.StudentManagement.domain.StudentDetail;
+import raisetech.StudentManagement.event.EnrollmentStatusFlushedEvent;
+import raisetech.StudentManagement.event.StudentChangedEvent;
+import raisetech.StudentManagement.repository.StudentRepository;
+import raisetech.StudentManagement.writebehind.EnrollmentStatusWriteBehind;
+
+/**
+ * 受講状況の統計カウンター
+ *
+ * <p>申込状況・コース名・地域ごとの件数をメモリ上で保持し、
+ * 学生の登録・更新・削除のコミット後に変更前後の差分だけを反映します。</p>
+ * <p>参照時はテーブルの件数に関係なく、保持している件数をそのまま返します。</p>
+ * <p>起動時と一定間隔でSQLの集計結果と照合し、ずれていた場合は集計結果で置き換えます。
+ * 集計結果に含まれているか判断できない変更がある場合、つまり集計の開始から置き換えまでの間に
+ * 変更が反映されたか、変更を発行したトランザクションが完了していない場合は、置き換えずに集計し直します
+ * （続けて変更が入る場合は次回の照合に回します。初回も同じです）。</p>
+ * <p>申込状況の書き込みを遅らせている場合は、照合の前に書き込み待ちの値をDBに反映し、
+ * 書き込み待ちが残っている間や集計中に反映された場合も置き換えません（DBの申込状況が古いため）。</p>
+ */
+@Component
+public class EnrollmentStatsCounter {
+
+  private static final Logger logger = LoggerFactory.getLogger(EnrollmentStatsCounter.class);
+
+  /** 照合中に変更が反映された場合に集計し直す回数の上限 */
+  static final int RECONCILE_ATTEMPTS = 3;
+
+  private final StudentRepository repository;
+  private final EnrollmentStatusWriteBehind statusWriteBehind;
+  private final Counter driftCounter;
+
+  private volatile Counts counts = new Counts();
+  private volatile Instant reconciledAt;
+
+  /** 変更の反映（読み取りロック、並行可）と照合結果への置き換え（書き込みロック）を排他する */
+  private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+  /** 反映した変更の数（照合の開始時と置き換え時で比べ、集計中の変更を検出する） */
+  private final AtomicLong generation = new AtomicLong();
+  /** 変更イベントを発行し、まだ完了していないトランザクションの数 */
+  private final AtomicInteger inFlight = new AtomicInteger();
+  /** トランザクションごとに1回だけinFlightを数えるためのリソースのキー */
+  private final Object inFlightKey = new Object();
+
+  public EnrollmentStatsCounter(StudentRepository repository,
+      EnrollmentStatusWriteBehind statusWriteBehind, MeterRegistry registry) {
+    this.repository = repository;
+    this.statusWriteBehind = statusWriteBehind;
+    this.driftCounter = Counter.builder("student.stats.reconcile.drift")
+        .description("照合でSQLの集計結果とずれていた回数")
+        .register(registry);
+  }
+
+  /**
+   * 件数の集合
+   */
+  private static class Counts {
+
+    private final LongAdder total = new LongAdder();
+    /** 申込状況はコードで集計する（全コード分を先に用意するため、以降は読み取りのみでスレッドセーフ） */
+    private final Map<EnrollmentStatusCode, LongAdder> byStatus =
+        new EnumMap<>(EnrollmentStatusCode.class);
+    private final Map<String, LongAdder> byCourseName = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> byArea = new ConcurrentHashMap<>();
+
+    Counts() {
+      for (EnrollmentStatusCode status : EnrollmentStatusCode.values()) {
+        byStatus.put(status, new LongAdder());
+      }
+    }
+
+    /**
+     * 学生1人分（コース・申込状況を含む）をsignの向きに加算
+     */
+    void apply(StudentDetail detail, int sign) {
+      if (detail == null || detail.getStudent() == null) {
+        return;
+      }
+      total.add(sign);
+      add(byArea, detail.getStudent().getArea(), sign);
+      for (StudentCourse course : detail.getStudentCourse()) {
+        add(byCourseName, course.getCourseName(), sign);
+        EnrollmentStatus status = course.getEnrollmentStatus();
+        if (status != null && status.getStatus() != null) {
+          byStatus.get(status.getStatus()).add(sign);
+        }
+      }
+    }
+
+    static void add(Map<String, LongAdder> map, String key, long delta) {
+      if (key != null) {
+        map.computeIfAbsent(key, k -> new LongAdder()).add(delta);
+      }
+    }
+
+    static Map<String, Long> snapshot(Map<String, LongAdder> map) {
+      Map<String, Long> result = new TreeMap<>();
+      map.forEach((key, adder) -> {
+        long value = adder.sum();
+        if (value != 0) {
+          result.put(key, value);
+        }
+      });
+      return result;
+    }
+
+    /**
+     * 申込状況の件数を表示名をキーにしてコード順に取得
+     */
+    Map<String, Long> statusSnapshot() {
+      Map<String, Long> result = new LinkedHashMap<>();
+      byStatus.forEach((status, adder) -> {
+        long value = adder.sum();
+        if (value != 0) {
+          result.put(status.getLabel(), value);
+        }
+      });
+      return result;
+    }
+
+    static void load(Map<String, LongAdder> map, List<NameCount> rows) {
+      rows.forEach(row -> add(map, row.getName(), row.getCount()));
+    }
+
+    void loadStatuses(List<StatusCount> rows) {
+      rows.forEach(row -> byStatus.get(row.getStatus()).add(row.getCount()));
+    }
+  }
+
+  /**
+   * 現在の統計を取得
+   */
+  public EnrollmentStatistics getStatistics() {
+    Counts current = counts;
+    return new EnrollmentStatistics(
+        current.total.sum(),
+        current.statusSnapshot(),
+        Counts.snapshot(current.byCourseName),
+        Counts.snapshot(current.byArea),
+        reconciledAt);
+  }
+
+  /**
+   * 変更イベントを発行したトランザクションを完了（コミット・ロールバック）まで処理中として数える
+   *
+   * <p>コミット済みで差分がまだ反映されていない変更を、照合の集計結果と二重に数えないために使います。
+   * 差分の反映（AFTER_COMMIT）は完了（afterCompletion）より前に行われます。</p>
+   */
+  @EventListener
+  public void trackInFlight(StudentChangedEvent event) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()
+        || TransactionSynchronizationManager.hasResource(inFlightKey)) {
+      return;
+    }
+    TransactionSynchronizationManager.bindResource(inFlightKey, Boolean.TRUE);
+    inFlight.incrementAndGet();
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCompletion(int status) {
+        TransactionSynchronizationManager.unbindResourceIfPossible(inFlightKey);
+        inFlight.decrementAndGet();
+      }
+    });
+  }
+
+  /**
+   * コミット後に変更前の件数を減らし、変更後の件数を増やす
+   */
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onStudentChanged(StudentChangedEvent event) {
+    swapLock.readLock().lock();
+    try {
+      generation.incrementAndGet();
+      Counts current = counts;
+      current.apply(event.getBefore(), -1);
+      current.apply(event.getAfter(), 1);
+    } finally {
+      swapLock.readLock().unlock();
+    }
+  }
+
+  /**
+   * 書き込みを遅らせていた申込状況のDBへの反映を、集計中の変更として数える
+   *
+   * <p>件数には変更イベントで反映済みのため、ここでは照合の置き換えを見送らせるだけです。</p>
+   */
+  @EventListener
+  public void onEnrollmentStatusFlushed(EnrollmentStatusFlushedEvent event) {
+    swapLock.readLock().lock();
+    try {
+      generation.incrementAndGet();
+    } finally {
+      swapLock.readLock().unlock();
+    }
+  }
+
+  /**
+   * 起動完了時に初回の集計を行う
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void initialize() {
+    reconcile();
+  }
+
+  /**
+   * SQLの集計結果と照合し、保持している件数を置き換える
+   */
+  @Scheduled(fixedDelayString = "${student.stats.reconcile-interval:PT10M}",
+      initialDelayString = "${student.stats.reconcile-interval:PT10M}")
+  public void reconcile() {
+    try {
+      for (int attempt = 1; attempt <= RECONCILE_ATTEMPTS; attempt++) {
+        if (statusWriteBehind.isEnabled()) {
+          statusWriteBehind.flush();
+        }
+        long startGeneration = generation.get();
+        Counts fresh = load();
+        if (swapIfUnchanged(fresh, startGeneration)) {
+          return;
+        }
+        logger.info("統計の照合中に変更があったため集計し直します: {}回目", attempt);
+      }
+      logger.info("統計の照合中に変更が続いたため、今回の照合を見送ります");
+
+    } catch (Exception e) {
+      // 照合に失敗しても増分で保持している件数はそのまま使い続ける
+      logger.error("統計の照合でエラーが発生", e);
+    }
+  }
+
+  /**
+   * SQLで件数を集計
+   */
+  private Counts load() {
+    Counts fresh = new Counts();
+    fresh.total.add(repository.countActiveStudents());
+    fresh.loadStatuses(repository.countActiveCoursesByStatus());
+    Counts.load(fresh.byCourseName, repository.countActiveCoursesByName());
+    Counts.load(fresh.byArea, repository.countActiveStudentsByArea());
+    return fresh;
+  }
+
+  /**
+   * 集計の開始後に変更が反映されておらず、完了していない変更も書き込み待ちの申込状況もなければ、
+   * 集計結果で置き換える
+   *
+   * @return 置き換えた場合はtrue
+   */
+  private boolean swapIfUnchanged(Counts fresh, long startGeneration) {
+    EnrollmentStatistics before;
+    EnrollmentStatistics after;
+    swapLock.writeLock().lock();
+    try {
+      if (inFlight.get() > 0 || statusWriteBehind.size() > 0
+          || generation.get() != startGeneration) {
+        return false;
+      }
+      before = getStatistics();
+      counts = fresh;
+      reconciledAt = Instant.now();
+      after = getStatistics();
+    } finally {
+      swapLock.writeLock().unlock();
+    }
+
+    if (before.getReconciledAt() != null && !sameCounts(before, after)) {
+      driftCounter.increment();
+      logger.warn("統計の照合でずれを補正: 学生数 {} → {}", before.getTotalStudents(),
+          after.getTotalStudents());
+    }
+    logger.info("統計の照合完了: 学生数={}", after.getTotalStudents());
+    return true;
+  }
+
+  private boolean sameCounts(EnrollmentStatistics a, EnrollmentStatistics b) {
+    return a.getTotalStudents() == b.getTotalStudents()
+        && a.getByEnrollmentStatus().equals(b.getByEnrollmentStatus())
+        && a.getByCourseName().equals(b.getByCourseName())
+        && a.getByArea().equals(b.getByArea());
+  }
+}
@@ -0,0 +1,407 @@
+package raisetech.StudentManagement.writebehind;
+
+import static raisetech.StudentManagement.constants.DatabaseConstants.IN_CLAUSE_CHUNK_SIZE;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import raisetech.StudentManagement.data.EnrollmentStatus;
+import raisetech.StudentManagement.data.EnrollmentStatusCode;
+import raisetech.StudentManagement.data.StudentCourse;
+import raisetech.StudentManagement.domain.StudentDetail;
+import raisetech.StudentManagement.event.EnrollmentStatusFlushedEvent;
+import raisetech.StudentManagement.repository.StudentRepository;
+
+/**
+ * 申込状況の更新を遅らせてまとめて書き込むキュー（student.status-write-behind.enabled=trueの場合のみ）
+ *
+ * <p>コミット後の申込状況をコースIDごとに保持し（同じコースは後の値で上書き）、
+ * 一定間隔で1文のUPDATEにまとめて書き込みます。</p>
+ * <p>書き込みに失敗した値はキューに残し、次回のフラッシュで再試行します。</p>
+ * <p>停止時は新しい値を直接書き込むように切り替えてから、残りをすべて書き込みます。
+ * プロセスが強制終了した場合は、最大でフラッシュ間隔分の変更が失われます。</p>
+ * <p>DBへの反映までは、DBから読み込んだ学生詳細・コースに{@link #overlay}・{@link #overlayCourses}で
+ * 新しい値を重ねて返します（StudentServiceの参照系はすべて通す）。
+ * 検索の申込状況の条件は、重ねた後の値で判定し直し、{@link #pendingStudentIds}の学生も候補に加えます。</p>
+ */
+@Component
+public class EnrollmentStatusWriteBehind {
+
+  private static final Logger logger = LoggerFactory.getLogger(EnrollmentStatusWriteBehind.class);
+
+  /** 停止時に書き込みを試みる回数 */
+  static final int SHUTDOWN_FLUSH_ATTEMPTS = 3;
+
+  /** 停止時の再試行の間隔（試行回数を掛けて延ばす） */
+  private static final long SHUTDOWN_RETRY_BACKOFF_MILLIS = 500;
+
+  /**
+   * 書き込み待ちの申込状況
+   */
+  private record PendingStatus(int studentId, EnrollmentStatusCode status) {
+  }
+
+  private final StudentRepository repository;
+  private final ApplicationEventPublisher eventPublisher;
+  private final boolean enabled;
+
+  /** コースID → 書き込み待ちの申込状況 */
+  private final Map<Integer, PendingStatus> pending = new ConcurrentHashMap<>();
+
+  /** 追加（読み取りロック）と停止への切り替え（書き込みロック）の排他 */
+  private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+  private boolean closed;
+
+  /**
+   * フラッシュどうしの直列化
+   *
+   * <p>JDBCの実行中も保持するため、synchronizedではなくReentrantLockを使う（仮想スレッドを固定しない）。</p>
+   */
+  private final ReentrantLock flushLock = new ReentrantLock();
+
+  private final Timer flushTimer;
+  private final Counter coalescedCounter;
+  private final Counter failureCounter;
+
+  public EnrollmentStatusWriteBehind(StudentRepository repository,
+      ApplicationEventPublisher eventPublisher, MeterRegistry registry,
+      @Value("${student.status-write-behind.enabled:false}") boolean enabled) {
+    this.repository = repository;
+    this.eventPublisher = eventPublisher;
+    this.enabled = enabled;
+    Gauge.builder("student.status.write_behind.queue.depth", pending, Map::size)
+        .description("書き込み待ちの申込状況の件数（コース数）")
+        .register(registry);
+    this.flushTimer = Timer.builder("student.status.write_behind.flush")
+        .description("書き込み待ちの申込状況をDBに書き込む時間")
+        .publishPercentileHistogram()
+        .register(registry);
+    this.coalescedCounter = Counter.builder("student.status.write_behind.coalesced")
+        .description("書き込み前に同じコースの新しい値で上書きした件数")
+        .register(registry);
+    this.failureCounter = Counter.builder("student.status.write_behind.failures")
+        .description("申込状況の書き込みに失敗した回数")
+        .register(registry);
+  }
+
+  /**
+   * 書き込みを遅らせるかどうか
+   */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * 書き込み待ちの件数（コース数）
+   */
+  public int size() {
+    return pending.size();
+  }
+
+  /**
+   * 申込状況の更新をキューに追加
+   *
+   * <p>トランザクション内で呼ばれた場合はコミット後に追加します（ロールバックした場合は追加しない）。</p>
+   * <p>申込状況の行が既に存在するコースにだけ使うこと（UPDATEのみで、行は登録しない）。</p>
+   *
+   * @param studentId 学生ID
+   * @param courseId  コースID
+   * @param status    申込状況
+   */
+  public void enqueue(int studentId, int courseId, EnrollmentStatusCode status) {
+    PendingStatus entry = new PendingStatus(studentId, status);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          offer(courseId, entry);
+        }
+      });
+    } else {
+      offer(courseId, entry);
+    }
+  }
+
+  private void offer(int courseId, PendingStatus entry) {
+    closeLock.readLock().lock();
+    try {
+      if (!closed) {
+        if (pending.put(courseId, entry) != null) {
+          coalescedCounter.increment();
+        }
+        return;
+      }
+    } finally {
+      closeLock.readLock().unlock();
+    }
+    // 停止処理の開始後はキューに入れず直接書き込む
+    EnrollmentStatus status = toEnrollmentStatus(courseId, entry);
+    repository.updateEnrollmentStatus(status);
+    eventPublisher.publishEvent(new EnrollmentStatusFlushedEvent(Set.of(entry.studentId()),
+        Map.of(courseId, entry.status())));
+  }
+
+  /**
+   * 指定した申込状況で書き込み待ちになっているコースの学生ID
+   *
+   * <p>DBの値では検索条件に一致しないが、書き込み待ちの値では一致する学生を求めるために使います。</p>
+   *
+   * @param status 申込状況
+   * @return 学生IDの集合（無効な場合は空）
+   */
+  public Set<Integer> pendingStudentIds(EnrollmentStatusCode status) {
+    if (!enabled || pending.isEmpty()) {
+      return Set.of();
+    }
+    Set<Integer> studentIds = new HashSet<>();
+    pending.values().forEach(entry -> {
+      if (entry.status() == status) {
+        studentIds.add(entry.studentId());
+      }
+    });
+    return studentIds;
+  }
+
+  /**
+   * 書き込み待ちの申込状況を重ねた学生詳細を取得（引数の学生詳細とコースは変更しない）
+   *
+   * @param detail   DBから読み込んだ学生詳細（nullはそのまま返す）
+   * @param deferred 同じトランザクションで書き込みを遅らせた、コミット前の申込状況（コースID → 申込状況）
+   * @return 書き込み待ちの値がある場合はそのコースを置き換えた学生詳細、ない場合は引数の学生詳細
+   */
+  public StudentDetail overlay(StudentDetail detail, Map<Integer, EnrollmentStatusCode> deferred) {
+    if (!enabled || detail == null || !detail.hasCourses()
+        || (pending.isEmpty() && deferred.isEmpty())) {
+      return detail;
+    }
+    List<StudentCourse> courses = new ArrayList<>(detail.getStudentCourse().size());
+    boolean replaced = false;
+    for (StudentCourse course : detail.getStudentCourse()) {
+      EnrollmentStatusCode status = course.getId() == null ? null : deferred.get(course.getId());
+      if (status == null && course.getId() != null) {
+        PendingStatus entry = pending.get(course.getId());
+        status = entry != null ? entry.status() : null;
+      }
+      EnrollmentStatus current = course.getEnrollmentStatus();
+      if (status == null || current == null || current.getStatus() == status) {
+        courses.add(course);
+        continue;
+      }
+      courses.add(withStatus(course, status));
+      replaced = true;
+    }
+    if (!replaced) {
+      return detail;
+    }
+    StudentDetail result = new StudentDetail();
+    result.setStudent(detail.getStudent());
+    result.setStudentCourse(courses);
+    return result;
+  }
+
+  /**
+   * 書き込み待ちの申込状況を重ねた学生詳細を取得（同じトランザクションで遅らせた値がない場合）
+   */
+  public StudentDetail overlay(StudentDetail detail) {
+    return overlay(detail, Map.of());
+  }
+
+  /**
+   * 書き込み待ちの申込状況を重ねたコースを取得（引数のコースは変更しない）
+   *
+   * @param course DBから読み込んだコース
+   * @return 書き込み待ちの値がある場合は申込状況を置き換えたコース、ない場合は引数のコース
+   */
+  public StudentCourse overlayCourse(StudentCourse course) {
+    if (!enabled || pending.isEmpty()) {
+      return course;
+    }
+    return overlayPending(course);
+  }
+
+  /**
+   * 書き込み待ちの申込状況を重ねたコース一覧を取得（引数のリストとコースは変更しない）
+   *
+   * @param courses DBから読み込んだコース一覧
+   * @return 書き込み待ちの値がある場合はそのコースを置き換えたリスト、ない場合は引数のリスト
+   */
+  public List<StudentCourse> overlayCourses(List<StudentCourse> courses) {
+    if (!enabled || pending.isEmpty() || courses.isEmpty()) {
+      return courses;
+    }
+    List<StudentCourse> result = null;
+    for (int i = 0; i < courses.size(); i++) {
+      StudentCourse course = courses.get(i);
+      StudentCourse overlaid = overlayPending(course);
+      if (overlaid == course) {
+        continue;
+      }
+      if (result == null) {
+        result = new ArrayList<>(courses);
+      }
+      result.set(i, overlaid);
+    }
+    return result != null ? result : courses;
+  }
+
+  private StudentCourse overlayPending(StudentCourse course) {
+    PendingStatus entry = course.getId() == null ? null : pending.get(course.getId());
+    EnrollmentStatus current = course.getEnrollmentStatus();
+    if (entry == null || current == null || current.getStatus() == entry.status()) {
+      return course;
+    }
+    return withStatus(course, entry.status());
+  }
+
+  /**
+   * 一定間隔で書き込み待ちの申込状況を書き込む
+   */
+  @Scheduled(fixedDelayString = "${student.status-write-behind.flush-interval:PT1S}",
+      initialDelayString = "${student.status-write-behind.flush-interval:PT1S}")
+  public void scheduledFlush() {
+    if (enabled) {
+      flush();
+    }
+  }
+
+  /**
+   * 書き込み待ちの申込状況をIN_CLAUSE_CHUNK_SIZE件ずつ1文のUPDATEで書き込む
+   *
+   * <p>書き込んだ値はキューから取り除きます。書き込み中に同じコースへ追加された新しい値は残り、次回書き込みます。</p>
+   * <p>失敗した場合は残りをキューに残したまま終了します（例外は投げない）。</p>
+   *
+   * @return 書き込んだ件数
+   */
+  public int flush() {
+    flushLock.lock();
+    try {
+      return flushLocked();
+    } finally {
+      flushLock.unlock();
+    }
+  }
+
+  private int flushLocked() {
+    if (pending.isEmpty()) {
+      return 0;
+    }
+    long start = System.nanoTime();
+    List<Map.Entry<Integer, PendingStatus>> batch = new ArrayList<>(pending.size());
+    pending.forEach((courseId, entry) -> batch.add(Map.entry(courseId, entry)));
+
+    Set<Integer> studentIds = new HashSet<>();
+    Map<Integer, EnrollmentStatusCode> statuses = new HashMap<>();
+    int written = 0;
+    try {
+      for (int from = 0; from < batch.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+        List<Map.Entry<Integer, PendingStatus>> chunk =
+            batch.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, batch.size()));
+        repository.updateEnrollmentStatuses(chunk.stream()
+            .map(e -> toEnrollmentStatus(e.getKey(), e.getValue()))
+            .toList());
+        for (Map.Entry<Integer, PendingStatus> e : chunk) {
+          // 書き込み中に新しい値が追加されたコースは、イベントで古い値を通知しない
+          if (pending.remove(e.getKey(), e.getValue())) {
+            statuses.put(e.getKey(), e.getValue().status());
+          }
+          studentIds.add(e.getValue().studentId());
+        }
+        written += chunk.size();
+      }
+    } catch (RuntimeException e) {
+      failureCounter.increment();
+      logger.error("申込状況の書き込みに失敗したため、次回に再試行します: 書き込み済み={}件, 残り={}件",
+          written, pending.size(), e);
+    } finally {
+      flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    if (written > 0) {
+      logger.debug("申込状況の書き込み完了: {}件", written);
+      eventPublisher.publishEvent(new EnrollmentStatusFlushedEvent(studentIds, statuses));
+    }
+    return written;
+  }
+
+  /**
+   * 停止時に残りを書き込む
+   *
+   * <p>以降の追加は直接書き込むように切り替えてから、キューが空になるまで再試行します。
+   * 書き込めなかった値は手動で反映できるようにエラーログへ出力します。</p>
+   */
+  @PreDestroy
+  public void shutdown() {
+    if (!enabled) {
+      return;
+    }
+    closeLock.writeLock().lock();
+    try {
+      closed = true;
+    } finally {
+      closeLock.writeLock().unlock();
+    }
+
+    for (int attempt = 1; !pending.isEmpty() && attempt <= SHUTDOWN_FLUSH_ATTEMPTS; attempt++) {
+      logger.info("停止前に申込状況を書き込み: {}件（{}回目）", pending.size(), attempt);
+      flush();
+      if (!pending.isEmpty() && attempt < SHUTDOWN_FLUSH_ATTEMPTS) {
+        try {
+          Thread.sleep(SHUTDOWN_RETRY_BACKOFF_MILLIS * attempt);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          break;
+        }
+      }
+    }
+    if (!pending.isEmpty()) {
+      logger.error("停止時に書き込めなかった申込状況があります（コースID=申込状況コード）: {}",
+          pending.entrySet().stream()
+              .map(e -> e.getKey() + "=" + e.getValue().status().getCode())
+              .toList());
+    }
+  }
+
+  private static EnrollmentStatus toEnrollmentStatus(int courseId, PendingStatus entry) {
+    EnrollmentStatus status = new EnrollmentStatus();
+    status.setCourseId(courseId);
+    status.setStatus(entry.status());
+    return status;
+  }
+
+  private static StudentCourse withStatus(StudentCourse course, EnrollmentStatusCode code) {
+    StudentCourse copy = new StudentCourse();
+    copy.setId(course.getId());
+    copy.setStudentId(course.getStudentId());
+    copy.setStudentName(course.getStudentName());
+    copy.setCourseName(course.getCourseName());
+    copy.setCourseStartAt(course.getCourseStartAt());
+    copy.setCourseEndAt(course.getCourseEndAt());
+    EnrollmentStatus status = new EnrollmentStatus();
+    status.setId(course.getEnrollmentStatus().getId());
+    status.setCourseId(course.getEnrollmentStatus().getCourseId());
+    status.setStatus(code);
+    copy.setEnrollmentStatus(status);
+    return copy;
+  }
+}
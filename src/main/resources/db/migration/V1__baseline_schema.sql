@@ -1,5 +1,7 @@
+-- 初期スキーマ（既存DBではbaseline-on-migrateによりこのバージョンとして扱われ、実行されない）
+
 -- 学生テーブル
-CREATE TABLE students (
+CREATE TABLE IF NOT EXISTS students (
     id INT AUTO_INCREMENT PRIMARY KEY,
     name VARCHAR(50),
     kanaName VARCHAR(50),
@@ -13,7 +15,7 @@ CREATE TABLE students (
 );
 
 -- コーステーブル
-CREATE TABLE students_courses (
+CREATE TABLE IF NOT EXISTS students_courses (
     id INT AUTO_INCREMENT PRIMARY KEY,
     student_id INT NOT NULL,
     course_name VARCHAR(50) NOT NULL,
@@ -22,7 +24,7 @@ CREATE TABLE students_courses (
 );
 
 -- 申込状況テーブル
-CREATE TABLE enrollment_status (
+CREATE TABLE IF NOT EXISTS enrollment_status (
     id INT AUTO_INCREMENT PRIMARY KEY,
     course_id INT NOT NULL,
     status VARCHAR(20) NOT NULL DEFAULT '仮申込',
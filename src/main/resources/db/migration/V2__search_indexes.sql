@@ -0,0 +1,17 @@
+-- 検索・一覧取得用のインデックスと論理削除フラグのNOT NULL化
+
+-- deleted IS NULL OR deleted = 0 ではインデックスが使えないため、NULLを0に揃えてNOT NULLにする
+UPDATE students SET deleted = 0 WHERE deleted IS NULL;
+ALTER TABLE students MODIFY COLUMN deleted TINYINT NOT NULL DEFAULT 0;
+
+-- 有効な学生のID順取得（一覧のキーセットページング、検索の外側のループ）
+CREATE INDEX idx_students_deleted_id ON students (deleted, id);
+
+-- 学生ごとのコース取得と、検索のEXISTS（学生ID＋コース名）
+CREATE INDEX idx_students_courses_student_course ON students_courses (student_id, course_name);
+
+-- コース名から学生を引く検索（コース名だけで絞り込む場合）
+CREATE INDEX idx_students_courses_course_student ON students_courses (course_name, student_id);
+
+-- コースごとの申込状況取得と、検索のEXISTS（コースID＋申込状況）
+CREATE INDEX idx_enrollment_status_course_status ON enrollment_status (course_id, status);
@@ -0,0 +1,28 @@
+-- 申込状況を表示名のVARCHARからTINYINTのコードに変換
+-- コード: 1=仮申込, 2=本申込, 3=受講中, 4=受講終了（EnrollmentStatusCodeと対応）
+
+-- MySQLのDDLはトランザクションで戻せないため、DDLの前に未定義の表示名がないことを確認する
+-- 未定義の表示名が1件でもあるとスカラー副問い合わせが2行以上を返してエラーになり、テーブルは変更されない
+-- （データを修正し、flyway repairで失敗の記録を消してから再実行すること）
+SELECT (
+    SELECT 0
+    UNION ALL
+    SELECT id FROM enrollment_status
+    WHERE status NOT IN ('仮申込', '本申込', '受講中', '受講終了')
+) AS unknown_status_guard;
+
+ALTER TABLE enrollment_status ADD COLUMN status_code TINYINT;
+
+UPDATE enrollment_status SET status_code = CASE status
+    WHEN '仮申込' THEN 1
+    WHEN '本申込' THEN 2
+    WHEN '受講中' THEN 3
+    WHEN '受講終了' THEN 4
+END;
+
+ALTER TABLE enrollment_status MODIFY COLUMN status_code TINYINT NOT NULL DEFAULT 1;
+
+-- 検索のEXISTS（コースID＋申込状況）用のインデックスをコードの列で作り直す
+DROP INDEX idx_enrollment_status_course_status ON enrollment_status;
+ALTER TABLE enrollment_status DROP COLUMN status;
+CREATE INDEX idx_enrollment_status_course_status ON enrollment_status (course_id, status_code);
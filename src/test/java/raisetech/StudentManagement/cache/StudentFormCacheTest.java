@@ -0,0 +1,96 @@
+package raisetech.StudentManagement.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import raisetech.StudentManagement.data.Student;
+import raisetech.StudentManagement.domain.StudentDetail;
+import raisetech.StudentManagement.event.StudentChangedEvent;
+import raisetech.StudentManagement.event.StudentChangedEvent.ChangeType;
+
+class StudentFormCacheTest {
+
+  private MeterRegistry meterRegistry;
+  private StudentFormCache cache;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    cache = new StudentFormCache(10, Duration.ofMinutes(5), meterRegistry);
+  }
+
+  @Test
+  @DisplayName("登録した学生詳細が取得できること")
+  void putAndGet() {
+    StudentDetail detail = createDetail(1);
+
+    cache.put(1, detail, cache.currentStamp(1));
+
+    assertSame(detail, cache.get(1));
+  }
+
+  @Test
+  @DisplayName("変更イベントを受けるとエントリが破棄されること")
+  void invalidateOnStudentChanged() {
+    cache.put(1, createDetail(1), cache.currentStamp(1));
+    cache.put(2, createDetail(2), cache.currentStamp(2));
+
+    cache.onStudentChanged(new StudentChangedEvent(1, ChangeType.UPDATED));
+
+    assertNull(cache.get(1), "変更された学生は破棄されるはず");
+    assertEquals(2, cache.get(2).getStudent().getId(), "他の学生は残るはず");
+  }
+
+  @Test
+  @DisplayName("読み込み中に破棄が行われた場合は登録されないこと")
+  void skipPutWhenInvalidatedDuringLoad() {
+    long stamp = cache.currentStamp(1);
+
+    // 読み込み中に別トランザクションで更新された想定
+    cache.invalidate(1);
+    cache.put(1, createDetail(1), stamp);
+
+    assertNull(cache.get(1), "古い可能性のあるデータは登録されないはず");
+  }
+
+  @Test
+  @DisplayName("読み込み中に他の学生が破棄されても登録されること")
+  void putWhenOtherStudentInvalidatedDuringLoad() {
+    long stamp = cache.currentStamp(1);
+
+    cache.invalidate(2);
+    cache.put(1, createDetail(1), stamp);
+
+    assertEquals(1, cache.get(1).getStudent().getId(), "他の学生の更新では登録を見送らないはず");
+  }
+
+  @Test
+  @DisplayName("ヒット・ミス件数がメトリクスに記録されること")
+  void recordHitAndMissMetrics() {
+    cache.get(1);
+    cache.put(1, createDetail(1), cache.currentStamp(1));
+    cache.get(1);
+
+    assertEquals(1.0, meterRegistry.get("cache.gets")
+        .tag("cache", StudentFormCache.CACHE_NAME).tag("result", "hit")
+        .functionCounter().count());
+    assertEquals(1.0, meterRegistry.get("cache.gets")
+        .tag("cache", StudentFormCache.CACHE_NAME).tag("result", "miss")
+        .functionCounter().count());
+  }
+
+  private StudentDetail createDetail(int id) {
+    Student student = new Student();
+    student.setId(id);
+    StudentDetail detail = new StudentDetail();
+    detail.setStudent(student);
+    return detail;
+  }
+}
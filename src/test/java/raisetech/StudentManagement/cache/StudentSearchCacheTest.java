@@ -0,0 +1,135 @@
+package raisetech.StudentManagement.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import raisetech.StudentManagement.cache.StudentSearchCache.SearchKey;
+import raisetech.StudentManagement.data.Student;
+import raisetech.StudentManagement.data.StudentCourse;
+import raisetech.StudentManagement.domain.StudentDetail;
+import raisetech.StudentManagement.event.StudentChangedEvent;
+import raisetech.StudentManagement.event.StudentChangedEvent.ChangeType;
+
+class StudentSearchCacheTest {
+
+  private MeterRegistry meterRegistry;
+  private StudentSearchCache cache;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    cache = new StudentSearchCache(100, Duration.ofMinutes(5), meterRegistry);
+  }
+
+  @Test
+  @DisplayName("空白の有無や空文字の違いは同じ検索条件として扱われること")
+  void normalizeKey() {
+    assertEquals(SearchKey.of(null, null, "Java入門", "受講中"),
+        SearchKey.of("", "  ", " Java入門 ", "受講中"));
+  }
+
+  @Test
+  @DisplayName("登録した検索結果が正規化後の条件で取得できること")
+  void putAndGet() {
+    List<StudentDetail> details = List.of(createDetail(1, 1), createDetail(2, 2));
+
+    cache.put(SearchKey.of(null, null, "Java入門", null), details, cache.currentStamp());
+
+    assertEquals(2, cache.get(SearchKey.of(null, "", "Java入門 ", null)).size());
+  }
+
+  @Test
+  @DisplayName("キャッシュした検索結果は変更できないこと")
+  void cachedResultIsUnmodifiable() {
+    SearchKey key = SearchKey.of("太郎", null, null, null);
+    List<StudentDetail> details = new ArrayList<>(List.of(createDetail(1, 1)));
+
+    cache.put(key, details, cache.currentStamp());
+    details.clear();
+
+    assertEquals(1, cache.get(key).size(), "呼び出し元のリストを変更しても影響しないはず");
+    assertThrows(UnsupportedOperationException.class, () -> cache.get(key).clear());
+  }
+
+  @Test
+  @DisplayName("変更イベントを受けると全エントリが破棄されること")
+  void invalidateAllOnStudentChanged() {
+    SearchKey java = SearchKey.of(null, null, "Java入門", null);
+    SearchKey tokyo = SearchKey.of(null, "東京都", null, null);
+    cache.put(java, List.of(createDetail(1, 1)), cache.currentStamp());
+    cache.put(tokyo, List.of(createDetail(2, 1)), cache.currentStamp());
+
+    cache.onStudentChanged(new StudentChangedEvent(3, ChangeType.REGISTERED));
+
+    assertNull(cache.get(java));
+    assertNull(cache.get(tokyo), "変更された学生を含まない検索結果も破棄されるはず");
+  }
+
+  @Test
+  @DisplayName("検索中に破棄が行われた場合は登録されないこと")
+  void skipPutWhenInvalidatedDuringLoad() {
+    SearchKey key = SearchKey.of("太郎", null, null, null);
+    long stamp = cache.currentStamp();
+
+    // 検索中に別トランザクションで更新された想定
+    cache.invalidateAll();
+    List<StudentDetail> result = cache.put(key, List.of(createDetail(1, 1)), stamp);
+
+    assertEquals(1, result.size(), "検索結果はそのまま返すはず");
+    assertNull(cache.get(key), "古い可能性のある結果は登録されないはず");
+  }
+
+  @Test
+  @DisplayName("保持する学生・コースの合計行数が上限を超えると追い出されること")
+  void evictByWeight() {
+    for (int i = 0; i < 10; i++) {
+      List<StudentDetail> details = new ArrayList<>();
+      for (int id = 0; id < 5; id++) {
+        details.add(createDetail(id, 3));
+      }
+      cache.put(SearchKey.of("名前" + i, null, null, null), details, cache.currentStamp());
+    }
+
+    cache.cleanUp();
+
+    // 1件あたりの重みは 1 + 5 × (1 + 3) = 21 のため、上限100では最大4件まで残る
+    long remaining = (long) meterRegistry.get("cache.size")
+        .tag("cache", StudentSearchCache.CACHE_NAME).gauge().value();
+    assertTrue(remaining <= 4, "重みの合計が上限以下になるまで追い出されるはず: " + remaining);
+    assertTrue(remaining > 0);
+  }
+
+  @Test
+  @DisplayName("ヒット率がメトリクスに記録されること")
+  void recordHitRatio() {
+    SearchKey key = SearchKey.of("太郎", null, null, null);
+    cache.get(key);
+    cache.put(key, List.of(createDetail(1, 1)), cache.currentStamp());
+    cache.get(key);
+    cache.get(key);
+    cache.get(key);
+
+    assertEquals(0.75, meterRegistry.get("student.cache.search.hit.ratio").gauge().value());
+  }
+
+  private StudentDetail createDetail(int id, int courseCount) {
+    Student student = new Student();
+    student.setId(id);
+    StudentDetail detail = new StudentDetail();
+    detail.setStudent(student);
+    for (int i = 0; i < courseCount; i++) {
+      detail.getStudentCourse().add(new StudentCourse());
+    }
+    return detail;
+  }
+}
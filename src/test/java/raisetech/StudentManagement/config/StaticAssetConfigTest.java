@@ -0,0 +1,56 @@
+package raisetech.StudentManagement.config;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.resource.ResourceUrlProvider;
+
+/**
+ * static/bundle はGradleのbundleStaticAssetsタスク（processResourcesの前に実行）で生成される
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class StaticAssetConfigTest {
+
+  private static final Pattern VERSIONED_CSS = Pattern.compile("/bundle/app-[0-9a-f]{32}\\.css");
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private ResourceUrlProvider resourceUrlProvider;
+
+  @Test
+  @DisplayName("アセットのURLが内容のハッシュ付きURLに解決されること")
+  void resolveAssetUrlWithContentHash() {
+    String css = resourceUrlProvider.getForLookupPath("/bundle/app.css");
+    String js = resourceUrlProvider.getForLookupPath("/bundle/app.js");
+
+    assertTrue(css != null && VERSIONED_CSS.matcher(css).matches(), css);
+    assertTrue(js != null && js.matches("/bundle/app-[0-9a-f]{32}\\.js"), js);
+  }
+
+  @Test
+  @DisplayName("ハッシュ付きURLのアセットがgzip済みファイルと1年間のimmutableキャッシュで返されること")
+  void serveVersionedAssetPrecompressedAndImmutable() throws Exception {
+    String css = resourceUrlProvider.getForLookupPath("/bundle/app.css");
+
+    mockMvc.perform(get(css).header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+        .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT_ENCODING)))
+        .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("max-age=31536000")))
+        .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("immutable")));
+  }
+}
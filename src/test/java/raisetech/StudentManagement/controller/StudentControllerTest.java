@@ -1,44 +1,79 @@
 package raisetech.StudentManagement.controller;
 
-import static org.mockito.ArgumentMatchers.anyList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
-import raisetech.StudentManagement.controller.converter.StudentConverter;
+import org.springframework.test.web.servlet.MvcResult;
+import raisetech.StudentManagement.cache.DataVersion;
+import raisetech.StudentManagement.data.Student;
+import raisetech.StudentManagement.domain.BatchItemResult;
+import raisetech.StudentManagement.domain.ImportReport;
+import raisetech.StudentManagement.domain.StudentDetail;
+import raisetech.StudentManagement.domain.StudentPage;
+import raisetech.StudentManagement.domain.StudentPatchResult;
+import raisetech.StudentManagement.event.StudentChangedEvent;
+import raisetech.StudentManagement.event.StudentChangedEvent.ChangeType;
+import raisetech.StudentManagement.logging.LogSampler;
+import raisetech.StudentManagement.service.StudentBatchService;
+import raisetech.StudentManagement.service.StudentImportService;
 import raisetech.StudentManagement.service.StudentService;
 
 @WebMvcTest(StudentController.class)
+@Import(DataVersion.class)
 class StudentControllerTest {
 
   @Autowired
   private MockMvc mockMvc;
 
+  @Autowired
+  private DataVersion dataVersion;
+
   @MockBean
   private StudentService service;
 
   @MockBean
-  private StudentConverter converter;
+  private StudentBatchService batchService;
+
+  @MockBean
+  private StudentImportService importService;
+
+  @MockBean
+  private LogSampler logSampler;
 
   // ========== ①正常系テスト ==========
 
   @Test
   void 学生一覧検索が実行できて空のリストが返ってくること() throws Exception {
-    // 準備: 空のリストを返すように設定
-    when(service.getStudents()).thenReturn(new ArrayList<>());
-    when(service.getCourses()).thenReturn(new ArrayList<>());
-    when(converter.toDetails(anyList(), anyList()))
-        .thenReturn(new ArrayList<>());
+    // 準備: 空のページを返すように設定
+    when(service.getStudentPage(isNull(), isNull()))
+        .thenReturn(new StudentPage(new ArrayList<>(), 0, null));
 
     // 実行と検証
     mockMvc.perform(get("/api/students"))
@@ -46,7 +81,157 @@ class StudentControllerTest {
         .andExpect(jsonPath("$.status").value("success"))
         .andExpect(jsonPath("$.count").value(0))
         .andExpect(jsonPath("$.students").isArray())
-        .andExpect(jsonPath("$.students").isEmpty());
+        .andExpect(jsonPath("$.students").isEmpty())
+        .andExpect(jsonPath("$.hasNext").value(false));
+  }
+
+  @Test
+  void 学生一覧でafterとsizeを指定すると次ページのカーソルが返ってくること() throws Exception {
+    // 準備: 総件数10件のうち2件目までを返し、次ページありとする
+    when(service.getStudentPage(5, 2))
+        .thenReturn(new StudentPage(new ArrayList<>(), 10, 7));
+
+    // 実行と検証
+    mockMvc.perform(get("/api/students").param("after", "5").param("size", "2"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.count").value(10))
+        .andExpect(jsonPath("$.nextCursor").value(7))
+        .andExpect(jsonPath("$.hasNext").value(true));
+  }
+
+  @Test
+  void 学生一覧でETagが一致する場合_DBに問い合わせず304が返ってくること() throws Exception {
+    // 準備
+    when(service.getStudentPage(isNull(), isNull()))
+        .thenReturn(new StudentPage(new ArrayList<>(), 0, null));
+
+    // 実行: 1回目でETagを取得し、2回目はIf-None-Matchに指定する
+    String etag = mockMvc.perform(get("/api/students"))
+        .andExpect(status().isOk())
+        .andExpect(header().exists("ETag"))
+        .andReturn().getResponse().getHeader("ETag");
+
+    mockMvc.perform(get("/api/students").header("If-None-Match", etag))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string("ETag", etag));
+
+    // 検証: サービス（DB）は1回目しか呼ばれない
+    verify(service, times(1)).getStudentPage(isNull(), isNull());
+  }
+
+  @Test
+  void データ変更後は以前のETagでもコース一覧が200で返ってくること() throws Exception {
+    // 準備
+    when(service.getCourses()).thenReturn(new ArrayList<>());
+    String etag = mockMvc.perform(get("/api/courses"))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getHeader("ETag");
+
+    // 実行: データ変更のコミットでバージョンが進む
+    dataVersion.onStudentChanged(new StudentChangedEvent(1, ChangeType.UPDATED));
+
+    // 検証
+    mockMvc.perform(get("/api/courses").header("If-None-Match", etag))
+        .andExpect(status().isOk())
+        .andExpect(header().string("ETag", dataVersion.etag()));
+  }
+
+  @Test
+  void 学生エクスポートで1行1件のNDJSONが出力されること() throws Exception {
+    // 準備: 2件の学生詳細をconsumerに渡すように設定
+    when(service.exportStudents(any())).thenAnswer(invocation -> {
+      Consumer<StudentDetail> consumer = invocation.getArgument(0);
+      consumer.accept(createDetail(1, "テスト太郎"));
+      consumer.accept(createDetail(2, "テスト花子"));
+      return 2;
+    });
+
+    // 実行: ストリーミング出力は非同期で実行される
+    MvcResult result = mockMvc.perform(get("/api/students/export"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+    assertEquals(Duration.ofMinutes(30).toMillis(),
+        result.getRequest().getAsyncContext().getTimeout(), "エクスポートのみタイムアウトを延長するはず");
+
+    // 検証
+    String body = mockMvc.perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+        .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+    String[] lines = body.split("\n");
+    assertEquals(2, lines.length);
+    assertTrue(lines[0].contains("テスト太郎"));
+    assertTrue(lines[1].contains("テスト花子"));
+  }
+
+  @Test
+  void 学生一括登録で全件登録できた場合_201と1件ごとの結果が返ってくること() throws Exception {
+    // 準備: 2件とも登録済みの結果を返すように設定
+    when(batchService.registerStudents(any())).thenReturn(List.of(
+        BatchItemResult.registered(0, 10),
+        BatchItemResult.registered(1, 11)));
+
+    // 実行と検証
+    mockMvc.perform(post("/api/students/batch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("[{\"name\":\"一括太郎\"},{\"name\":\"一括花子\"}]"))
+        .andExpect(status().isCreated())
+        .andExpect(jsonPath("$.status").value("success"))
+        .andExpect(jsonPath("$.requested").value(2))
+        .andExpect(jsonPath("$.registered").value(2))
+        .andExpect(jsonPath("$.results[1].studentId").value(11));
+  }
+
+  @Test
+  void 学生一括登録で入力エラーがある場合_400と行ごとのエラーが返ってくること() throws Exception {
+    // 準備: 2件目が入力エラーの結果を返すように設定
+    when(batchService.registerStudents(any())).thenReturn(List.of(
+        BatchItemResult.skipped(0),
+        BatchItemResult.invalid(1, List.of("name: 名前は必須です"))));
+
+    // 実行と検証
+    mockMvc.perform(post("/api/students/batch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("[{\"name\":\"一括太郎\"},{\"name\":\"\"}]"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.status").value("error"))
+        .andExpect(jsonPath("$.registered").value(0))
+        .andExpect(jsonPath("$.results[1].status").value("INVALID"))
+        .andExpect(jsonPath("$.results[1].errors[0]").value("name: 名前は必須です"));
+  }
+
+  @Test
+  void 学生CSVインポートが中断した場合_207とcheckpointが返ってくること() throws Exception {
+    // 準備: 500行目までコミットして中断した結果を返すように設定
+    when(importService.importStudents(any(), eq(0L))).thenReturn(
+        new ImportReport(false, 800, 500, 0, List.of(), 500, 1000, 800.0, "登録に失敗しました"));
+
+    // 実行と検証
+    mockMvc.perform(post("/api/students/import")
+            .contentType("text/csv")
+            .content("name,kanaName\n"))
+        .andExpect(status().isMultiStatus())
+        .andExpect(jsonPath("$.completed").value(false))
+        .andExpect(jsonPath("$.imported").value(500))
+        .andExpect(jsonPath("$.checkpoint").value(500));
+  }
+
+  @Test
+  void 学生部分更新が実行できて更新したテーブルと項目が返ってくること() throws Exception {
+    // 準備: 備考のみ変更した結果を返すように設定
+    when(service.patchStudent(eq(1), any())).thenReturn(
+        new StudentPatchResult(1, List.of("students"), List.of("remark")));
+
+    // 実行と検証
+    mockMvc.perform(patch("/api/students/1")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"remark\":\"備考のみ変更\"}"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.studentId").value(1))
+        .andExpect(jsonPath("$.modified").value(true))
+        .andExpect(jsonPath("$.updatedTables[0]").value("students"))
+        .andExpect(jsonPath("$.changedFields[0]").value("remark"));
   }
 
   // ========== ②異常系テスト(入力チェック) ==========
@@ -170,4 +355,35 @@ class StudentControllerTest {
         .andExpect(jsonPath("$.message").value("入力内容に誤りがあります"))
         .andExpect(jsonPath("$.detail").value(org.hamcrest.Matchers.containsString("email")));  // emailフィールドのエラー
   }
-}
\ No newline at end of file
+
+  @Test
+  void 学生部分更新でメールアドレスの形式が不正な場合_400エラーになること() throws Exception {
+    // 実行と検証: サービスは呼ばれない
+    mockMvc.perform(patch("/api/students/1")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"email\":\"test\"}"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.status").value("error"))
+        .andExpect(jsonPath("$.detail").value(org.hamcrest.Matchers.containsString("email")));
+    verify(service, times(0)).patchStudent(any(Integer.class), any());
+  }
+
+  @Test
+  void 学生部分更新で名前に空白のみを指定した場合_400エラーになること() throws Exception {
+    // 実行と検証: 未指定(null)は許可するが、空白のみは許可しない
+    mockMvc.perform(patch("/api/students/1")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"name\":\"  \"}"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.detail").value(org.hamcrest.Matchers.containsString("name")));
+  }
+
+  private StudentDetail createDetail(int id, String name) {
+    Student student = new Student();
+    student.setId(id);
+    student.setName(name);
+    StudentDetail detail = new StudentDetail();
+    detail.setStudent(student);
+    return detail;
+  }
+}
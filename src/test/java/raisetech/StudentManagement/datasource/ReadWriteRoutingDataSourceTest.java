@@ -0,0 +1,241 @@
+package raisetech.StudentManagement.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+import raisetech.StudentManagement.cache.StudentFormCache;
+import raisetech.StudentManagement.domain.StudentDetail;
+
+/**
+ * プライマリ・レプリカをそれぞれ別のH2インメモリDBとして用意し、
+ * どちらのDBに接続したかをテーブルの値で判定する
+ */
+class ReadWriteRoutingDataSourceTest {
+
+  private static final Duration READ_YOUR_WRITES_WINDOW = Duration.ofSeconds(5);
+  private static final Duration REPLICA_RETRY_INTERVAL = Duration.ofSeconds(30);
+
+  private MutableClock clock;
+  private JdbcTemplate jdbcTemplate;
+  private TransactionTemplate readWrite;
+  private TransactionTemplate readOnly;
+
+  @BeforeEach
+  void setUp() {
+    clock = new MutableClock();
+    setUpRouting(h2("primary"), h2("replica"));
+  }
+
+  @Test
+  @DisplayName("読み取り専用トランザクションはレプリカ、更新トランザクションはプライマリに接続すること")
+  void routeByReadOnlyFlag() {
+    assertEquals("replica", readOnly.execute(status -> currentNode()));
+    assertEquals("primary", readWrite.execute(status -> currentNode()));
+  }
+
+  @Test
+  @DisplayName("トランザクション外の接続はプライマリになること")
+  void routeToPrimaryOutsideTransaction() {
+    assertEquals("primary", currentNode());
+  }
+
+  @Test
+  @DisplayName("更新のコミット後は一定時間、読み取りもプライマリに接続すること")
+  void readYourWritesAfterCommit() {
+    readWrite.executeWithoutResult(
+        status -> jdbcTemplate.update("UPDATE node SET writes = writes + 1"));
+
+    assertEquals("primary", readOnly.execute(status -> currentNode()), "更新直後はプライマリ");
+
+    clock.advance(READ_YOUR_WRITES_WINDOW.plusMillis(1));
+    assertEquals("replica", readOnly.execute(status -> currentNode()), "一定時間後はレプリカ");
+  }
+
+  @Test
+  @DisplayName("リクエスト内では更新した利用者の読み取りだけをプライマリに接続すること")
+  void readYourWritesScopedToWriter() {
+    List<Instant> issued = new ArrayList<>();
+    ReadYourWritesContext writer = new ReadYourWritesContext(null, issued::add);
+    ReadYourWritesContext other = new ReadYourWritesContext(null, at -> { });
+    try {
+      ReadYourWritesContext.bind(writer);
+      readWrite.executeWithoutResult(
+          status -> jdbcTemplate.update("UPDATE node SET writes = writes + 1"));
+      assertEquals(List.of(clock.instant()), issued, "コミット時刻が通知されるはず");
+      assertEquals("primary", readOnly.execute(status -> currentNode()), "更新した利用者はプライマリ");
+
+      ReadYourWritesContext.bind(other);
+      assertEquals("replica", readOnly.execute(status -> currentNode()), "他の利用者はレプリカ");
+    } finally {
+      ReadYourWritesContext.clear();
+    }
+
+    assertEquals("primary", readOnly.execute(status -> currentNode()),
+        "リクエスト外は全体の最後の更新時刻で判定するはず");
+  }
+
+  @Test
+  @DisplayName("他の利用者の更新がレプリカへ反映される前の読み取りはキャッシュに登録されないこと")
+  void staleReplicaReadIsNotCached() {
+    // レプリカは更新を受け取らない（反映が遅れている）ため、writesは0のまま
+    StudentFormCache cache = new StudentFormCache(10, Duration.ofMinutes(5),
+        new SimpleMeterRegistry());
+    try {
+      ReadYourWritesContext.bind(new ReadYourWritesContext(null, at -> { }));
+      readWrite.executeWithoutResult(
+          status -> jdbcTemplate.update("UPDATE node SET writes = writes + 1"));
+
+      ReadYourWritesContext.bind(new ReadYourWritesContext(null, at -> { }));
+      long stamp = cache.currentStamp(1);
+      assertEquals(0, (int) readOnly.execute(status -> currentWrites()), "他の利用者はレプリカの古い値を読む");
+      assertTrue(ReadYourWritesContext.isStaleReplicaReadPossible());
+      cache.put(1, new StudentDetail(), stamp);
+      assertNull(cache.get(1), "古い値をキャッシュに登録しないはず");
+
+      clock.advance(READ_YOUR_WRITES_WINDOW.plusMillis(1));
+      ReadYourWritesContext.bind(new ReadYourWritesContext(null, at -> { }));
+      readOnly.execute(status -> currentWrites());
+      assertFalse(ReadYourWritesContext.isStaleReplicaReadPossible());
+      cache.put(1, new StudentDetail(), stamp);
+      assertNotNull(cache.get(1), "反映を待つ期間の後は登録するはず");
+    } finally {
+      ReadYourWritesContext.clear();
+    }
+  }
+
+  @Test
+  @DisplayName("ロールバックした更新では読み取りをプライマリに切り替えないこと")
+  void noReadYourWritesAfterRollback() {
+    readWrite.executeWithoutResult(status -> {
+      jdbcTemplate.update("UPDATE node SET writes = writes + 1");
+      status.setRollbackOnly();
+    });
+
+    assertEquals("replica", readOnly.execute(status -> currentNode()));
+  }
+
+  @Test
+  @DisplayName("レプリカに接続できない場合はプライマリに切り替え、一定時間後に再試行すること")
+  void failoverToPrimaryWhenReplicaIsDown() {
+    FailingDataSource replica = new FailingDataSource(h2("replica"));
+    setUpRouting(h2("primary"), replica);
+    replica.down = true;
+
+    assertEquals("primary", readOnly.execute(status -> currentNode()));
+    assertEquals(1, replica.attempts);
+
+    replica.down = false;
+    assertEquals("primary", readOnly.execute(status -> currentNode()), "再試行までは使わない");
+    assertEquals(1, replica.attempts);
+
+    clock.advance(REPLICA_RETRY_INTERVAL.plusMillis(1));
+    assertEquals("replica", readOnly.execute(status -> currentNode()), "復旧後はレプリカ");
+  }
+
+  // ==========================================
+  // ヘルパーメソッド
+  // ==========================================
+
+  private void setUpRouting(DataSource primary, DataSource replica) {
+    DataSource dataSource = new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(
+        primary, replica, READ_YOUR_WRITES_WINDOW, REPLICA_RETRY_INTERVAL, clock));
+    DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+    jdbcTemplate = new JdbcTemplate(dataSource);
+    readWrite = new TransactionTemplate(transactionManager);
+    readOnly = new TransactionTemplate(transactionManager);
+    readOnly.setReadOnly(true);
+  }
+
+  private int currentWrites() {
+    return jdbcTemplate.queryForObject("SELECT writes FROM node", Integer.class);
+  }
+
+  private String currentNode() {
+    return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+  }
+
+  /**
+   * 名前を記録したnodeテーブルを持つH2インメモリDBを作成
+   */
+  private static DataSource h2(String name) {
+    JdbcDataSource dataSource = new JdbcDataSource();
+    dataSource.setURL("jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1");
+    JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+    jdbc.execute("DROP TABLE IF EXISTS node");
+    jdbc.execute("CREATE TABLE node (name VARCHAR(20), writes INT)");
+    jdbc.update("INSERT INTO node VALUES (?, 0)", name);
+    return dataSource;
+  }
+
+  /**
+   * 停止状態を切り替えられるDataSource
+   */
+  private static class FailingDataSource extends DelegatingDataSource {
+
+    private boolean down;
+    private int attempts;
+
+    FailingDataSource(DataSource target) {
+      super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+      attempts++;
+      if (down) {
+        throw new SQLException("replica is down");
+      }
+      return obtainTargetDataSource().getConnection();
+    }
+  }
+
+  /**
+   * テストから時刻を進められるClock
+   */
+  private static class MutableClock extends Clock {
+
+    private Instant now = Instant.parse("2025-04-01T00:00:00Z");
+
+    void advance(Duration duration) {
+      now = now.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+  }
+}
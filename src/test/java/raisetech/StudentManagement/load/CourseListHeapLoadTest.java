@@ -0,0 +1,151 @@
+package raisetech.StudentManagement.load;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import raisetech.StudentManagement.data.EnrollmentStatus;
+import raisetech.StudentManagement.data.EnrollmentStatusCode;
+import raisetech.StudentManagement.data.StudentCourse;
+import raisetech.StudentManagement.repository.StudentRepository;
+
+/**
+ * コース一覧の保持メモリの比較テスト（種類の少ない文字列の共有あり / なし）
+ *
+ * <p>通常のtestタスクでは実行せず、./gradlew loadTest で実行します。</p>
+ * <p>100万件のコースをgetAllCoursesで取得し、GC後のヒープ使用量を次の2つで比較します。</p>
+ * <ul>
+ *   <li>共有あり: InterningStringTypeHandlerでコース名が共有インスタンスになった結果</li>
+ *   <li>共有なし: 同じ結果の文字列を行ごとに新しく作り直したもの（通常のStringTypeHandlerと同じ状態）</li>
+ * </ul>
+ * <p>件数は -Dload.heapCourses=2000000 のようにシステムプロパティで変更できます。</p>
+ */
+@Tag("load")
+class CourseListHeapLoadTest {
+
+  private static final int COURSES = Integer.getInteger("load.heapCourses", 1_000_000);
+
+  /** 学生1人あたりのコース数 */
+  private static final int COURSES_PER_STUDENT = 10;
+
+  private static final String[] COURSE_NAMES = {"Java入門", "Spring実践", "Webアプリ開発", "AWS基礎"};
+
+  private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+  @Test
+  void 種類の少ない文字列を共有したコース一覧は保持メモリが少ない() throws Exception {
+    try (ConfigurableApplicationContext context = start()) {
+      seed(context.getBean(JdbcTemplate.class));
+      StudentRepository repository = context.getBean(StudentRepository.class);
+
+      long baseline = usedHeapAfterGc();
+      List<StudentCourse> interned = repository.getAllCourses();
+      long internedBytes = usedHeapAfterGc() - baseline;
+      assertEquals(COURSES, interned.size());
+      int distinctCourseNames = distinctInstances(interned);
+
+      List<StudentCourse> copied = copyWithFreshStrings(interned);
+      interned = null;
+      long copiedBytes = usedHeapAfterGc() - baseline;
+      int copiedCourseNames = distinctInstances(copied);
+
+      System.out.printf("%nコース数=%d%n", COURSES);
+      System.out.printf("%-10s %16s %20s%n", "", "retained(MB)", "courseName instances");
+      System.out.printf("%-10s %16.1f %20d%n", "共有あり", internedBytes / 1_048_576d,
+          distinctCourseNames);
+      System.out.printf("%-10s %16.1f %20d%n", "共有なし", copiedBytes / 1_048_576d,
+          copiedCourseNames);
+      System.out.printf("削減量: %.1fMB (%.0f%%)%n", (copiedBytes - internedBytes) / 1_048_576d,
+          100d * (copiedBytes - internedBytes) / copiedBytes);
+
+      assertEquals(COURSE_NAMES.length, distinctCourseNames, "コース名は種類の数だけのはず");
+      assertEquals(COURSES, copiedCourseNames);
+      assertTrue(internedBytes < copiedBytes,
+          "共有ありの保持メモリが少ないはず: " + internedBytes + " / " + copiedBytes);
+      assertEquals(COURSES, copied.size());
+    }
+  }
+
+  /**
+   * 専用のH2インメモリDBでアプリを起動（Webサーバーは不要）
+   */
+  private ConfigurableApplicationContext start() {
+    return LoadTestData.application("heap")
+        .web(WebApplicationType.NONE)
+        .run();
+  }
+
+  /**
+   * COURSES件のコースと申込状況を、学生1人あたりCOURSES_PER_STUDENT件ずつ登録
+   */
+  private void seed(JdbcTemplate jdbcTemplate) {
+    LoadTestData.insertStudents(jdbcTemplate, "heap", COURSES / COURSES_PER_STUDENT);
+    LoadTestData.insertCourses(jdbcTemplate, "heap", COURSES_PER_STUDENT, COURSE_NAMES);
+    LoadTestData.insertStatuses(jdbcTemplate, "heap", EnrollmentStatusCode.values());
+    // テスト用データのコースを除いて件数を揃える
+    jdbcTemplate.update("DELETE FROM enrollment_status WHERE course_id IN "
+        + "(SELECT sc.id FROM students_courses sc JOIN students s ON sc.student_id = s.id "
+        + "WHERE s.email NOT LIKE 'heap%')");
+    jdbcTemplate.update("DELETE FROM students_courses WHERE student_id IN "
+        + "(SELECT id FROM students WHERE email NOT LIKE 'heap%')");
+  }
+
+  /**
+   * 行ごとに新しい文字列を持つコピーを作成（共有しないTypeHandlerで取得した場合と同じ状態）
+   */
+  private List<StudentCourse> copyWithFreshStrings(List<StudentCourse> source) {
+    List<StudentCourse> copies = new ArrayList<>(source.size());
+    for (StudentCourse course : source) {
+      StudentCourse copy = new StudentCourse();
+      copy.setId(course.getId());
+      copy.setStudentId(course.getStudentId());
+      copy.setStudentName(course.getStudentName());
+      copy.setCourseName(fresh(course.getCourseName()));
+      copy.setCourseStartAt(course.getCourseStartAt());
+      copy.setCourseEndAt(course.getCourseEndAt());
+      EnrollmentStatus status = course.getEnrollmentStatus();
+      if (status != null) {
+        EnrollmentStatus statusCopy = new EnrollmentStatus();
+        statusCopy.setId(status.getId());
+        statusCopy.setCourseId(status.getCourseId());
+        // 申込状況は列挙子のため、どちらも同じインスタンスを参照する
+        statusCopy.setStatus(status.getStatus());
+        copy.setEnrollmentStatus(statusCopy);
+      }
+      copies.add(copy);
+    }
+    return copies;
+  }
+
+  /**
+   * 内部の配列も共有しない新しい文字列（new String(String)は配列を共有するため使わない）
+   */
+  private static String fresh(String value) {
+    return value == null ? null : new String(value.toCharArray());
+  }
+
+  private static int distinctInstances(List<StudentCourse> courses) {
+    Set<String> instances = Collections.newSetFromMap(new IdentityHashMap<>());
+    courses.forEach(course -> instances.add(course.getCourseName()));
+    return instances.size();
+  }
+
+  private long usedHeapAfterGc() throws InterruptedException {
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+      Thread.sleep(100);
+    }
+    return memory.getHeapMemoryUsage().getUsed();
+  }
+}
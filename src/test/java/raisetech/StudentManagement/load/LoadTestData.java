@@ -0,0 +1,90 @@
+package raisetech.StudentManagement.load;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import raisetech.StudentManagement.Application;
+import raisetech.StudentManagement.data.EnrollmentStatusCode;
+
+/**
+ * 負荷テスト用のアプリの起動とデータの登録
+ *
+ * <p>テストごとに専用のH2インメモリDB（MySQLモード）でアプリを起動し、
+ * 学生・コース・申込状況を件数に関わらず1文ずつのSQLでまとめて登録します。</p>
+ * <p>登録した学生はメールアドレスの接頭辞で区別し、コース・申込状況もその学生の分だけに登録します
+ * （テスト用データの学生には追加しない）。</p>
+ */
+final class LoadTestData {
+
+  private LoadTestData() {
+  }
+
+  /**
+   * 専用のH2インメモリDBを使うアプリのビルダー（アプリのログはWARN以上のみ）
+   *
+   * @param database H2インメモリDBの名前（同じJVMで起動する他のテストと重ならないこと）
+   * @return プロパティ・プロファイルを追加して起動できるビルダー
+   */
+  static SpringApplicationBuilder application(String database) {
+    return new SpringApplicationBuilder(Application.class)
+        .properties(
+            "spring.datasource.url=jdbc:h2:mem:" + database + ";MODE=MySQL",
+            "logging.level.raisetech.StudentManagement=WARN");
+  }
+
+  /**
+   * 学生をcount人登録（名前は「負荷」＋連番、メールアドレスは接頭辞＋連番＋「@example.com」）
+   */
+  static void insertStudents(JdbcTemplate jdbcTemplate, String emailPrefix, int count) {
+    jdbcTemplate.update("INSERT INTO students (name, kanaName, email, area, age, sex) "
+        + "SELECT CONCAT('負荷', X), 'フカ', CONCAT(?, X, '@example.com'), '東京都', 20, '男性' "
+        + "FROM SYSTEM_RANGE(1, ?)", emailPrefix, count);
+  }
+
+  /**
+   * 登録した学生ごとにcoursesPerStudent件のコースを登録（コース名はcourseNamesを順に割り当てる）
+   */
+  static void insertCourses(JdbcTemplate jdbcTemplate, String emailPrefix, int coursesPerStudent,
+      String... courseNames) {
+    List<Object> args = new ArrayList<>(Arrays.asList(courseNames));
+    args.add(coursesPerStudent);
+    args.add(emailPrefix + "%");
+    jdbcTemplate.update("INSERT INTO students_courses "
+        + "(student_id, course_name, course_start_at, course_end_at) "
+        + "SELECT s.id, " + cycle("r.X", courseNames.length) + ", "
+        + "DATE '2025-04-01', DATE '2025-09-30' "
+        + "FROM students s CROSS JOIN SYSTEM_RANGE(1, ?) r WHERE s.email LIKE ?", args.toArray());
+  }
+
+  /**
+   * 登録した学生のコースに申込状況を登録（statusesをコースIDの順に割り当てる）
+   */
+  static void insertStatuses(JdbcTemplate jdbcTemplate, String emailPrefix,
+      EnrollmentStatusCode... statuses) {
+    List<Object> args = new ArrayList<>();
+    for (EnrollmentStatusCode status : statuses) {
+      args.add(status.getCode());
+    }
+    args.add(emailPrefix + "%");
+    jdbcTemplate.update("INSERT INTO enrollment_status (course_id, status_code) "
+        + "SELECT sc.id, " + cycle("sc.id", statuses.length) + " "
+        + "FROM students_courses sc JOIN students s ON sc.student_id = s.id "
+        + "WHERE s.email LIKE ?", args.toArray());
+  }
+
+  /**
+   * columnの値に応じてsize個のパラメータを順に選ぶSQLの式（sizeが1の場合はパラメータそのもの）
+   */
+  private static String cycle(String column, int size) {
+    if (size == 1) {
+      return "?";
+    }
+    StringBuilder sql = new StringBuilder("CASE MOD(" + column + ", " + size + ")");
+    for (int i = 0; i < size - 1; i++) {
+      sql.append(" WHEN ").append(i).append(" THEN ?");
+    }
+    return sql.append(" ELSE ? END").toString();
+  }
+}
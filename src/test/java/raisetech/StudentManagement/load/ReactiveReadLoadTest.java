@@ -0,0 +1,190 @@
+package raisetech.StudentManagement.load;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import raisetech.StudentManagement.reactive.ReactiveReadServer;
+
+/**
+ * 受信の遅いクライアントが多い場合の負荷比較テスト（MVC / WebFlux参照API）
+ *
+ * <p>通常のtestタスクでは実行せず、./gradlew loadTest で実行します。</p>
+ * <p>H2テストDBに学生を追加して参照APIを有効にしたアプリを起動し、
+ * MVCの /api/students/export（NDJSONの逐次出力）と参照APIの /api/students（NDJSON）を
+ * 同じ並列数・同じ受信速度のクライアントで取得して、スループット・p99・計測中の最大スレッド数を出力します。</p>
+ * <p>クライアントは一定バイトごとに待ちを入れて読むため、サーバー側は書き込みの完了を待たされます。
+ * 並列数・受信速度は -Dload.concurrency=400 -Dload.readDelayMillis=5 のように変更できます。</p>
+ */
+@Tag("load")
+class ReactiveReadLoadTest {
+
+  private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 200);
+  private static final int WARMUP_SECONDS = Integer.getInteger("load.warmupSeconds", 3);
+  private static final int DURATION_SECONDS = Integer.getInteger("load.durationSeconds", 10);
+  private static final int POOL_SIZE = Integer.getInteger("load.poolSize", 10);
+  private static final int STUDENTS = Integer.getInteger("load.students", 2000);
+  private static final int READ_CHUNK_BYTES = Integer.getInteger("load.readChunkBytes", 8192);
+  private static final int READ_DELAY_MILLIS = Integer.getInteger("load.readDelayMillis", 2);
+
+  private final HttpClient client = HttpClient.newBuilder()
+      .connectTimeout(Duration.ofSeconds(5))
+      .build();
+
+  /**
+   * 1回の計測結果
+   */
+  private record LoadResult(String api, int requests, int errors, double throughput,
+                            double p50Millis, double p99Millis, int peakThreads) {
+  }
+
+  @Test
+  void 受信の遅いクライアントに対するMVCとWebFluxのスループットとp99を比較する() throws Exception {
+    List<LoadResult> results = new ArrayList<>();
+
+    try (ConfigurableApplicationContext context = start()) {
+      seed(context.getBean(JdbcTemplate.class));
+      int mvcPort = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+      int reactivePort = context.getBean(ReactiveReadServer.class).getPort();
+
+      String mvcUrl = "http://localhost:" + mvcPort + "/api/students/export";
+      String reactiveUrl = "http://localhost:" + reactivePort + "/api/students";
+      run("mvc", mvcUrl, WARMUP_SECONDS);
+      results.add(run("mvc", mvcUrl, DURATION_SECONDS));
+      run("webflux", reactiveUrl, WARMUP_SECONDS);
+      results.add(run("webflux", reactiveUrl, DURATION_SECONDS));
+    }
+
+    System.out.printf("%n並列数=%d, 計測=%d秒, 学生=%d件, 受信=%dバイトごとに%dms待ち%n",
+        CONCURRENCY, DURATION_SECONDS, STUDENTS, READ_CHUNK_BYTES, READ_DELAY_MILLIS);
+    System.out.printf("%-8s %10s %8s %12s %10s %10s %12s%n",
+        "api", "requests", "errors", "req/s", "p50(ms)", "p99(ms)", "最大スレッド数");
+    for (LoadResult r : results) {
+      System.out.printf("%-8s %10d %8d %12.1f %10.2f %10.2f %12d%n",
+          r.api(), r.requests(), r.errors(), r.throughput(), r.p50Millis(), r.p99Millis(),
+          r.peakThreads());
+    }
+
+    for (LoadResult r : results) {
+      assertTrue(r.requests() > 0, r.api() + " のリクエストが0件");
+      assertEquals(0, r.errors(), r.api() + " でエラーが発生");
+    }
+  }
+
+  /**
+   * 参照APIを有効にしてアプリを起動（R2DBCはJDBCと同じH2インメモリDBに接続する）
+   */
+  private ConfigurableApplicationContext start() {
+    return LoadTestData.application("load-reactive")
+        .properties(
+            "server.port=0",
+            "spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+            "student.reactive.enabled=true",
+            "student.reactive.port=0",
+            "student.reactive.r2dbc.url=r2dbc:h2:mem:///load-reactive?options=MODE=MySQL",
+            "student.reactive.r2dbc.pool.max-size=" + POOL_SIZE)
+        .run();
+  }
+
+  /**
+   * 一覧が複数回の書き込みに分かれる件数になるよう、学生とコースを追加
+   */
+  private void seed(JdbcTemplate jdbcTemplate) {
+    LoadTestData.insertStudents(jdbcTemplate, "load", STUDENTS);
+    LoadTestData.insertCourses(jdbcTemplate, "load", 1, "Java入門");
+  }
+
+  /**
+   * 指定秒数の間、CONCURRENCY並列で受信の遅いGETを繰り返して計測
+   */
+  private LoadResult run(String api, String url, int seconds) throws Exception {
+    HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+        .timeout(Duration.ofSeconds(60))
+        .GET()
+        .build();
+    long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+    ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    threads.resetPeakThreadCount();
+    AtomicInteger errors = new AtomicInteger();
+
+    List<Future<long[]>> futures = new ArrayList<>(CONCURRENCY);
+    try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int i = 0; i < CONCURRENCY; i++) {
+        futures.add(clients.submit(() -> {
+          long[] latencies = new long[64];
+          int count = 0;
+          while (System.nanoTime() < deadline) {
+            long start = System.nanoTime();
+            try {
+              HttpResponse<InputStream> response = client.send(request,
+                  HttpResponse.BodyHandlers.ofInputStream());
+              readSlowly(response.body());
+              if (response.statusCode() != 200) {
+                errors.incrementAndGet();
+              }
+            } catch (Exception e) {
+              errors.incrementAndGet();
+            }
+            if (count == latencies.length) {
+              latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = System.nanoTime() - start;
+          }
+          return Arrays.copyOf(latencies, count);
+        }));
+      }
+    }
+
+    long[] all = futures.stream().map(ReactiveReadLoadTest::join)
+        .flatMapToLong(Arrays::stream).sorted().toArray();
+    return new LoadResult(api, all.length, errors.get(), (double) all.length / seconds,
+        percentileMillis(all, 0.50), percentileMillis(all, 0.99), threads.getPeakThreadCount());
+  }
+
+  /**
+   * READ_CHUNK_BYTESごとにREAD_DELAY_MILLIS待ちながら最後まで読む
+   */
+  private static void readSlowly(InputStream body) throws Exception {
+    try (body) {
+      byte[] buffer = new byte[READ_CHUNK_BYTES];
+      while (body.readNBytes(buffer, 0, buffer.length) > 0) {
+        Thread.sleep(READ_DELAY_MILLIS);
+      }
+    }
+  }
+
+  private static long[] join(Future<long[]> future) {
+    try {
+      return future.get();
+    } catch (Exception e) {
+      throw new IllegalStateException("負荷クライアントの実行に失敗しました", e);
+    }
+  }
+
+  private static double percentileMillis(long[] sortedNanos, double percentile) {
+    if (sortedNanos.length == 0) {
+      return 0;
+    }
+    int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+    return sortedNanos[Math.max(0, index)] / 1_000_000d;
+  }
+}
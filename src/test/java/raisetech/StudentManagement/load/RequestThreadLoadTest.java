@@ -0,0 +1,157 @@
+package raisetech.StudentManagement.load;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * リクエスト処理スレッドの負荷比較テスト（プラットフォームスレッド / 仮想スレッド）
+ *
+ * <p>通常のtestタスクでは実行せず、./gradlew loadTest で実行します。</p>
+ * <p>同じH2テストDBの構成でspring.threads.virtual.enabledだけを切り替えてアプリを起動し、
+ * /api/students と /api/students/{id} のスループットとp99を出力します。</p>
+ * <p>並列数などは -Dload.concurrency=400 のようにシステムプロパティで変更できます。</p>
+ * <p>loadTestタスクは -Djdk.tracePinnedThreads=short 付きで実行するため、
+ * 仮想スレッドがキャリアスレッドに固定（pinning）された場合はスタックトレースが出力されます。</p>
+ */
+@Tag("load")
+class RequestThreadLoadTest {
+
+  private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 200);
+  private static final int WARMUP_SECONDS = Integer.getInteger("load.warmupSeconds", 3);
+  private static final int DURATION_SECONDS = Integer.getInteger("load.durationSeconds", 10);
+  private static final int POOL_SIZE = Integer.getInteger("load.poolSize", 10);
+
+  private static final List<String> PATHS = List.of("/api/students", "/api/students/1");
+
+  private final HttpClient client = HttpClient.newBuilder()
+      .connectTimeout(Duration.ofSeconds(5))
+      .build();
+
+  /**
+   * 1回の計測結果
+   */
+  private record LoadResult(String mode, String path, int requests, int errors,
+                            double throughput, double p50Millis, double p99Millis) {
+  }
+
+  @Test
+  void プラットフォームスレッドと仮想スレッドのスループットとp99を比較する() throws Exception {
+    List<LoadResult> results = new ArrayList<>();
+
+    for (boolean virtual : new boolean[]{false, true}) {
+      String mode = virtual ? "virtual" : "platform";
+      try (ConfigurableApplicationContext context = start(mode, virtual)) {
+        int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+        for (String path : PATHS) {
+          run(mode, port, path, WARMUP_SECONDS);
+          results.add(run(mode, port, path, DURATION_SECONDS));
+        }
+      }
+    }
+
+    System.out.printf("%n並列数=%d, 計測=%d秒, コネクションプール=%d%n",
+        CONCURRENCY, DURATION_SECONDS, POOL_SIZE);
+    System.out.printf("%-9s %-18s %10s %8s %12s %10s %10s%n",
+        "mode", "path", "requests", "errors", "req/s", "p50(ms)", "p99(ms)");
+    for (LoadResult r : results) {
+      System.out.printf("%-9s %-18s %10d %8d %12.1f %10.2f %10.2f%n",
+          r.mode(), r.path(), r.requests(), r.errors(), r.throughput(), r.p50Millis(),
+          r.p99Millis());
+    }
+
+    for (LoadResult r : results) {
+      assertTrue(r.requests() > 0, r.mode() + " " + r.path() + " のリクエストが0件");
+      assertEquals(0, r.errors(), r.mode() + " " + r.path() + " でエラーが発生");
+    }
+  }
+
+  /**
+   * スレッドモードを指定してアプリを起動（モードごとに別のH2インメモリDBを使う）
+   */
+  private ConfigurableApplicationContext start(String mode, boolean virtual) {
+    return LoadTestData.application("load-" + mode)
+        .properties(
+            "server.port=0",
+            "spring.threads.virtual.enabled=" + virtual,
+            "spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE)
+        .run();
+  }
+
+  /**
+   * 指定秒数の間、CONCURRENCY並列でGETを繰り返して計測
+   */
+  private LoadResult run(String mode, int port, String path, int seconds) throws Exception {
+    HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+        .timeout(Duration.ofSeconds(30))
+        .GET()
+        .build();
+    long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+
+    List<Future<long[]>> futures = new ArrayList<>(CONCURRENCY);
+    int[] errors = new int[CONCURRENCY];
+    try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int i = 0; i < CONCURRENCY; i++) {
+        int worker = i;
+        futures.add(clients.submit(() -> {
+          long[] latencies = new long[1024];
+          int count = 0;
+          while (System.nanoTime() < deadline) {
+            long start = System.nanoTime();
+            try {
+              HttpResponse<Void> response = client.send(request,
+                  HttpResponse.BodyHandlers.discarding());
+              if (response.statusCode() != 200) {
+                errors[worker]++;
+              }
+            } catch (Exception e) {
+              errors[worker]++;
+            }
+            if (count == latencies.length) {
+              latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = System.nanoTime() - start;
+          }
+          return Arrays.copyOf(latencies, count);
+        }));
+      }
+    }
+
+    long[] all = futures.stream().map(RequestThreadLoadTest::join)
+        .flatMapToLong(Arrays::stream).sorted().toArray();
+    int errorCount = Arrays.stream(errors).sum();
+    return new LoadResult(mode, path, all.length, errorCount, (double) all.length / seconds,
+        percentileMillis(all, 0.50), percentileMillis(all, 0.99));
+  }
+
+  private static long[] join(Future<long[]> future) {
+    try {
+      return future.get();
+    } catch (Exception e) {
+      throw new IllegalStateException("負荷クライアントの実行に失敗しました", e);
+    }
+  }
+
+  private static double percentileMillis(long[] sortedNanos, double percentile) {
+    if (sortedNanos.length == 0) {
+      return 0;
+    }
+    int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+    return sortedNanos[Math.max(0, index)] / 1_000_000d;
+  }
+}
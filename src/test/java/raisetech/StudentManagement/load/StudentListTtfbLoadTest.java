@@ -0,0 +1,143 @@
+package raisetech.StudentManagement.load;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import raisetech.StudentManagement.data.EnrollmentStatusCode;
+
+/**
+ * 学生一覧画面の最初の応答までの時間（TTFB）の比較テスト
+ *
+ * <p>通常のtestタスクでは実行せず、./gradlew loadTest で実行します。</p>
+ * <p>prodプロファイル（テンプレートキャッシュ有効・逐次出力）で起動し、
+ * 5万件の学生に対して次の2つの画面のTTFBと全体の応答時間を出力します。</p>
+ * <ul>
+ *   <li>/students/search?courseName=... 全件を取得してから描画（従来の方式）</li>
+ *   <li>/studentList/all チャンク単位で取得しながら描画し、チャンクごとにフラッシュ</li>
+ * </ul>
+ * <p>件数などは -Dload.ttfbRows=100000 のようにシステムプロパティで変更できます。</p>
+ */
+@Tag("load")
+class StudentListTtfbLoadTest {
+
+  private static final int ROWS = Integer.getInteger("load.ttfbRows", 50_000);
+  private static final int REPETITIONS = Integer.getInteger("load.ttfbRepetitions", 5);
+
+  private static final String COURSE_NAME = "負荷コース";
+
+  private final HttpClient client = HttpClient.newBuilder()
+      .connectTimeout(Duration.ofSeconds(5))
+      .build();
+
+  /**
+   * 1画面分の計測結果（中央値）
+   */
+  private record TtfbResult(String path, double ttfbMillis, double totalMillis, long bytes) {
+  }
+
+  @Test
+  void 全件表示の逐次出力は全件取得後の描画よりTTFBが短い() throws Exception {
+    List<TtfbResult> results = new ArrayList<>();
+
+    try (ConfigurableApplicationContext context = start()) {
+      seed(context.getBean(JdbcTemplate.class));
+      int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+
+      String materialized = "/students/search?courseName="
+          + URLEncoder.encode(COURSE_NAME, StandardCharsets.UTF_8);
+      String streamed = "/studentList/all";
+      for (String path : List.of(materialized, streamed)) {
+        measure(port, path, 1);
+        results.add(measure(port, path, REPETITIONS));
+      }
+    }
+
+    System.out.printf("%n学生数=%d, 計測回数=%d（中央値）%n", ROWS, REPETITIONS);
+    System.out.printf("%-40s %12s %12s %12s%n", "path", "TTFB(ms)", "total(ms)", "bytes");
+    for (TtfbResult r : results) {
+      System.out.printf("%-40s %12.1f %12.1f %12d%n", r.path(), r.ttfbMillis(), r.totalMillis(),
+          r.bytes());
+    }
+
+    TtfbResult materialized = results.get(0);
+    TtfbResult streamed = results.get(1);
+    assertTrue(streamed.bytes() >= materialized.bytes() * 9 / 10, "両方とも全件を出力するはず");
+    assertTrue(streamed.ttfbMillis() < materialized.ttfbMillis(),
+        "逐次出力のTTFBが短いはず: " + streamed.ttfbMillis() + "ms / "
+            + materialized.ttfbMillis() + "ms");
+  }
+
+  /**
+   * prodプロファイルでアプリを起動（専用のH2インメモリDBを使う）
+   */
+  private ConfigurableApplicationContext start() {
+    return LoadTestData.application("ttfb")
+        .profiles("prod")
+        .properties(
+            "server.port=0",
+            // 2回目以降の検索がキャッシュから返ると全件取得の時間を計測できないため無効にする
+            "student.cache.search.maximum-weight=0")
+        .run();
+  }
+
+  /**
+   * ROWS件の学生と、学生ごとに1件のコース・申込状況を登録
+   */
+  private void seed(JdbcTemplate jdbcTemplate) {
+    LoadTestData.insertStudents(jdbcTemplate, "load", ROWS);
+    LoadTestData.insertCourses(jdbcTemplate, "load", 1, COURSE_NAME);
+    LoadTestData.insertStatuses(jdbcTemplate, "load", EnrollmentStatusCode.IN_PROGRESS);
+  }
+
+  /**
+   * 指定回数GETし、最初の1バイトを受け取るまでの時間と全体の時間の中央値を計測
+   */
+  private TtfbResult measure(int port, String path, int repetitions) throws Exception {
+    HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+        .timeout(Duration.ofMinutes(2))
+        .GET()
+        .build();
+
+    long[] ttfb = new long[repetitions];
+    long[] total = new long[repetitions];
+    long bytes = 0;
+    for (int i = 0; i < repetitions; i++) {
+      long start = System.nanoTime();
+      HttpResponse<InputStream> response = client.send(request,
+          HttpResponse.BodyHandlers.ofInputStream());
+      try (InputStream body = response.body()) {
+        assertEquals(200, response.statusCode(), path);
+        if (body.read() < 0) {
+          throw new IllegalStateException("レスポンスが空です: " + path);
+        }
+        ttfb[i] = System.nanoTime() - start;
+        bytes = 1 + body.transferTo(OutputStream.nullOutputStream());
+        total[i] = System.nanoTime() - start;
+      }
+    }
+    return new TtfbResult(path, medianMillis(ttfb), medianMillis(total), bytes);
+  }
+
+  private static double medianMillis(long[] nanos) {
+    long[] sorted = nanos.clone();
+    Arrays.sort(sorted);
+    return sorted[sorted.length / 2] / 1_000_000d;
+  }
+}
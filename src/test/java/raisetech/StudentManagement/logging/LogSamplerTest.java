@@ -0,0 +1,41 @@
+package raisetech.StudentManagement.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class LogSamplerTest {
+
+  private final MeterRegistry registry = new SimpleMeterRegistry();
+
+  @Test
+  @DisplayName("間引き率1の場合は全件出力し、カウンターも作らないこと")
+  void noSampling() {
+    LogSampler sampler = new LogSampler(1, registry);
+
+    assertTrue(IntStream.range(0, 10).allMatch(i -> sampler.sample("site")));
+    assertNull(registry.find("logging.events.sampled.out").counter());
+  }
+
+  @Test
+  @DisplayName("呼び出し箇所ごとにN件に1件だけ出力し、間引いた件数を数えること")
+  void samplingPerSite() {
+    LogSampler sampler = new LogSampler(10, registry);
+
+    long logged = IntStream.range(0, 100).filter(i -> sampler.sample("siteA")).count();
+    // 別の呼び出し箇所は独立して数える（最初の1件は必ず出力される）
+    assertTrue(sampler.sample("siteB"));
+
+    assertEquals(10, logged);
+    assertEquals(90, registry.get("logging.events.sampled.out").tag("site", "siteA")
+        .counter().count(), 0.0);
+    assertEquals(0, registry.get("logging.events.sampled.out").tag("site", "siteB")
+        .counter().count(), 0.0);
+  }
+}
@@ -0,0 +1,76 @@
+package raisetech.StudentManagement.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import raisetech.StudentManagement.data.StudentCourse;
+import raisetech.StudentManagement.repository.StudentRepository;
+
+@SpringBootTest
+@Transactional
+class MyBatisMetricsInterceptorTest {
+
+  @Autowired
+  private StudentRepository repository;
+
+  @Autowired
+  private MeterRegistry registry;
+
+  @Test
+  @DisplayName("SQL文ごとに実行時間と取得行数が記録されること")
+  void recordsTimerAndRows() {
+    long before = timerCount("StudentRepository.getActiveStudents");
+    double rowsBefore = rowsTotal("StudentRepository.getActiveStudents");
+
+    int size = repository.getActiveStudents().size();
+
+    assertEquals(before + 1, timerCount("StudentRepository.getActiveStudents"));
+    assertEquals(rowsBefore + size, rowsTotal("StudentRepository.getActiveStudents"), 0.0);
+  }
+
+  @Test
+  @DisplayName("SQL文でエラーが発生するとエラー回数が記録されること")
+  void recordsErrors() {
+    double before = errorCount("StudentRepository.saveCourse");
+    StudentCourse course = new StudentCourse();
+    course.setStudentId(1);
+    // course_nameはNOT NULLのため登録に失敗する
+    assertThrows(RuntimeException.class, () -> repository.saveCourse(course));
+
+    assertEquals(before + 1, errorCount("StudentRepository.saveCourse"), 0.0);
+  }
+
+  @Test
+  @DisplayName("ステートメントIDはパッケージ名を除いた名前になること")
+  void shortName() {
+    assertEquals("StudentRepository.getActiveStudents", MyBatisMetricsInterceptor.shortName(
+        "raisetech.StudentManagement.repository.StudentRepository.getActiveStudents"));
+    assertEquals("plainId", MyBatisMetricsInterceptor.shortName("plainId"));
+  }
+
+  private long timerCount(String statement) {
+    Timer timer = registry.find("mybatis.statement").tag("statement", statement).timer();
+    return timer != null ? timer.count() : 0;
+  }
+
+  private double rowsTotal(String statement) {
+    DistributionSummary rows = registry.find("mybatis.statement.rows")
+        .tag("statement", statement).summary();
+    return rows != null ? rows.totalAmount() : 0;
+  }
+
+  private double errorCount(String statement) {
+    Counter errors = registry.find("mybatis.statement.errors")
+        .tag("statement", statement).counter();
+    return errors != null ? errors.count() : 0;
+  }
+}
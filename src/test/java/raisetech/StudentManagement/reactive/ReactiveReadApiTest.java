@@ -0,0 +1,111 @@
+package raisetech.StudentManagement.reactive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import raisetech.StudentManagement.data.StudentCourse;
+import raisetech.StudentManagement.domain.StudentDetail;
+
+/**
+ * 参照API（WebFlux + R2DBC）のテスト
+ *
+ * <p>R2DBCはJDBCと同じH2インメモリDB（テスト用データ投入済み）に接続します。</p>
+ */
+@SpringBootTest(properties = {
+    "student.reactive.enabled=true",
+    "student.reactive.port=0",
+    "student.reactive.r2dbc.url=r2dbc:h2:mem:///test?options=MODE=MySQL",
+    // ページの境界をまたいで続きを読み込むことを確認するため、1ページ1人にする
+    "student.reactive.page-size=1"})
+class ReactiveReadApiTest {
+
+  @Autowired
+  private ReactiveReadServer server;
+
+  private WebTestClient client;
+
+  @BeforeEach
+  void setUp() {
+    assertTrue(server.getPort() > 0, "参照APIが起動しているはず");
+    client = WebTestClient.bindToServer().baseUrl("http://localhost:" + server.getPort()).build();
+  }
+
+  @Test
+  void 学生一覧を有効な学生のみNDJSONで1件ずつ返す() {
+    List<StudentDetail> details = client.get().uri("/api/students")
+        .accept(MediaType.APPLICATION_NDJSON)
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+        .expectHeader().exists(HttpHeaders.ETAG)
+        .returnResult(StudentDetail.class)
+        .getResponseBody()
+        .collectList()
+        .block();
+
+    assertNotNull(details);
+    assertEquals(List.of(1, 2), details.stream().map(d -> d.getStudent().getId()).toList());
+    StudentCourse course = details.get(0).getStudentCourse().get(0);
+    assertEquals("Java入門", course.getCourseName());
+    assertEquals("受講中", course.getEnrollmentStatus().getStatus().getLabel());
+  }
+
+  @Test
+  void afterを指定すると続きの学生から返す() {
+    List<Integer> ids = client.get().uri("/api/students?after=1")
+        .exchange()
+        .expectStatus().isOk()
+        .returnResult(StudentDetail.class)
+        .getResponseBody()
+        .map(d -> d.getStudent().getId())
+        .collectList()
+        .block();
+
+    assertEquals(List.of(2), ids);
+
+    client.get().uri("/api/students?after=abc")
+        .exchange()
+        .expectStatus().isBadRequest();
+  }
+
+  @Test
+  void ETagが一致する場合は304を返す() {
+    String etag = client.get().uri("/api/courses")
+        .exchange()
+        .expectStatus().isOk()
+        .expectBodyList(StudentCourse.class).hasSize(2)
+        .returnResult()
+        .getResponseHeaders().getETag();
+
+    client.get().uri("/api/courses")
+        .ifNoneMatch(etag)
+        .exchange()
+        .expectStatus().isNotModified();
+  }
+
+  @Test
+  void 学生詳細をフォーム形式で返し存在しない場合は404を返す() {
+    client.get().uri("/api/students/1")
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody()
+        .jsonPath("$.name").isEqualTo("テスト太郎")
+        .jsonPath("$.courseName").isEqualTo("Java入門")
+        .jsonPath("$.enrollmentStatus").isEqualTo("受講中");
+
+    client.get().uri("/api/students/999")
+        .exchange()
+        .expectStatus().isNotFound()
+        .expectBody()
+        .jsonPath("$.exceptionType").isEqualTo("ResourceNotFoundException");
+  }
+}
@@ -0,0 +1,122 @@
+package raisetech.StudentManagement.reactive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static raisetech.StudentManagement.data.EnrollmentStatusCode.COMPLETED;
+import static raisetech.StudentManagement.data.EnrollmentStatusCode.IN_PROGRESS;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.reactive.function.server.MockServerRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.reactive.function.server.EntityResponse;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import raisetech.StudentManagement.cache.DataVersion;
+import raisetech.StudentManagement.controller.converter.StudentConverter;
+import raisetech.StudentManagement.data.EnrollmentStatus;
+import raisetech.StudentManagement.data.Student;
+import raisetech.StudentManagement.data.StudentCourse;
+import raisetech.StudentManagement.domain.StudentDetail;
+import raisetech.StudentManagement.form.StudentForm;
+import raisetech.StudentManagement.logging.LogSampler;
+import raisetech.StudentManagement.repository.StudentRepository;
+import raisetech.StudentManagement.writebehind.EnrollmentStatusWriteBehind;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 参照APIのハンドラーが書き込み待ちの申込状況を重ねて返すことのテスト
+ *
+ * <p>R2DBCのリポジトリはモックにし、DBの値（受講中）と書き込み待ちの値（受講終了）が異なる状態を作る。</p>
+ */
+class ReactiveStudentHandlerTest {
+
+  private ReactiveStudentRepository repository;
+  private ReactiveStudentHandler handler;
+
+  @BeforeEach
+  void setUp() {
+    repository = mock(ReactiveStudentRepository.class);
+    EnrollmentStatusWriteBehind writeBehind = new EnrollmentStatusWriteBehind(
+        mock(StudentRepository.class), mock(ApplicationEventPublisher.class),
+        new SimpleMeterRegistry(), true);
+    writeBehind.enqueue(1, 10, COMPLETED);
+    handler = new ReactiveStudentHandler(repository, new StudentConverter(), new DataVersion(),
+        new LogSampler(1, new SimpleMeterRegistry()), writeBehind);
+  }
+
+  @Test
+  void 学生一覧は書き込み待ちの申込状況を重ねて返す() {
+    when(repository.streamActiveStudentDetails(null)).thenReturn(Flux.just(createDetail()));
+
+    List<StudentDetail> details = this.<Flux<StudentDetail>>entity(
+        handler.getStudents(get("/api/students"))).collectList().block();
+
+    assertEquals(COMPLETED,
+        details.get(0).getStudentCourse().get(0).getEnrollmentStatus().getStatus());
+  }
+
+  @Test
+  void コース一覧は書き込み待ちの申込状況を重ねて返す() {
+    when(repository.getAllCourses()).thenReturn(Flux.just(createCourse()));
+
+    List<StudentCourse> courses = this.<Flux<StudentCourse>>entity(
+        handler.getCourses(get("/api/courses"))).collectList().block();
+
+    assertEquals(COMPLETED, courses.get(0).getEnrollmentStatus().getStatus());
+  }
+
+  @Test
+  void 学生詳細は書き込み待ちの申込状況を重ねて返す() {
+    when(repository.getStudentById(1)).thenReturn(Mono.just(createDetail().getStudent()));
+    when(repository.getCoursesByStudentId(1)).thenReturn(Flux.just(createCourse()));
+
+    StudentForm form = this.<StudentForm>entity(
+        handler.getStudent(MockServerRequest.builder().pathVariable("id", "1").build()));
+
+    assertEquals("受講終了", form.getEnrollmentStatus());
+  }
+
+  /**
+   * ETagの判定にServerWebExchangeが必要なため、モックのリクエストから作成する
+   */
+  private ServerRequest get(String path) {
+    return ServerRequest.create(MockServerWebExchange.from(MockServerHttpRequest.get(path)),
+        HandlerStrategies.withDefaults().messageReaders());
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> T entity(Mono<ServerResponse> response) {
+    return ((EntityResponse<T>) response.block()).entity();
+  }
+
+  private StudentDetail createDetail() {
+    Student student = new Student();
+    student.setId(1);
+    student.setName("山田太郎");
+    StudentDetail detail = new StudentDetail();
+    detail.setStudent(student);
+    detail.setStudentCourse(List.of(createCourse()));
+    return detail;
+  }
+
+  private StudentCourse createCourse() {
+    StudentCourse course = new StudentCourse();
+    course.setId(10);
+    course.setStudentId(1);
+    course.setCourseName("Java入門");
+    EnrollmentStatus status = new EnrollmentStatus();
+    status.setId(100);
+    status.setCourseId(10);
+    status.setStatus(IN_PROGRESS);
+    course.setEnrollmentStatus(status);
+    return course;
+  }
+}
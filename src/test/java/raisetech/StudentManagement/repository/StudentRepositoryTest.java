@@ -3,27 +3,46 @@ package raisetech.StudentManagement.repository;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.session.SqlSessionFactory;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.transaction.annotation.Transactional;
 import raisetech.StudentManagement.data.EnrollmentStatus;
+import raisetech.StudentManagement.data.EnrollmentStatusCode;
 import raisetech.StudentManagement.data.Student;
 import raisetech.StudentManagement.data.StudentCourse;
+import raisetech.StudentManagement.domain.StudentDetail;
 
 /**
  * StudentRepositoryのテストクラス
  * @Transactionalにより各テスト後に自動ロールバックされ、テストの独立性を担保
+ * マイグレーションがMySQLの構文を使うため、組み込みDBに置き換えず設定のDB（H2のMySQLモード）を使う
  */
 @MybatisTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
 @Transactional
 class StudentRepositoryTest {
 
   @Autowired
   private StudentRepository repository;
 
+  @Autowired
+  private SqlSessionFactory sqlSessionFactory;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
   // ============ テストデータの定数 ============
 
   private static final int EXISTING_STUDENT_ID_1 = 1;
@@ -116,6 +135,48 @@ class StudentRepositoryTest {
     assertStudentListNotContains(students, STUDENT_NAME_DELETED);
   }
 
+  @Test
+  @DisplayName("有効な学生を学生詳細としてキーセット方式でページ取得できること")
+  void 有効な学生を学生詳細としてキーセット方式でページ取得できること() {
+    List<StudentDetail> firstPage = repository.getActiveStudentDetailsPage(null, 1);
+
+    assertEquals(1, firstPage.size(), "limit件数分の学生だけ取得されるはず");
+    StudentDetail taro = firstPage.get(0);
+    assertEquals(STUDENT_NAME_TARO, taro.getStudent().getName());
+    assertEquals(1, taro.getStudentCourse().size(), "学生1のコースがまとめられているはず");
+    assertEquals(COURSE_NAME_JAVA, taro.getStudentCourse().get(0).getCourseName());
+    assertNotNull(taro.getStudentCourse().get(0).getEnrollmentStatus(), "申込状況が結合されているはず");
+
+    List<StudentDetail> secondPage = repository.getActiveStudentDetailsPage(
+        taro.getStudent().getId(), 10);
+
+    assertEquals(1, secondPage.size(), "カーソル以降の有効な学生のみ取得されるはず");
+    assertEquals(STUDENT_NAME_HANAKO, secondPage.get(0).getStudent().getName());
+    assertEquals(COURSE_NAME_SPRING, secondPage.get(0).getStudentCourse().get(0).getCourseName());
+  }
+
+  @Test
+  @DisplayName("コースを持たない学生は空のコースリストで取得されること")
+  void コースを持たない学生は空のコースリストで取得されること() {
+    Student student = createNewStudent("コースなし太郎", "コースナシタロウ",
+        "nocourse@test.com", "沖縄", 19);
+    repository.saveStudent(student);
+
+    List<StudentDetail> details = repository.getActiveStudentDetailsPage(
+        student.getId() - 1, 1);
+
+    assertEquals(1, details.size());
+    assertEquals("コースなし太郎", details.get(0).getStudent().getName());
+    assertNotNull(details.get(0).getStudentCourse(), "nullではなく空リストのはず");
+    assertEquals(0, details.get(0).getStudentCourse().size());
+  }
+
+  @Test
+  @DisplayName("有効な学生の件数が取得できること")
+  void 有効な学生の件数が取得できること() {
+    assertEquals(2, repository.countActiveStudents(), "削除済みを除く2件のはず");
+  }
+
   @Test
   @DisplayName("学生IDで学生情報が取得できること")
   void 学生IDで学生情報が取得できること() {
@@ -263,6 +324,25 @@ class StudentRepositoryTest {
     assertCourseListContains(courses, COURSE_NAME_SPRING);
   }
 
+  @Test
+  @DisplayName("コース名・地域・性別は取得のたびに同じインスタンスが共有されること")
+  void 種類の少ない列の文字列は共有インスタンスになること() {
+    // 同じ文のくり返しはトランザクション内のローカルキャッシュから同じ結果が返るため、別の文で取得する
+    StudentCourse first = repository.getAllCourses().get(0);
+    StudentCourse second = repository.getCoursesByStudentId(first.getStudentId()).stream()
+        .filter(course -> course.getId().equals(first.getId()))
+        .findFirst()
+        .orElseThrow();
+
+    assertNotSame(first, second);
+    assertSame(first.getCourseName(), second.getCourseName());
+
+    Student fromList = repository.getActiveStudents().get(0);
+    Student fromId = repository.getStudentById(fromList.getId());
+    assertSame(fromList.getArea(), fromId.getArea());
+    assertSame(fromList.getSex(), fromId.getSex());
+  }
+
   @Test
   @DisplayName("特定学生のコース情報が取得できること")
   void 特定学生のコース情報が取得できること() {
@@ -274,6 +354,18 @@ class StudentRepositoryTest {
         "全てのコースのstudent_idが1のはず");
   }
 
+  @Test
+  @DisplayName("複数の学生IDを指定して該当学生のコース情報のみ取得できること")
+  void 複数の学生IDを指定して該当学生のコース情報のみ取得できること() {
+    List<StudentCourse> courses = repository.getCoursesByStudentIds(
+        List.of(EXISTING_STUDENT_ID_1, EXISTING_STUDENT_ID_3));
+
+    assertEquals(1, courses.size(), "学生1のコースのみ取得されるはず");
+    assertCourseListContains(courses, COURSE_NAME_JAVA);
+    assertTrue(courses.stream().noneMatch(c -> COURSE_NAME_SPRING.equals(c.getCourseName())),
+        "指定していない学生のコースは含まれないはず");
+  }
+
   @Test
   @DisplayName("コースを持たない学生のコース検索は空リストになること")
   void コースを持たない学生のコース検索は空リストになること() {
@@ -283,6 +375,74 @@ class StudentRepositoryTest {
     assertEquals(0, courses.size(), "コースを持たない学生は0件のはず");
   }
 
+  @Test
+  @DisplayName("有効な学生を学生詳細としてCursorで逐次取得できること")
+  void 有効な学生を学生詳細としてCursorで逐次取得できること() throws Exception {
+    List<StudentDetail> details = new ArrayList<>();
+    try (Cursor<StudentDetail> cursor = repository.streamActiveStudentDetails()) {
+      cursor.forEach(details::add);
+    }
+
+    assertEquals(2, details.size(), "削除済みを除く2件が取得されるはず");
+
+    StudentDetail taro = details.get(0);
+    assertEquals(STUDENT_NAME_TARO, taro.getStudent().getName());
+    assertEquals(STUDENT_EMAIL_TARO, taro.getStudent().getEmail());
+    assertEquals(1, taro.getStudentCourse().size(), "学生1のコースがまとめられているはず");
+    assertEquals(COURSE_NAME_JAVA, taro.getStudentCourse().get(0).getCourseName());
+    assertNotNull(taro.getStudentCourse().get(0).getEnrollmentStatus(), "申込状況が結合されているはず");
+
+    assertEquals(STUDENT_NAME_HANAKO, details.get(1).getStudent().getName());
+  }
+
+  @Test
+  @DisplayName("学生ID指定の検索でコース名により絞り込めること")
+  void 学生ID指定の検索でコース名により絞り込めること() {
+    List<Student> students = repository.searchStudentsByIds(
+        List.of(EXISTING_STUDENT_ID_1, 2, EXISTING_STUDENT_ID_3), COURSE_NAME_JAVA, null);
+
+    assertEquals(1, students.size(), "Java入門を受講する有効な学生のみのはず");
+    assertStudentListContains(students, STUDENT_NAME_TARO);
+    assertStudentListNotContains(students, STUDENT_NAME_DELETED);
+  }
+
+  @Test
+  @DisplayName("コース名と申込状況を両方指定すると同じコースが両方に一致する学生のみ検索されること")
+  void コース名と申込状況を両方指定すると同じコースが両方に一致する学生のみ検索されること() {
+    List<Student> matched = repository.searchStudents(null, null, COURSE_NAME_JAVA,
+        EnrollmentStatusCode.IN_PROGRESS);
+    List<Student> unmatched = repository.searchStudents(null, null, COURSE_NAME_JAVA,
+        EnrollmentStatusCode.APPLIED);
+
+    assertEquals(1, matched.size());
+    assertStudentListContains(matched, STUDENT_NAME_TARO);
+    assertTrue(unmatched.isEmpty(), "本申込なのはSpring実践のコースのため一致しないはず");
+  }
+
+  @Test
+  @DisplayName("検索SQLの実行計画で学生・コース・申込状況のインデックスが使われること")
+  void 検索SQLの実行計画でインデックスが使われること() {
+    Map<String, Object> params = new HashMap<>();
+    params.put("name", null);
+    params.put("area", null);
+    params.put("courseName", COURSE_NAME_JAVA);
+    params.put("enrollmentStatus", EnrollmentStatusCode.IN_PROGRESS);
+    BoundSql boundSql = sqlSessionFactory.getConfiguration()
+        .getMappedStatement(StudentRepository.class.getName() + ".searchStudents")
+        .getBoundSql(params);
+    Object[] args = boundSql.getParameterMappings().stream()
+        .map(mapping -> params.get(mapping.getProperty()))
+        .toArray();
+
+    String plan = jdbcTemplate.queryForObject("EXPLAIN " + boundSql.getSql(), String.class, args)
+        .toUpperCase();
+
+    assertTrue(plan.contains("IDX_STUDENTS_DELETED_ID"), plan);
+    assertTrue(plan.contains("IDX_STUDENTS_COURSES_STUDENT_COURSE"), plan);
+    assertFalse(plan.contains("TABLESCAN"), "全件走査するテーブルがないはず: " + plan);
+    assertFalse(plan.contains("DISTINCT"), "EXISTSで判定するため重複排除は不要のはず: " + plan);
+  }
+
   @Test
   @DisplayName("getAllCoursesでenrollmentStatusが正しくマッピングされること")
   void getAllCoursesでenrollmentStatusが正しくマッピングされること() {
@@ -307,4 +467,45 @@ class StudentRepositoryTest {
         "courseIdが正しく紐づいていること");
 
   }
-}
\ No newline at end of file
+
+  @Test
+  @DisplayName("申込状況はコードで保存され、列挙子として取得・集計できること")
+  void 申込状況はコードで保存され列挙子として取得できること() {
+    StudentCourse course = repository.getCoursesByStudentId(EXISTING_STUDENT_ID_1).get(0);
+    EnrollmentStatus status = repository.getEnrollmentStatusByCourseId(course.getId());
+    assertEquals(EnrollmentStatusCode.IN_PROGRESS, status.getStatus());
+
+    status.setStatus(EnrollmentStatusCode.COMPLETED);
+    assertEquals(1, repository.updateEnrollmentStatus(status));
+
+    assertEquals(Integer.valueOf(4), jdbcTemplate.queryForObject(
+        "SELECT status_code FROM enrollment_status WHERE course_id = ?", Integer.class,
+        course.getId()), "表示名ではなくコードで保存されるはず");
+    assertEquals(EnrollmentStatusCode.COMPLETED,
+        repository.getEnrollmentStatusByCourseId(course.getId()).getStatus());
+    assertTrue(repository.countActiveCoursesByStatus().stream()
+        .anyMatch(row -> row.getStatus() == EnrollmentStatusCode.COMPLETED
+            && row.getCount() == 1));
+  }
+
+  @Test
+  @DisplayName("複数コースの申込状況を1文のUPDATEでコースごとの値に更新できること")
+  void 複数コースの申込状況をまとめて更新できること() {
+    List<StudentCourse> courses = repository.getAllCourses();
+    List<EnrollmentStatus> statuses = new ArrayList<>();
+    for (StudentCourse course : courses) {
+      EnrollmentStatus status = new EnrollmentStatus();
+      status.setCourseId(course.getId());
+      status.setStatus(statuses.isEmpty() ? EnrollmentStatusCode.COMPLETED
+          : EnrollmentStatusCode.PROVISIONAL);
+      statuses.add(status);
+    }
+
+    assertEquals(statuses.size(), repository.updateEnrollmentStatuses(statuses));
+
+    assertEquals(EnrollmentStatusCode.COMPLETED,
+        repository.getEnrollmentStatusByCourseId(courses.get(0).getId()).getStatus());
+    assertEquals(EnrollmentStatusCode.PROVISIONAL,
+        repository.getEnrollmentStatusByCourseId(courses.get(1).getId()).getStatus());
+  }
+}
@@ -0,0 +1,73 @@
+package raisetech.StudentManagement.repository.typehandler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.ResultSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class StringInternerTest {
+
+  @Test
+  @DisplayName("等しい文字列は最初に登録したインスタンスにまとめられること")
+  void internReturnsCanonicalInstance() {
+    StringInterner interner = new StringInterner(10);
+    String first = new String("Java入門".toCharArray());
+    String second = new String("Java入門".toCharArray());
+
+    assertNotSame(first, second);
+    assertSame(first, interner.intern(first));
+    assertSame(first, interner.intern(second));
+    assertNull(interner.intern(null));
+    assertEquals(1, interner.size());
+  }
+
+  @Test
+  @DisplayName("上限に達した後の新しい値は登録せずそのまま返すこと")
+  void internIsBounded() {
+    StringInterner interner = new StringInterner(2);
+    interner.intern("東京都");
+    interner.intern("大阪府");
+
+    String overflow = new String("福岡県".toCharArray());
+    assertSame(overflow, interner.intern(overflow));
+    assertNotSame(overflow, interner.intern(new String("福岡県".toCharArray())),
+        "上限を超えた値は共有されないはず");
+    assertEquals(2, interner.size());
+  }
+
+  @Test
+  @DisplayName("複数スレッドから同時に登録しても同じインスタンスが返ること")
+  void internIsThreadSafe() {
+    StringInterner interner = new StringInterner(100);
+    String[] results = IntStream.range(0, 16)
+        .mapToObj(i -> CompletableFuture.supplyAsync(
+            () -> interner.intern(new String("受講中".toCharArray()))))
+        .map(CompletableFuture::join)
+        .toArray(String[]::new);
+
+    for (String result : results) {
+      assertSame(results[0], result);
+    }
+    assertEquals(1, interner.size());
+  }
+
+  @Test
+  @DisplayName("TypeHandlerは取得した文字列を共有の辞書でまとめること")
+  void typeHandlerInternsResults() throws Exception {
+    ResultSet rs = mock(ResultSet.class);
+    when(rs.getString("course_name"))
+        .thenReturn(new String("Spring実践".toCharArray()))
+        .thenReturn(new String("Spring実践".toCharArray()));
+    InterningStringTypeHandler handler = new InterningStringTypeHandler();
+
+    assertSame(handler.getResult(rs, "course_name"), handler.getResult(rs, "course_name"));
+  }
+}
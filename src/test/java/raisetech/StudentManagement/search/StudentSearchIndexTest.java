@@ -0,0 +1,89 @@
+package raisetech.StudentManagement.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import raisetech.StudentManagement.data.Student;
+import raisetech.StudentManagement.event.StudentChangedEvent;
+import raisetech.StudentManagement.event.StudentChangedEvent.ChangeType;
+import raisetech.StudentManagement.repository.StudentRepository;
+
+class StudentSearchIndexTest {
+
+  private StudentSearchIndex index;
+
+  @BeforeEach
+  void setUp() {
+    index = new StudentSearchIndex(mock(StudentRepository.class));
+    index.rebuild(List.of(
+        createStudent(1, "山田太郎", "ヤマダタロウ", "Taro", "東京都"),
+        createStudent(2, "佐藤花子", "サトウハナコ", "hana", "大阪府"),
+        createStudent(3, "田中一郎", "タナカイチロウ", null, "東京都")));
+  }
+
+  @Test
+  @DisplayName("構築前は未準備、構築後は準備済みになること")
+  void ready() {
+    StudentSearchIndex empty = new StudentSearchIndex(mock(StudentRepository.class));
+    assertFalse(empty.isReady());
+    assertTrue(index.isReady());
+  }
+
+  @Test
+  @DisplayName("名前・カナ名・ニックネームの部分一致で検索できること")
+  void findByName() {
+    assertEquals(List.of(1), index.findIds("太郎", null));
+    assertEquals(List.of(1, 3), index.findIds("田", null));
+    assertEquals(List.of(1, 3), index.findIds("ロウ", null));
+    assertEquals(List.of(2), index.findIds("ハナ", null));
+    assertEquals(List.of(2), index.findIds("HANA", null), "英字は大文字小文字を区別しないはず");
+  }
+
+  @Test
+  @DisplayName("名前と地域の両方に一致する学生のみ返すこと")
+  void findByNameAndArea() {
+    assertEquals(List.of(1, 3), index.findIds(null, "東京"));
+    assertEquals(List.of(3), index.findIds("田中", "東京"));
+    assertEquals(List.of(), index.findIds("花子", "東京"));
+  }
+
+  @Test
+  @DisplayName("N-gramが別の項目にまたがるだけの学生は一致しないこと")
+  void gramsAcrossFieldsDoNotMatch() {
+    // 「山田」は名前、「ヤマ」はカナ名にあるが「山田ヤマ」はどの項目にも含まれない
+    assertEquals(List.of(), index.findIds("山田ヤマ", null));
+  }
+
+  @Test
+  @DisplayName("変更イベントで追加・更新・削除が反映されること")
+  void applyChanges() {
+    index.onStudentChanged(new StudentChangedEvent(4, ChangeType.REGISTERED,
+        createStudent(4, "鈴木次郎", "スズキジロウ", null, "北海道")));
+    assertEquals(List.of(4), index.findIds("次郎", null));
+
+    index.onStudentChanged(new StudentChangedEvent(1, ChangeType.UPDATED,
+        createStudent(1, "山田三郎", "ヤマダサブロウ", null, "福岡県")));
+    assertEquals(List.of(), index.findIds("太郎", null), "更新前の名前では一致しないはず");
+    assertEquals(List.of(1), index.findIds("三郎", "福岡"));
+
+    index.onStudentChanged(new StudentChangedEvent(3, ChangeType.DELETED));
+    assertEquals(List.of(), index.findIds("田中", null));
+  }
+
+  private Student createStudent(int id, String name, String kanaName, String nickname,
+      String area) {
+    Student student = new Student();
+    student.setId(id);
+    student.setName(name);
+    student.setKanaName(kanaName);
+    student.setNickname(nickname);
+    student.setArea(area);
+    return student;
+  }
+}
@@ -0,0 +1,108 @@
+package raisetech.StudentManagement.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import raisetech.StudentManagement.domain.BatchItemResult;
+import raisetech.StudentManagement.domain.BatchItemResult.Status;
+import raisetech.StudentManagement.form.StudentForm;
+
+/**
+ * StudentBatchServiceのテストクラス
+ *
+ * <p>一括登録はチャンクごとに新しいトランザクションでコミットするため、
+ * テストのロールバックは効かない。登録した行は各テスト後に削除する。</p>
+ */
+@SpringBootTest
+class StudentBatchServiceTest {
+
+  @Autowired
+  private StudentBatchService batchService;
+
+  @Autowired
+  private StudentService service;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  private final List<Integer> registeredIds = new ArrayList<>();
+
+  @AfterEach
+  void tearDown() {
+    for (Integer id : registeredIds) {
+      jdbcTemplate.update("DELETE FROM enrollment_status WHERE course_id IN "
+          + "(SELECT id FROM students_courses WHERE student_id = ?)", id);
+      jdbcTemplate.update("DELETE FROM students_courses WHERE student_id = ?", id);
+      jdbcTemplate.update("DELETE FROM students WHERE id = ?", id);
+    }
+    registeredIds.clear();
+  }
+
+  @Test
+  void 全件正しい場合はまとめて登録され自動採番のIDが返る() {
+    List<StudentForm> forms = List.of(
+        createValidForm("batch1"), createValidForm("batch2"), createValidForm("batch3"));
+
+    List<BatchItemResult> results = batchService.registerStudents(forms);
+    results.forEach(r -> registeredIds.add(r.getStudentId()));
+
+    assertEquals(3, results.size());
+    for (int i = 0; i < results.size(); i++) {
+      assertEquals(i, results.get(i).getIndex());
+      assertEquals(Status.REGISTERED, results.get(i).getStatus());
+      assertNotNull(results.get(i).getStudentId());
+    }
+
+    // 学生・コース・申込状況が正しく結び付いていること
+    StudentForm registered = service.getStudentForm(results.get(1).getStudentId());
+    assertEquals("batch2", registered.getName());
+    assertEquals("Java入門", registered.getCourseName());
+    assertEquals("本申込", registered.getEnrollmentStatus());
+  }
+
+  @Test
+  void 入力エラーが1件でもあれば何も登録されない() {
+    int before = service.getStudents().size();
+    StudentForm invalid = createValidForm("batch-invalid");
+    invalid.setName("");
+
+    List<BatchItemResult> results = batchService.registerStudents(
+        List.of(createValidForm("batch-valid"), invalid));
+
+    assertEquals(Status.SKIPPED, results.get(0).getStatus());
+    assertEquals(Status.INVALID, results.get(1).getStatus());
+    assertFalse(results.get(1).getErrors().isEmpty());
+    assertEquals(before, service.getStudents().size(), "登録されていないはず");
+  }
+
+  @Test
+  void 空リストでの一括登録はエラー() {
+    assertThrows(IllegalArgumentException.class, () -> batchService.registerStudents(List.of()));
+  }
+
+  // ==========================================
+  // ヘルパーメソッド
+  // ==========================================
+
+  private StudentForm createValidForm(String name) {
+    StudentForm form = new StudentForm();
+    form.setName(name);
+    form.setKanaName("テスト");
+    form.setEmail(name + "@example.com");
+    form.setArea("東京都");
+    form.setAge(20);
+    form.setSex("男性");
+    form.setCourseName("Java入門");
+    form.setCourseStartAt(LocalDate.now());
+    form.setCourseEndAt(LocalDate.now().plusMonths(3));
+    form.setEnrollmentStatus("本申込");
+    return form;
+  }
+}
@@ -0,0 +1,138 @@
+package raisetech.StudentManagement.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import raisetech.StudentManagement.domain.ImportReport;
+import raisetech.StudentManagement.exception.ImportCapacityExceededException;
+
+/**
+ * StudentImportServiceのテストクラス
+ *
+ * <p>インポートはチャンクごとに新しいトランザクションでコミットするため、
+ * テストのロールバックは効かない。登録した行は各テスト後に削除する。</p>
+ */
+@SpringBootTest
+class StudentImportServiceTest {
+
+  private static final String HEADER = "name,kanaName,nickname,email,area,age,sex,remark,"
+      + "courseName,courseStartAt,courseEndAt,enrollmentStatus\n";
+
+  @Autowired
+  private StudentImportService importService;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @AfterEach
+  void tearDown() {
+    List<Integer> ids = jdbcTemplate.queryForList(
+        "SELECT id FROM students WHERE email LIKE 'import%@example.com'", Integer.class);
+    for (Integer id : ids) {
+      jdbcTemplate.update("DELETE FROM enrollment_status WHERE course_id IN "
+          + "(SELECT id FROM students_courses WHERE student_id = ?)", id);
+      jdbcTemplate.update("DELETE FROM students_courses WHERE student_id = ?", id);
+      jdbcTemplate.update("DELETE FROM students WHERE id = ?", id);
+    }
+  }
+
+  @Test
+  void 正しい行は登録され入力エラーの行は行番号付きで報告される() {
+    String csv = HEADER
+        + row("import1", "20")
+        + row("import2", "abc")
+        + row("import3", "15");
+
+    ImportReport report = importService.importStudents(toStream(csv), 0);
+
+    assertTrue(report.isCompleted());
+    assertEquals(3, report.getRowsRead());
+    assertEquals(1, report.getImported());
+    assertEquals(2, report.getRejected());
+    assertEquals(2, report.getRejects().get(0).getRowNumber());
+    assertEquals(3, report.getRejects().get(1).getRowNumber());
+    assertEquals(3, report.getCheckpoint(), "全行処理済み");
+    assertEquals(1, countImported());
+  }
+
+  @Test
+  void skipを指定するとその行数を読み飛ばして再開できる() {
+    String csv = HEADER
+        + row("import1", "20")
+        + row("import2", "21")
+        + row("import3", "22");
+
+    ImportReport report = importService.importStudents(toStream(csv), 2);
+
+    assertTrue(report.isCompleted());
+    assertEquals(1, report.getRowsRead());
+    assertEquals(1, report.getImported());
+    assertEquals(3, report.getCheckpoint());
+    assertEquals(1, countImported());
+  }
+
+  @Test
+  void 必要な列がないヘッダーはエラー() {
+    assertThrows(IllegalArgumentException.class,
+        () -> importService.importStudents(toStream("name,email\nimport1,a@example.com\n"), 0));
+  }
+
+  @Test
+  void 同時実行数の上限に達している場合は待たずに拒否する() throws Exception {
+    StudentBatchService blockingBatchService = mock(StudentBatchService.class);
+    CountDownLatch writing = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    when(blockingBatchService.registerChunk(anyList())).thenAnswer(invocation -> {
+      writing.countDown();
+      release.await();
+      return List.of(1);
+    });
+    StudentImportService limited = new StudentImportService(blockingBatchService, 1);
+    try {
+      CompletableFuture<ImportReport> first = CompletableFuture.supplyAsync(
+          () -> limited.importStudents(toStream(HEADER + row("import1", "20")), 0));
+      assertTrue(writing.await(10, TimeUnit.SECONDS), "1件目の登録が始まるはず");
+
+      assertThrows(ImportCapacityExceededException.class,
+          () -> limited.importStudents(toStream(HEADER + row("import2", "20")), 0));
+
+      release.countDown();
+      assertTrue(first.get(10, TimeUnit.SECONDS).isCompleted(), "1件目は最後まで登録されるはず");
+    } finally {
+      release.countDown();
+      limited.shutdown();
+    }
+  }
+
+  // ==========================================
+  // ヘルパーメソッド
+  // ==========================================
+
+  private String row(String name, String age) {
+    return String.join(",", name, "テスト", "", name + "@example.com", "東京都", age, "男性", "",
+        "Java入門", "2025-04-01", "2025-09-30", "本申込") + "\n";
+  }
+
+  private InputStream toStream(String csv) {
+    return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private int countImported() {
+    return jdbcTemplate.queryForObject(
+        "SELECT COUNT(*) FROM students WHERE email LIKE 'import%@example.com'", Integer.class);
+  }
+}
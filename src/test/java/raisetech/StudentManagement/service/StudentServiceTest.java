@@ -3,23 +3,35 @@ package raisetech.StudentManagement.service;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
 import org.springframework.transaction.annotation.Transactional;
 import raisetech.StudentManagement.data.Student;
 import raisetech.StudentManagement.data.StudentCourse;
+import raisetech.StudentManagement.domain.StudentDetail;
+import raisetech.StudentManagement.domain.StudentPage;
+import raisetech.StudentManagement.domain.StudentPatchResult;
+import raisetech.StudentManagement.event.StudentChangedEvent;
 import raisetech.StudentManagement.exception.ResourceNotFoundException;
 import raisetech.StudentManagement.form.StudentForm;
+import raisetech.StudentManagement.form.StudentPatchForm;
 
 @SpringBootTest
 @Transactional
+@RecordApplicationEvents
 class StudentServiceTest {
 
   @Autowired
   private StudentService service;
 
+  @Autowired
+  private ApplicationEvents events;
+
   // ==========================================
   // 全メソッドのテスト（正常系）
   // ==========================================
@@ -30,7 +42,7 @@ class StudentServiceTest {
     List<Student> students = service.getStudents();
 
     assertNotNull(students);
-    // data.sql にデータがあれば空でない
+    // テスト用データ（db/testdata）があれば空でない
     assertFalse(students.isEmpty());
   }
 
@@ -40,10 +52,33 @@ class StudentServiceTest {
     List<StudentCourse> courses = service.getCourses();
 
     assertNotNull(courses);
-    // data.sql にコースデータがあれば空でない
+    // テスト用データ（db/testdata）にコースデータがあれば空でない
     assertFalse(courses.isEmpty());
   }
 
+  @Test
+  void 学生一覧をページ単位で取得できる() {
+    // getStudentPage(Integer, Integer) のテスト
+    StudentPage first = service.getStudentPage(null, 1);
+
+    assertEquals(1, first.getStudents().size());
+    assertTrue(first.getTotalCount() >= 2, "総件数は件数取得クエリから設定される");
+    assertTrue(first.hasNext(), "2件以上あるので次ページが存在する");
+
+    StudentPage second = service.getStudentPage(first.getNextCursor(), 1);
+
+    assertEquals(1, second.getStudents().size());
+    assertTrue(second.getStudents().get(0).getStudent().getId() > first.getNextCursor(),
+        "カーソルより大きいIDの学生が取得される");
+  }
+
+  @Test
+  void ページサイズが範囲外の場合はエラー() {
+    assertThrows(IllegalArgumentException.class,
+        () -> service.getStudentPage(null, 0),
+        "0件指定でIllegalArgumentExceptionが発生すること");
+  }
+
   @Test
   void 学生詳細を取得できる() {
     // getStudentForm(int id) のテスト
@@ -58,6 +93,20 @@ class StudentServiceTest {
     assertEquals(existingId, form.getId());
   }
 
+  @Test
+  void 取得した学生詳細を変更しても次回の取得結果に影響しない() {
+    // getStudentForm(int id) はキャッシュから毎回新しいフォームを生成する
+    List<Student> students = service.getStudents();
+    int id = students.get(0).getId();
+
+    StudentForm first = service.getStudentForm(id);
+    String originalName = first.getName();
+    first.setName("保存していない名前");
+
+    StudentForm second = service.getStudentForm(id);
+    assertEquals(originalName, second.getName());
+  }
+
   @Test
   void 学生を登録できる() {
     // registerStudent(StudentForm form) のテスト
@@ -105,6 +154,25 @@ class StudentServiceTest {
         "削除した学生が取得できてしまいます");
   }
 
+  @Test
+  void コース名で検索すると該当学生のコースのみ結合される() {
+    // searchStudents() のテスト
+    List<StudentDetail> result = service.searchStudents(null, null, "Java入門", null);
+
+    assertEquals(1, result.size());
+    assertEquals("テスト太郎", result.get(0).getStudent().getName());
+    assertEquals(1, result.get(0).getStudentCourse().size());
+    assertEquals("Java入門", result.get(0).getStudentCourse().get(0).getCourseName());
+  }
+
+  @Test
+  void 該当する学生がいない検索は空リストになる() {
+    List<StudentDetail> result = service.searchStudents("存在しない名前", null, null, null);
+
+    assertNotNull(result);
+    assertTrue(result.isEmpty());
+  }
+
   // ==========================================
   // エラーケースのテスト（異常系）
   // ==========================================
@@ -128,6 +196,98 @@ class StudentServiceTest {
         "存在しないIDでResourceNotFoundExceptionが発生すること");
   }
 
+  @Test
+  void 同じ検索条件の結果はキャッシュから返され登録後は再検索される() {
+    List<StudentDetail> first = service.searchStudents(null, null, "Java入門", null);
+    List<StudentDetail> second = service.searchStudents("", " ", " Java入門 ", null);
+
+    assertSame(first, second, "正規化後に同じ条件ならキャッシュ済みの結果を返すはず");
+
+    service.registerStudent(createValidForm("検索キャッシュ太郎"));
+    List<StudentDetail> afterRegister = service.searchStudents(null, null, "Java入門", null);
+
+    assertEquals(first.size() + 1, afterRegister.size(), "登録でキャッシュが破棄されるはず");
+  }
+
+  @Test
+  void 学生詳細をチャンク単位で遅延取得できる() {
+    int[] chunks = {0};
+    Iterable<StudentDetail> details = service.iterateStudentDetails(1, () -> chunks[0]++);
+
+    assertEquals(0, chunks[0], "列挙するまでは読み込まないはず");
+
+    List<String> names = new ArrayList<>();
+    details.forEach(detail -> names.add(detail.getStudent().getName()));
+
+    assertEquals(List.of("テスト太郎", "テスト花子"), names);
+    assertEquals(3, chunks[0], "1件ずつ2回と、終端を確認する1回の読み込みのはず");
+  }
+
+  @Test
+  void 部分更新は変更した列のテーブルだけを更新する() {
+    StudentPatchForm patch = new StudentPatchForm();
+    patch.setRemark("部分更新した備考");
+    patch.setName("テスト太郎");  // 現在と同じ値は変更扱いにしない
+
+    StudentPatchResult result = service.patchStudent(1, patch);
+
+    assertEquals(List.of("students"), result.getUpdatedTables());
+    assertEquals(List.of("remark"), result.getChangedFields());
+    StudentForm updated = service.getStudentForm(1);
+    assertEquals("部分更新した備考", updated.getRemark());
+    assertEquals("taro@test.com", updated.getEmail(), "指定していない項目は変わらないはず");
+    assertEquals(1, events.stream(StudentChangedEvent.class).count());
+  }
+
+  @Test
+  void 部分更新で全項目が現在の値と同じ場合は何も更新しない() {
+    StudentPatchForm patch = new StudentPatchForm();
+    patch.setName("テスト太郎");
+    patch.setArea("東京");
+    patch.setCourseName("Java入門");
+    patch.setEnrollmentStatus("受講中");
+
+    StudentPatchResult result = service.patchStudent(1, patch);
+
+    assertFalse(result.isModified());
+    assertTrue(result.getChangedFields().isEmpty());
+    assertEquals(0, events.stream(StudentChangedEvent.class).count(),
+        "変更がなければキャッシュ等を破棄するイベントも発行しないはず");
+  }
+
+  @Test
+  void 部分更新でコースと申込状況だけを更新できる() {
+    StudentPatchForm patch = new StudentPatchForm();
+    patch.setCourseEndAt(LocalDate.of(2025, 4, 30));
+    patch.setEnrollmentStatus("受講終了");
+
+    StudentPatchResult result = service.patchStudent(1, patch);
+
+    assertEquals(List.of("students_courses", "enrollment_status"), result.getUpdatedTables());
+    StudentForm updated = service.getStudentForm(1);
+    assertEquals(LocalDate.of(2025, 4, 30), updated.getCourseEndAt());
+    assertEquals("受講終了", updated.getEnrollmentStatus());
+    assertEquals("Java入門", updated.getCourseName());
+  }
+
+  @Test
+  void 部分更新で他の学生のコースIDを指定した場合はエラー() {
+    StudentPatchForm patch = new StudentPatchForm();
+    patch.setCourseId(2);  // テスト花子のコース
+    patch.setCourseName("Java応用");
+
+    assertThrows(ResourceNotFoundException.class, () -> service.patchStudent(1, patch));
+  }
+
+  @Test
+  void 存在しない学生の部分更新はエラー() {
+    StudentPatchForm patch = new StudentPatchForm();
+    patch.setRemark("存在しない学生");
+
+    assertThrows(ResourceNotFoundException.class, () -> service.patchStudent(99999, patch),
+        "存在しないIDでResourceNotFoundExceptionが発生すること");
+  }
+
   @Test
   void 存在しない学生の削除はエラー() {
     assertThrows(ResourceNotFoundException.class,
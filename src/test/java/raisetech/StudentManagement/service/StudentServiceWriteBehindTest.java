@@ -0,0 +1,69 @@
+package raisetech.StudentManagement.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import raisetech.StudentManagement.domain.StudentDetail;
+import raisetech.StudentManagement.form.StudentPatchForm;
+import raisetech.StudentManagement.writebehind.EnrollmentStatusWriteBehind;
+
+/**
+ * 申込状況の書き込みを遅らせている間の検索のテスト
+ *
+ * <p>書き込み待ちの値はコミット後にキューへ入るため、テスト全体をトランザクションで囲まない。
+ * 定期的なフラッシュが途中で動かないよう間隔を延ばし、終了時に元の値へ戻して書き込む。</p>
+ */
+@SpringBootTest(properties = {
+    "student.status-write-behind.enabled=true",
+    "student.status-write-behind.flush-interval=PT1H"})
+class StudentServiceWriteBehindTest {
+
+  @Autowired
+  private StudentService service;
+
+  @Autowired
+  private EnrollmentStatusWriteBehind statusWriteBehind;
+
+  @AfterEach
+  void tearDown() {
+    patchStatus(1, "受講中");
+    statusWriteBehind.flush();
+  }
+
+  @Test
+  void 申込状況の検索は書き込み待ちの値で判定する() {
+    assertTrue(ids(service.searchStudents(null, null, null, "受講中")).contains(1));
+
+    patchStatus(1, "受講終了");
+    assertTrue(statusWriteBehind.size() > 0, "DBには書き込まずキューに入るはず");
+
+    assertFalse(ids(service.searchStudents(null, null, null, "受講中")).contains(1),
+        "DBの値でだけ一致する学生は含めないはず");
+    List<StudentDetail> completed = service.searchStudents(null, null, "Java入門", "受講終了");
+    assertTrue(ids(completed).contains(1), "書き込み待ちの値で一致する学生を含めるはず");
+    StudentDetail detail = completed.stream()
+        .filter(d -> d.getStudent().getId() == 1)
+        .findFirst()
+        .orElseThrow();
+    assertEquals("受講終了",
+        detail.getStudentCourse().get(0).getEnrollmentStatus().getStatus().getLabel());
+    assertFalse(ids(service.searchStudents("存在しない名前", null, null, "受講終了")).contains(1),
+        "名前の条件も判定するはず");
+  }
+
+  private void patchStatus(int id, String status) {
+    StudentPatchForm patch = new StudentPatchForm();
+    patch.setEnrollmentStatus(status);
+    service.patchStudent(id, patch);
+  }
+
+  private List<Integer> ids(List<StudentDetail> details) {
+    return details.stream().map(d -> d.getStudent().getId()).toList();
+  }
+}
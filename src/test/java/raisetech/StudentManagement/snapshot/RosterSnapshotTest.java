@@ -0,0 +1,334 @@
+package raisetech.StudentManagement.snapshot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static raisetech.StudentManagement.data.EnrollmentStatusCode.APPLIED;
+import static raisetech.StudentManagement.data.EnrollmentStatusCode.COMPLETED;
+import static raisetech.StudentManagement.data.EnrollmentStatusCode.IN_PROGRESS;
+import static raisetech.StudentManagement.data.EnrollmentStatusCode.PROVISIONAL;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import raisetech.StudentManagement.data.EnrollmentStatus;
+import raisetech.StudentManagement.data.EnrollmentStatusCode;
+import raisetech.StudentManagement.data.Student;
+import raisetech.StudentManagement.data.StudentCourse;
+import raisetech.StudentManagement.domain.StudentDetail;
+import raisetech.StudentManagement.event.EnrollmentStatusFlushedEvent;
+import raisetech.StudentManagement.event.StudentChangedEvent;
+import raisetech.StudentManagement.event.StudentChangedEvent.ChangeType;
+import raisetech.StudentManagement.repository.StudentRepository;
+import raisetech.StudentManagement.writebehind.EnrollmentStatusWriteBehind;
+
+class RosterSnapshotTest {
+
+  private RosterSnapshot snapshot;
+
+  @BeforeEach
+  void setUp() {
+    snapshot = RosterSnapshot.build(
+        List.of(
+            createStudent(1, "山田太郎", "Taro", "東京都", 20),
+            createStudent(2, "佐藤花子", "hana", "大阪府", null),
+            createStudent(4, "田中一郎", null, "東京都", 30)),
+        List.of(
+            createCourse(10, 1, "山田太郎", "Java入門", IN_PROGRESS),
+            createCourse(11, 1, "山田太郎", "Spring実践", PROVISIONAL),
+            createCourse(12, 2, "佐藤花子", "Java入門", APPLIED),
+            // 削除済みの学生のコース（コース一覧には含まれる）
+            createCourse(13, 3, "削除済み", "Java入門", COMPLETED),
+            createCourse(14, 4, "田中一郎", "Spring実践", null)));
+  }
+
+  @Test
+  @DisplayName("一覧は列から復元した値をDBと同じ順序で返すこと")
+  void listStudentsAndCourses() {
+    List<Student> students = snapshot.students();
+    assertEquals(List.of(1, 2, 4), students.stream().map(Student::getId).toList());
+    assertEquals("東京都", students.get(0).getArea());
+    assertEquals(Integer.valueOf(20), students.get(0).getAge());
+    assertNull(students.get(1).getAge());
+    assertNull(students.get(2).getNickname());
+
+    List<StudentCourse> courses = snapshot.courses();
+    assertEquals(List.of(10, 11, 12, 13, 14), courses.stream().map(StudentCourse::getId).toList());
+    assertEquals(LocalDate.of(2025, 1, 1), courses.get(0).getCourseStartAt());
+    assertEquals(IN_PROGRESS, courses.get(0).getEnrollmentStatus().getStatus());
+    assertEquals("削除済み", courses.get(3).getStudentName());
+    assertNull(courses.get(4).getEnrollmentStatus());
+  }
+
+  @Test
+  @DisplayName("名前・地域の部分一致と、同じコースでのコース名・申込状況の完全一致で検索できること")
+  void search() {
+    assertEquals(List.of(1), ids(snapshot.search("太郎", null, null, null)));
+    assertEquals(List.of(2), ids(snapshot.search("HANA", null, null, null)),
+        "英字は大文字小文字を区別しないはず");
+    assertEquals(List.of(1, 4), ids(snapshot.search(null, "東京", null, null)));
+    assertEquals(List.of(1, 2), ids(snapshot.search(null, null, "Java入門", null)),
+        "削除済みの学生のコースは一致しないはず");
+    assertEquals(List.of(2), ids(snapshot.search(null, null, "Java入門", APPLIED)));
+    assertEquals(List.of(), ids(snapshot.search(null, null, "Spring実践", IN_PROGRESS)),
+        "コース名と申込状況が別のコースで一致するだけでは一致しないはず");
+    assertEquals(List.of(), ids(snapshot.search(null, null, "存在しないコース", null)));
+
+    StudentDetail detail = snapshot.search("山田", "東京", "Spring実践", null).get(0);
+    assertEquals(2, detail.getStudentCourse().size(), "一致した学生のコースは全件付くはず");
+  }
+
+  @Test
+  @DisplayName("差し替えは新しいスナップショットを返し、元のスナップショットは変わらないこと")
+  void withStudent() {
+    StudentDetail registered = createDetail(createStudent(5, "鈴木次郎", null, "北海道", 25),
+        createCourse(15, 5, null, "Python基礎", PROVISIONAL));
+    RosterSnapshot updated = snapshot.withStudent(5, registered);
+
+    assertNotSame(snapshot, updated);
+    assertEquals(List.of(1, 2, 4), ids(snapshot.search(null, null, null, null)));
+    assertEquals(List.of(1, 2, 4, 5), ids(updated.search(null, null, null, null)));
+    assertEquals(List.of(5), ids(updated.search(null, "北海道", "Python基礎", PROVISIONAL)));
+    assertEquals(List.of(10, 11, 12, 13, 14, 15),
+        updated.courses().stream().map(StudentCourse::getId).toList());
+    assertEquals("鈴木次郎", updated.courses().get(5).getStudentName(),
+        "コースの受講生名は変更後の学生名になるはず");
+
+    // 既存の学生のコースを差し替えても、コースは学生ID・コースID順に並ぶ
+    RosterSnapshot replaced = updated.withStudent(1, createDetail(
+        createStudent(1, "山田太郎", "Taro", "東京都", 20),
+        createCourse(16, 1, null, "Python基礎", IN_PROGRESS)));
+    assertEquals(List.of(16, 12, 13, 14, 15),
+        replaced.courses().stream().map(StudentCourse::getId).toList());
+  }
+
+  @Test
+  @DisplayName("削除は学生だけを取り除き、コース一覧にはコースを残すこと")
+  void withStudentDeleted() {
+    RosterSnapshot deleted = snapshot.withStudent(1, null);
+
+    assertEquals(List.of(2, 4), deleted.students().stream().map(Student::getId).toList());
+    assertEquals(5, deleted.courseCount());
+    assertEquals(List.of(2), ids(deleted.search(null, null, "Java入門", null)));
+  }
+
+  @Test
+  @DisplayName("複数の学生の登録・更新・削除を1回で差し替えられること")
+  void withStudents() {
+    Student renamed = createStudent(2, "佐藤桜", "sakura", "大阪府", 23);
+    Map<Integer, StudentDetail> changes = new HashMap<>();
+    changes.put(6, createDetail(createStudent(6, "高橋三郎", null, "福岡県", 40),
+        createCourse(17, 6, null, "Java入門", APPLIED)));
+    changes.put(5, createDetail(createStudent(5, "鈴木次郎", null, "北海道", 25),
+        createCourse(15, 5, null, "Python基礎", PROVISIONAL)));
+    changes.put(2, createDetail(renamed, createCourse(12, 2, null, "Java入門", COMPLETED)));
+    changes.put(4, null);
+
+    RosterSnapshot updated = snapshot.withStudents(changes);
+
+    assertEquals(List.of(1, 2, 5, 6), updated.students().stream().map(Student::getId).toList());
+    assertEquals(List.of(10, 11, 12, 13, 14, 15, 17),
+        updated.courses().stream().map(StudentCourse::getId).toList(),
+        "削除した学生のコースは残り、学生ID・コースID順に並ぶはず");
+    assertEquals(List.of(1, 2, 6), ids(updated.search(null, null, "Java入門", null)));
+    assertEquals(List.of(2), ids(updated.search("桜", null, "Java入門", COMPLETED)));
+    assertSame(snapshot, snapshot.withStudents(Map.of()));
+  }
+
+  @Test
+  @DisplayName("変更イベントでスナップショットが差し替えられること")
+  void holderAppliesChanges() {
+    StudentRepository repository = mock(StudentRepository.class);
+    when(repository.getActiveStudents()).thenReturn(snapshot.students());
+    when(repository.getAllCourses()).thenReturn(snapshot.courses());
+    RosterSnapshotHolder holder = new RosterSnapshotHolder(repository, writeBehindOff(), true);
+
+    holder.onStudentChanged(new StudentChangedEvent(1, ChangeType.DELETED));
+    assertNull(holder.current(), "構築前の変更は無視するはず");
+
+    holder.initialize();
+    RosterSnapshot built = holder.current();
+    assertEquals(3, built.studentCount());
+
+    Student renamed = createStudent(2, "佐藤桜", "sakura", "大阪府", 23);
+    holder.onStudentChanged(new StudentChangedEvent(2, ChangeType.UPDATED, renamed, null,
+        createDetail(renamed, createCourse(12, 2, null, "Java入門", IN_PROGRESS))));
+    assertEquals(List.of(2), ids(holder.current().search("桜", null, "Java入門", IN_PROGRESS)));
+
+    holder.onStudentChanged(new StudentChangedEvent(2, ChangeType.DELETED));
+    assertTrue(holder.current().search("桜", null, null, null).isEmpty());
+    assertEquals(3, built.studentCount(), "公開済みのスナップショットは変わらないはず");
+  }
+
+  @Test
+  @DisplayName("トランザクション内の変更はコミット後にまとめて反映され、ロールバックでは反映されないこと")
+  void holderAppliesTransactionChangesAtOnce() {
+    StudentRepository repository = mock(StudentRepository.class);
+    when(repository.getActiveStudents()).thenReturn(snapshot.students());
+    when(repository.getAllCourses()).thenReturn(snapshot.courses());
+    RosterSnapshotHolder holder = new RosterSnapshotHolder(repository, writeBehindOff(), true);
+    holder.initialize();
+    RosterSnapshot built = holder.current();
+
+    // 一括登録と同じく、1トランザクションで1行ずつ変更イベントを発行する
+    inTransaction(TransactionSynchronization.STATUS_COMMITTED, () -> {
+      for (int id = 5; id <= 7; id++) {
+        Student student = createStudent(id, "一括" + id, null, "北海道", 20);
+        holder.onStudentChanged(new StudentChangedEvent(id, ChangeType.REGISTERED, student, null,
+            createDetail(student, createCourse(id + 10, id, null, "Python基礎", APPLIED))));
+      }
+      assertSame(built, holder.current(), "コミット前は反映しないはず");
+    });
+    assertEquals(List.of(5, 6, 7), ids(holder.current().search(null, "北海道", null, null)));
+
+    RosterSnapshot committed = holder.current();
+    inTransaction(TransactionSynchronization.STATUS_ROLLED_BACK,
+        () -> holder.onStudentChanged(new StudentChangedEvent(5, ChangeType.DELETED)));
+    assertSame(committed, holder.current(), "ロールバックした変更は反映しないはず");
+  }
+
+  @Test
+  @DisplayName("構築中にコミットされた変更は構築後に適用してから公開されること")
+  void holderReplaysChangesDuringRebuild() {
+    StudentRepository repository = mock(StudentRepository.class);
+    RosterSnapshotHolder holder = new RosterSnapshotHolder(repository, writeBehindOff(), true);
+    Student renamed = createStudent(2, "佐藤桜", "sakura", "大阪府", 23);
+    when(repository.getActiveStudents()).thenAnswer(invocation -> {
+      // 全件の読み込み中に別のリクエストの変更がコミットされる
+      holder.onStudentChanged(new StudentChangedEvent(2, ChangeType.UPDATED, renamed, null,
+          createDetail(renamed, createCourse(12, 2, null, "Java入門", COMPLETED))));
+      return snapshot.students();
+    });
+    when(repository.getAllCourses()).thenReturn(snapshot.courses());
+
+    holder.rebuild();
+
+    assertEquals(List.of(2),
+        ids(holder.current().search("桜", null, "Java入門", COMPLETED)));
+  }
+
+  @Test
+  @DisplayName("申込状況の差し替えは対象のコースだけを変え、元のスナップショットは変わらないこと")
+  void withStatuses() {
+    RosterSnapshot patched =
+        snapshot.withStatuses(Map.of(10, COMPLETED, 14, APPLIED, 99, APPLIED));
+
+    assertEquals(List.of(1), ids(patched.search(null, null, "Java入門", COMPLETED)));
+    assertNull(patched.courses().get(4).getEnrollmentStatus(), "申込状況の行がないコースは変えないはず");
+    assertEquals(List.of(1), ids(snapshot.search(null, null, "Java入門", IN_PROGRESS)));
+    assertSame(snapshot, snapshot.withStatuses(Map.of(10, IN_PROGRESS)),
+        "変わらない場合は同じインスタンスのはず");
+  }
+
+  @Test
+  @DisplayName("書き込み待ちの申込状況は構築時に重ね、構築中のDBへの反映も取りこぼさないこと")
+  void holderOverlaysQueuedStatuses() {
+    StudentRepository repository = mock(StudentRepository.class);
+    AtomicReference<RosterSnapshotHolder> holderRef = new AtomicReference<>();
+    ApplicationEventPublisher publisher = event -> {
+      if (event instanceof EnrollmentStatusFlushedEvent flushed) {
+        holderRef.get().onEnrollmentStatusFlushed(flushed);
+      }
+    };
+    EnrollmentStatusWriteBehind writeBehind =
+        new EnrollmentStatusWriteBehind(repository, publisher, new SimpleMeterRegistry(), true);
+    RosterSnapshotHolder holder = new RosterSnapshotHolder(repository, writeBehind, true);
+    holderRef.set(holder);
+    when(repository.getActiveStudents()).thenReturn(snapshot.students());
+    when(repository.getAllCourses()).thenReturn(snapshot.courses());
+
+    writeBehind.enqueue(1, 10, COMPLETED);
+    holder.rebuild();
+    assertEquals(List.of(1), ids(holder.current().search(null, null, "Java入門", COMPLETED)),
+        "DBに反映前の申込状況を重ねるはず");
+
+    // 変更前の値を読み込んだ後、重ねる前に書き込み待ちの値がDBに反映される
+    writeBehind.enqueue(2, 12, COMPLETED);
+    when(repository.getAllCourses()).thenAnswer(invocation -> {
+      List<StudentCourse> courses = snapshot.courses();
+      writeBehind.flush();
+      return courses;
+    });
+    holder.rebuild();
+    assertEquals(List.of(1, 2), ids(holder.current().search(null, null, "Java入門", COMPLETED)));
+  }
+
+  /**
+   * トランザクション内の処理を再現し、指定した結果で完了させる
+   */
+  private void inTransaction(int completionStatus, Runnable body) {
+    TransactionSynchronizationManager.initSynchronization();
+    TransactionSynchronizationManager.setActualTransactionActive(true);
+    try {
+      body.run();
+      List<TransactionSynchronization> synchronizations =
+          TransactionSynchronizationManager.getSynchronizations();
+      synchronizations.forEach(sync -> sync.afterCompletion(completionStatus));
+    } finally {
+      TransactionSynchronizationManager.setActualTransactionActive(false);
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  private EnrollmentStatusWriteBehind writeBehindOff() {
+    return new EnrollmentStatusWriteBehind(mock(StudentRepository.class),
+        mock(ApplicationEventPublisher.class), new SimpleMeterRegistry(), false);
+  }
+
+  private List<Integer> ids(List<StudentDetail> details) {
+    return details.stream().map(d -> d.getStudent().getId()).toList();
+  }
+
+  private StudentDetail createDetail(Student student, StudentCourse course) {
+    StudentDetail detail = new StudentDetail();
+    detail.setStudent(student);
+    detail.setStudentCourse(List.of(course));
+    return detail;
+  }
+
+  private Student createStudent(int id, String name, String nickname, String area,
+      Integer age) {
+    Student student = new Student();
+    student.setId(id);
+    student.setName(name);
+    student.setKanaName(null);
+    student.setNickname(nickname);
+    student.setEmail("student" + id + "@example.com");
+    student.setArea(area);
+    student.setAge(age);
+    student.setSex("その他");
+    return student;
+  }
+
+  private StudentCourse createCourse(int id, int studentId, String studentName, String courseName,
+      EnrollmentStatusCode status) {
+    StudentCourse course = new StudentCourse();
+    course.setId(id);
+    course.setStudentId(studentId);
+    course.setStudentName(studentName);
+    course.setCourseName(courseName);
+    course.setCourseStartAt(LocalDate.of(2025, 1, 1));
+    course.setCourseEndAt(LocalDate.of(2025, 3, 31));
+    if (status != null) {
+      EnrollmentStatus enrollmentStatus = new EnrollmentStatus();
+      enrollmentStatus.setId(id + 100);
+      enrollmentStatus.setCourseId(id);
+      enrollmentStatus.setStatus(status);
+      course.setEnrollmentStatus(enrollmentStatus);
+    }
+    return course;
+  }
+}
@@ -0,0 +1,140 @@
+package raisetech.StudentManagement.stats;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import raisetech.StudentManagement.data.Student;
+import raisetech.StudentManagement.domain.StudentDetail;
+import raisetech.StudentManagement.event.EnrollmentStatusFlushedEvent;
+import raisetech.StudentManagement.event.StudentChangedEvent;
+import raisetech.StudentManagement.event.StudentChangedEvent.ChangeType;
+import raisetech.StudentManagement.repository.StudentRepository;
+import raisetech.StudentManagement.writebehind.EnrollmentStatusWriteBehind;
+
+/**
+ * 照合と差分の反映が重なった場合のテスト
+ *
+ * <p>SQLの集計結果はモックで返し、トランザクションの完了はTransactionSynchronizationを直接呼び出して再現する。</p>
+ */
+class EnrollmentStatsCounterReconcileTest {
+
+  private StudentRepository repository;
+  private EnrollmentStatusWriteBehind writeBehind;
+  private SimpleMeterRegistry registry;
+  private EnrollmentStatsCounter counter;
+
+  @BeforeEach
+  void setUp() {
+    repository = mock(StudentRepository.class);
+    writeBehind = mock(EnrollmentStatusWriteBehind.class);
+    registry = new SimpleMeterRegistry();
+    counter = new EnrollmentStatsCounter(repository, writeBehind, registry);
+    when(repository.countActiveStudents()).thenReturn(1);
+    counter.reconcile();
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @Test
+  void 照合の集計中に反映された変更は集計し直して失われない() {
+    // 集計のSQLが終わった後、置き換える前に登録のコミットが反映された状況
+    when(repository.countActiveStudents()).thenAnswer(invocation -> {
+      counter.onStudentChanged(registered(2));
+      return 1;
+    }).thenReturn(2);
+    counter.reconcile();
+
+    assertEquals(2, counter.getStatistics().getTotalStudents());
+    assertEquals(0.0, driftCount(), "集計中の変更をずれとして数えないはず");
+  }
+
+  @Test
+  void コミット済みで差分の反映前の変更がある間は置き換えない() {
+    // 登録のトランザクションがコミットされ、SQLの集計には含まれるが差分はまだ反映されていない状況
+    TransactionSynchronizationManager.initSynchronization();
+    StudentChangedEvent event = registered(2);
+    counter.trackInFlight(event);
+    when(repository.countActiveStudents()).thenReturn(2);
+
+    counter.reconcile();
+    assertEquals(1, counter.getStatistics().getTotalStudents(), "完了前の変更がある間は置き換えないはず");
+
+    counter.onStudentChanged(event);
+    TransactionSynchronizationManager.getSynchronizations()
+        .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    TransactionSynchronizationManager.clearSynchronization();
+    assertEquals(2, counter.getStatistics().getTotalStudents());
+
+    counter.reconcile();
+    assertEquals(2, counter.getStatistics().getTotalStudents(), "二重に数えないはず");
+    assertEquals(0.0, driftCount());
+  }
+
+  @Test
+  void 初回の照合も完了前の変更がある間は置き換えない() {
+    EnrollmentStatsCounter fresh = new EnrollmentStatsCounter(repository, writeBehind,
+        new SimpleMeterRegistry());
+    TransactionSynchronizationManager.initSynchronization();
+    fresh.trackInFlight(registered(2));
+
+    fresh.reconcile();
+
+    assertNull(fresh.getStatistics().getReconciledAt());
+  }
+
+  @Test
+  void 書き込み待ちの申込状況を反映してから照合し残っている間は置き換えない() {
+    when(writeBehind.isEnabled()).thenReturn(true);
+    when(writeBehind.size()).thenReturn(1);
+    when(repository.countActiveStudents()).thenReturn(2);
+
+    counter.reconcile();
+    verify(writeBehind, times(EnrollmentStatsCounter.RECONCILE_ATTEMPTS)).flush();
+    assertEquals(1, counter.getStatistics().getTotalStudents(), "DBの申込状況が古い間は置き換えないはず");
+
+    when(writeBehind.size()).thenReturn(0);
+    counter.reconcile();
+    assertEquals(2, counter.getStatistics().getTotalStudents());
+  }
+
+  @Test
+  void 集計中に書き込み待ちの申込状況が反映された場合は集計し直す() {
+    when(repository.countActiveStudents()).thenAnswer(invocation -> {
+      counter.onEnrollmentStatusFlushed(new EnrollmentStatusFlushedEvent(Set.of(1), Map.of()));
+      return 3;
+    }).thenReturn(2);
+
+    counter.reconcile();
+
+    assertEquals(2, counter.getStatistics().getTotalStudents(), "反映と重なった集計結果は使わないはず");
+  }
+
+  private StudentChangedEvent registered(int id) {
+    Student student = new Student();
+    student.setId(id);
+    StudentDetail after = new StudentDetail();
+    after.setStudent(student);
+    return new StudentChangedEvent(id, ChangeType.REGISTERED, student, null, after);
+  }
+
+  private double driftCount() {
+    return registry.get("student.stats.reconcile.drift").counter().count();
+  }
+}
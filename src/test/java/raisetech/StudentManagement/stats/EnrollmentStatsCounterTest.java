@@ -0,0 +1,135 @@
+package raisetech.StudentManagement.stats;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.annotation.Transactional;
+import raisetech.StudentManagement.domain.EnrollmentStatistics;
+import raisetech.StudentManagement.event.StudentChangedEvent;
+import raisetech.StudentManagement.form.StudentForm;
+import raisetech.StudentManagement.repository.StudentRepository;
+import raisetech.StudentManagement.service.StudentService;
+
+/**
+ * テストはロールバックされるためコミット後のイベントは届かない。
+ * 発行されたイベントを記録しておき、差分の反映はテスト内で直接呼び出して確認する。
+ */
+@SpringBootTest
+@Transactional
+@RecordApplicationEvents
+class EnrollmentStatsCounterTest {
+
+  @Autowired
+  private EnrollmentStatsCounter counter;
+
+  @Autowired
+  private StudentService service;
+
+  @Autowired
+  private StudentRepository repository;
+
+  @Autowired
+  private ApplicationEvents events;
+
+  @BeforeEach
+  void setUp() {
+    counter.reconcile();
+  }
+
+  @Test
+  void 照合後の件数がSQLの集計結果と一致する() {
+    EnrollmentStatistics stats = counter.getStatistics();
+
+    assertEquals(repository.countActiveStudents(), stats.getTotalStudents());
+    assertNotNull(stats.getReconciledAt());
+    repository.countActiveCoursesByName().forEach(row ->
+        assertEquals(Long.valueOf(row.getCount()), stats.getByCourseName().get(row.getName())));
+  }
+
+  @Test
+  void 登録と削除のイベントで差分が反映され照合結果と一致する() {
+    EnrollmentStatistics initial = counter.getStatistics();
+
+    service.registerStudent(createValidForm("統計太郎"));
+    applyRecordedEvents();
+
+    EnrollmentStatistics registered = counter.getStatistics();
+    assertEquals(initial.getTotalStudents() + 1, registered.getTotalStudents());
+    assertEquals(Long.valueOf(initial.getByArea().getOrDefault("統計県", 0L) + 1),
+        registered.getByArea().get("統計県"));
+    assertEquals(Long.valueOf(initial.getByCourseName().getOrDefault("統計学", 0L) + 1),
+        registered.getByCourseName().get("統計学"));
+
+    counter.reconcile();
+    assertSameCounts(registered, counter.getStatistics());
+
+    int id = events.stream(StudentChangedEvent.class).findFirst().orElseThrow().getStudentId();
+    events.clear();
+    service.deleteStudent(id);
+    applyRecordedEvents();
+
+    EnrollmentStatistics deleted = counter.getStatistics();
+    assertEquals(initial.getTotalStudents(), deleted.getTotalStudents());
+    assertFalse(deleted.getByArea().containsKey("統計県"), "0件になった項目は含めない");
+
+    counter.reconcile();
+    assertSameCounts(deleted, counter.getStatistics());
+  }
+
+  @Test
+  void 更新のイベントで変更前の件数が減り変更後の件数が増える() {
+    service.registerStudent(createValidForm("統計花子"));
+    applyRecordedEvents();
+    int id = events.stream(StudentChangedEvent.class).findFirst().orElseThrow().getStudentId();
+    events.clear();
+
+    StudentForm form = service.getStudentForm(id);
+    form.setArea("更新県");
+    service.updateStudent(form);
+    applyRecordedEvents();
+
+    EnrollmentStatistics updated = counter.getStatistics();
+    assertFalse(updated.getByArea().containsKey("統計県"));
+    assertEquals(Long.valueOf(1), updated.getByArea().get("更新県"));
+
+    counter.reconcile();
+    assertSameCounts(updated, counter.getStatistics());
+  }
+
+  // ==========================================
+  // ヘルパーメソッド
+  // ==========================================
+
+  private void applyRecordedEvents() {
+    events.stream(StudentChangedEvent.class).forEach(counter::onStudentChanged);
+  }
+
+  private void assertSameCounts(EnrollmentStatistics expected, EnrollmentStatistics actual) {
+    assertEquals(expected.getTotalStudents(), actual.getTotalStudents());
+    assertEquals(expected.getByEnrollmentStatus(), actual.getByEnrollmentStatus());
+    assertEquals(expected.getByCourseName(), actual.getByCourseName());
+    assertEquals(expected.getByArea(), actual.getByArea());
+  }
+
+  private StudentForm createValidForm(String name) {
+    StudentForm form = new StudentForm();
+    form.setName(name);
+    form.setKanaName("トウケイ");
+    form.setNickname("ニックネーム");
+    form.setEmail(name + "@example.com");
+    form.setArea("統計県");
+    form.setAge(20);
+    form.setSex("男性");
+    form.setRemark("テストデータ");
+    form.setCourseName("統計学");
+    form.setCourseStartAt(LocalDate.now());
+    form.setCourseEndAt(LocalDate.now().plusMonths(3));
+    return form;
+  }
+}
@@ -0,0 +1,183 @@
+package raisetech.StudentManagement.writebehind;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static raisetech.StudentManagement.data.EnrollmentStatusCode.APPLIED;
+import static raisetech.StudentManagement.data.EnrollmentStatusCode.COMPLETED;
+import static raisetech.StudentManagement.data.EnrollmentStatusCode.IN_PROGRESS;
+import static raisetech.StudentManagement.data.EnrollmentStatusCode.PROVISIONAL;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import raisetech.StudentManagement.data.EnrollmentStatus;
+import raisetech.StudentManagement.data.EnrollmentStatusCode;
+import raisetech.StudentManagement.data.StudentCourse;
+import raisetech.StudentManagement.domain.StudentDetail;
+import raisetech.StudentManagement.event.EnrollmentStatusFlushedEvent;
+import raisetech.StudentManagement.repository.StudentRepository;
+
+class EnrollmentStatusWriteBehindTest {
+
+  private StudentRepository repository;
+  private ApplicationEventPublisher eventPublisher;
+  private SimpleMeterRegistry registry;
+  private EnrollmentStatusWriteBehind writeBehind;
+
+  @BeforeEach
+  void setUp() {
+    repository = mock(StudentRepository.class);
+    eventPublisher = mock(ApplicationEventPublisher.class);
+    registry = new SimpleMeterRegistry();
+    writeBehind = new EnrollmentStatusWriteBehind(repository, eventPublisher, registry, true);
+  }
+
+  @Test
+  @DisplayName("同じコースの変更は後の値だけを残し、1文のUPDATEでまとめて書き込むこと")
+  void coalesceAndFlush() {
+    writeBehind.enqueue(1, 10, PROVISIONAL);
+    writeBehind.enqueue(1, 10, IN_PROGRESS);
+    writeBehind.enqueue(2, 20, APPLIED);
+    assertEquals(2, writeBehind.size());
+    assertEquals(2.0, registry.get("student.status.write_behind.queue.depth").gauge().value());
+    assertEquals(1.0, registry.get("student.status.write_behind.coalesced").counter().count());
+
+    assertEquals(2, writeBehind.flush());
+
+    List<EnrollmentStatus> written = captureWritten(1).get(0);
+    assertEquals(Map.of(10, IN_PROGRESS, 20, APPLIED), toMap(written));
+    assertEquals(0, writeBehind.size());
+    assertEquals(1, registry.get("student.status.write_behind.flush").timer().count());
+
+    ArgumentCaptor<EnrollmentStatusFlushedEvent> event =
+        ArgumentCaptor.forClass(EnrollmentStatusFlushedEvent.class);
+    verify(eventPublisher).publishEvent(event.capture());
+    assertEquals(Set.of(1, 2), event.getValue().getStudentIds());
+
+    assertEquals(0, writeBehind.flush(), "空の場合は書き込まないはず");
+    verify(repository, times(1)).updateEnrollmentStatuses(anyList());
+  }
+
+  @Test
+  @DisplayName("書き込みに失敗した値はキューに残り、次回のフラッシュで書き込まれること")
+  void retryAfterFailure() {
+    when(repository.updateEnrollmentStatuses(anyList()))
+        .thenThrow(new RuntimeException("接続エラー"))
+        .thenReturn(1);
+    writeBehind.enqueue(1, 10, COMPLETED);
+
+    assertEquals(0, writeBehind.flush());
+    assertEquals(1, writeBehind.size());
+    assertEquals(1.0, registry.get("student.status.write_behind.failures").counter().count());
+    verify(eventPublisher, never()).publishEvent(any(Object.class));
+
+    assertEquals(1, writeBehind.flush());
+    assertEquals(0, writeBehind.size());
+  }
+
+  @Test
+  @DisplayName("停止時に残りを書き込み、停止後の変更は直接書き込むこと")
+  void drainOnShutdown() {
+    writeBehind.enqueue(1, 10, APPLIED);
+
+    writeBehind.shutdown();
+    assertEquals(0, writeBehind.size());
+    verify(repository).updateEnrollmentStatuses(anyList());
+
+    writeBehind.enqueue(2, 20, IN_PROGRESS);
+    assertEquals(0, writeBehind.size(), "停止後はキューに入れないはず");
+    ArgumentCaptor<EnrollmentStatus> direct = ArgumentCaptor.forClass(EnrollmentStatus.class);
+    verify(repository).updateEnrollmentStatus(direct.capture());
+    assertEquals(20, direct.getValue().getCourseId());
+    assertEquals(IN_PROGRESS, direct.getValue().getStatus());
+  }
+
+  @Test
+  @DisplayName("書き込み待ちの値を重ねた学生詳細は、元の学生詳細を変更せずに作られること")
+  void overlay() {
+    StudentDetail detail = new StudentDetail();
+    detail.setStudentCourse(List.of(createCourse(10, PROVISIONAL), createCourse(11, APPLIED),
+        createCourse(12, null)));
+    writeBehind.enqueue(1, 10, IN_PROGRESS);
+
+    StudentDetail overlaid = writeBehind.overlay(detail, Map.of(11, COMPLETED, 12, APPLIED));
+
+    assertNotSame(detail, overlaid);
+    assertEquals(IN_PROGRESS, overlaid.getStudentCourse().get(0).getEnrollmentStatus().getStatus());
+    assertEquals(COMPLETED, overlaid.getStudentCourse().get(1).getEnrollmentStatus().getStatus());
+    assertSame(detail.getStudentCourse().get(2), overlaid.getStudentCourse().get(2),
+        "申込状況の行がないコースはそのままのはず");
+    assertEquals(PROVISIONAL, detail.getStudentCourse().get(0).getEnrollmentStatus().getStatus(),
+        "元の学生詳細は変わらないはず");
+
+    writeBehind.flush();
+    assertSame(detail, writeBehind.overlay(detail, Map.of()),
+        "書き込み待ちがなければ同じインスタンスのはず");
+  }
+
+  @Test
+  @DisplayName("コース一覧にも書き込み待ちの値が重なり、元のリストは変更されないこと")
+  void overlayCourses() {
+    List<StudentCourse> courses = List.of(createCourse(10, PROVISIONAL), createCourse(11, APPLIED));
+    assertSame(courses, writeBehind.overlayCourses(courses), "書き込み待ちがなければ同じリストのはず");
+
+    writeBehind.enqueue(1, 11, COMPLETED);
+    List<StudentCourse> overlaid = writeBehind.overlayCourses(courses);
+
+    assertSame(courses.get(0), overlaid.get(0));
+    assertEquals(COMPLETED, overlaid.get(1).getEnrollmentStatus().getStatus());
+    assertEquals(APPLIED, courses.get(1).getEnrollmentStatus().getStatus(), "元のコースは変わらないはず");
+  }
+
+  @Test
+  @DisplayName("無効の場合はフラッシュも停止時の書き込みも行わないこと")
+  void disabled() {
+    EnrollmentStatusWriteBehind off = new EnrollmentStatusWriteBehind(repository, eventPublisher,
+        new SimpleMeterRegistry(), false);
+    off.scheduledFlush();
+    off.shutdown();
+    verify(repository, never()).updateEnrollmentStatuses(anyList());
+  }
+
+  @SuppressWarnings("unchecked")
+  private List<List<EnrollmentStatus>> captureWritten(int times) {
+    ArgumentCaptor<List<EnrollmentStatus>> captor = ArgumentCaptor.forClass(List.class);
+    verify(repository, times(times)).updateEnrollmentStatuses(captor.capture());
+    return captor.getAllValues();
+  }
+
+  private Map<Integer, EnrollmentStatusCode> toMap(List<EnrollmentStatus> statuses) {
+    return statuses.stream()
+        .collect(Collectors.toMap(EnrollmentStatus::getCourseId, EnrollmentStatus::getStatus));
+  }
+
+  private StudentCourse createCourse(int id, EnrollmentStatusCode status) {
+    StudentCourse course = new StudentCourse();
+    course.setId(id);
+    course.setStudentId(1);
+    course.setCourseName("Java入門");
+    if (status != null) {
+      EnrollmentStatus enrollmentStatus = new EnrollmentStatus();
+      enrollmentStatus.setId(id + 100);
+      enrollmentStatus.setCourseId(id);
+      enrollmentStatus.setStatus(status);
+      course.setEnrollmentStatus(enrollmentStatus);
+    }
+    return course;
+  }
+}
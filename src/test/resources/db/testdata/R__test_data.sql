@@ -1,7 +1,9 @@
+-- テスト用データ（Flywayの繰り返し実行マイグレーションとして、全バージョンの適用後に投入）
+
 -- テスト用学生データ
 INSERT INTO students (name, kanaName, nickname, email, area, age, sex, remark, deleted) VALUES
-('テスト太郎', 'テストタロウ', 'たろう', 'taro@test.com', '東京', 20, '男性', NULL, NULL),
-('テスト花子', 'テストハナコ', 'はなちゃん', 'hanako@test.com', '大阪', 22, '女性', NULL, NULL),
+('テスト太郎', 'テストタロウ', 'たろう', 'taro@test.com', '東京', 20, '男性', NULL, 0),
+('テスト花子', 'テストハナコ', 'はなちゃん', 'hanako@test.com', '大阪', 22, '女性', NULL, 0),
 ('削除済み太郎', 'サクジョズミタロウ', NULL, 'deleted@test.com', '福岡', 25, '男性', NULL, 1);
 
 -- テスト用コースデータ
@@ -9,7 +11,7 @@ INSERT INTO students_courses (student_id, course_name, course_start_at, course_e
 (1, 'Java入門', '2025-01-01', '2025-03-31'),
 (2, 'Spring実践', '2025-04-01', '2025-06-30');
 
--- テスト用申込状況データ
-INSERT INTO enrollment_status (course_id, status) VALUES
-(1, '受講中'),
-(2, '本申込');
\ No newline at end of file
+-- テスト用申込状況データ（3: 受講中、2: 本申込）
+INSERT INTO enrollment_status (course_id, status_code) VALUES
+(1, 3),
+(2, 2);
\ No newline at end of file